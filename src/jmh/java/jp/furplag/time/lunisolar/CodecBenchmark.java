@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * cost of persisting the months of a calendar, {@link LunisolarCodec} versus JSON and Java serialization .
+ *
+ * <p>
+ * the JSON path has no reader, so that only {@link LunarMonth#toString()} is measured .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+  /** the calendar to encode . */
+  LunisolarCalendar calendar;
+
+  /** the months of the calendar . */
+  List<LunarMonth> lunarMonths;
+
+  /** the solar terms of the calendar . */
+  List<SolarTerm> solarTerms;
+
+  /** a buffer to write in . */
+  ByteBuffer buffer;
+
+  /** the calendar encoded by {@link LunisolarCodec} . */
+  ByteBuffer binaryCalendar;
+
+  /** the months encoded by {@link LunisolarCodec} . */
+  ByteBuffer binaryMonths;
+
+  /** the solar terms encoded by {@link LunisolarCodec} . */
+  ByteBuffer binaryTerms;
+
+  /** the months encoded by Java serialization . */
+  byte[] serializedMonths;
+
+  @Setup
+  public void setup() {
+    calendar = Lunisolar.Tenpo.calendarOfYear(2033);
+    lunarMonths = new ArrayList<>(calendar.monthsOfYear);
+    solarTerms = calendar.lunarMonths.solarTerms.toList();
+    buffer = ByteBuffer.allocate(1 << 12);
+    binaryCalendar = LunisolarCodec.writeCalendar(ByteBuffer.allocate(LunisolarCodec.sizeOfCalendar(calendar)), calendar).flip();
+    binaryMonths = LunisolarCodec.writeMonths(ByteBuffer.allocate(LunisolarCodec.sizeOfMonths(lunarMonths, calendar.lunisolar.zoneOffset)), lunarMonths, calendar.lunisolar.zoneOffset).flip();
+    binaryTerms = LunisolarCodec.writeTerms(ByteBuffer.allocate(LunisolarCodec.sizeOfTerms(solarTerms)), solarTerms).flip();
+    serializedMonths = serialize(lunarMonths);
+  }
+
+  @Benchmark
+  public ByteBuffer writeCalendar() {
+    return LunisolarCodec.writeCalendar(buffer.clear(), calendar);
+  }
+
+  @Benchmark
+  public LunisolarCalendar readCalendar() {
+    return LunisolarCodec.readCalendar(binaryCalendar.rewind(), Lunisolar.Tenpo);
+  }
+
+  @Benchmark
+  public ByteBuffer writeMonths() {
+    return LunisolarCodec.writeMonths(buffer.clear(), lunarMonths, calendar.lunisolar.zoneOffset);
+  }
+
+  @Benchmark
+  public List<LunarMonth> readMonths() {
+    return LunisolarCodec.readMonths(binaryMonths.rewind());
+  }
+
+  @Benchmark
+  public ByteBuffer writeTerms() {
+    return LunisolarCodec.writeTerms(buffer.clear(), solarTerms);
+  }
+
+  @Benchmark
+  public List<SolarTerm> readTerms() {
+    return LunisolarCodec.readTerms(binaryTerms.rewind());
+  }
+
+  @Benchmark
+  public String json() {
+    return lunarMonths.stream().map(LunarMonth::toString).collect(Collectors.joining(",", "[", "]"));
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return serialize(lunarMonths);
+  }
+
+  @Benchmark
+  public Object deserialize() {
+    try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(serializedMonths))) {
+      return stream.readObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * returns the object encoded by Java serialization .
+   *
+   * @param object the object to serialize
+   * @return the bytes
+   */
+  private static byte[] serialize(final Object object) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+      stream.writeObject(object);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return bytes.toByteArray();
+  }
+}
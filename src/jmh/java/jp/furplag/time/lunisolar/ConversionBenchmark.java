@@ -0,0 +1,188 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.JulianFields;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.furplag.time.Julian;
+
+/**
+ * throughput of {@link LunisolarDate#ofJulian(double, Lunisolar)} .
+ *
+ * <ul>
+ * <li>single: converts the same instant repeatedly .</li>
+ * <li>dense: converts consecutive days of a few years .</li>
+ * <li>random: converts random instants across centuries .</li>
+ * <li>reverse: converts the days of dense from lunisolar date to epoch day, one by one or in a batch .</li>
+ * <li>sexagenary: fills the sexagenary cycles of the days of dense, of the day only or of the year, the month and the day .</li>
+ * </ul>
+ *
+ * @author furplag
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+  /** maximum size of the calendar cache, zero means that every conversion computes the calendar, and solves every instant . */
+  @Param({ "0", "32" })
+  int cacheSize;
+
+  /** converts using precomputed months if true . */
+  @Param({ "false", "true" })
+  boolean tabulated;
+
+  /** calendar system, or a tabulated copy of that . */
+  Lunisolar lunisolar;
+
+  /** an instant . */
+  double single;
+
+  /** consecutive days . */
+  double[] dense;
+
+  /** random instants across centuries . */
+  double[] random;
+
+  /** cursor of dense . */
+  int denseIndex;
+
+  /** cursor of random . */
+  int randomIndex;
+
+  /** the year of each day of dense . */
+  int[] years;
+
+  /** month of year of each day of dense . */
+  int[] monthsOfYear;
+
+  /** leap month of each day of dense . */
+  boolean[] intercalaries;
+
+  /** day of month of each day of dense . */
+  int[] daysOfMonth;
+
+  /** the first instant of dense in millis . */
+  long epochMilliOfDense;
+
+  /** JDN of the first day of dense . */
+  long julianDayNumberOfDense;
+
+  /** sexagenary cycle of the year of each day of dense . */
+  int[] cyclesOfYear;
+
+  /** sexagenary cycle of the month of each day of dense . */
+  int[] cyclesOfMonth;
+
+  /** sexagenary cycle of each day of dense . */
+  int[] cyclesOfDay;
+
+  @Setup
+  public void setup() {
+    // the instants are memoized in the tables of this calendar system only if the calendars are cached .
+    lunisolar = Lunisolar.ofJulian(Julian.j2000).isolate(cacheSize > 0);
+    if (tabulated) {
+      lunisolar = lunisolar.tabulate(1844, 2100);
+    }
+    lunisolar.getCalendarCache().setMaximumSize(cacheSize).clear();
+    final OffsetDateTime t = OffsetDateTime.of(2033, 1, 1, 12, 0, 0, 0, lunisolar.zoneOffset);
+    single = Julian.ofEpochMilli(t.toInstant().toEpochMilli());
+    dense = IntStream.range(0, 366 * 3).mapToDouble(d -> Julian.ofEpochMilli(t.plusDays(d).toInstant().toEpochMilli())).toArray();
+    final double from = Julian.ofEpochMilli(t.withYear(1700).toInstant().toEpochMilli());
+    final double to = Julian.ofEpochMilli(t.withYear(2300).toInstant().toEpochMilli());
+    random = new Random(1844).doubles(4096, from, to).toArray();
+    epochMilliOfDense = t.toInstant().toEpochMilli();
+    julianDayNumberOfDense = t.toLocalDate().getLong(JulianFields.JULIAN_DAY);
+    cyclesOfYear = new int[dense.length];
+    cyclesOfMonth = new int[dense.length];
+    cyclesOfDay = new int[dense.length];
+    years = new int[dense.length];
+    monthsOfYear = new int[dense.length];
+    intercalaries = new boolean[dense.length];
+    daysOfMonth = new int[dense.length];
+    for (int i = 0; i < dense.length; i++) {
+      final LunisolarDate lunisolarDate = LunisolarDate.ofJulian(dense[i], lunisolar);
+      years[i] = (int) lunisolarDate.year;
+      monthsOfYear[i] = lunisolarDate.monthOfYear;
+      intercalaries[i] = lunisolarDate.intercalary;
+      daysOfMonth[i] = (int) lunisolarDate.dayOfMonth;
+    }
+  }
+
+  @Benchmark
+  public LunisolarDate single() {
+    return LunisolarDate.ofJulian(single, lunisolar);
+  }
+
+  @Benchmark
+  public LunisolarDate dense() {
+    denseIndex = (denseIndex + 1) % dense.length;
+
+    return LunisolarDate.ofJulian(dense[denseIndex], lunisolar);
+  }
+
+  @Benchmark
+  public LunisolarDate random() {
+    randomIndex = (randomIndex + 1) % random.length;
+
+    return LunisolarDate.ofJulian(random[randomIndex], lunisolar);
+  }
+
+  @Benchmark
+  public long reverse() {
+    denseIndex = (denseIndex + 1) % dense.length;
+
+    return lunisolar.toEpochDay(years[denseIndex], monthsOfYear[denseIndex], intercalaries[denseIndex], daysOfMonth[denseIndex]);
+  }
+
+  @Benchmark
+  public long[] reverseBatch() {
+    return lunisolar.toEpochDays(years, monthsOfYear, intercalaries, daysOfMonth);
+  }
+
+  @Benchmark
+  public int[] sexagenaryDays() {
+    return Sexagenary.ofDays(julianDayNumberOfDense, cyclesOfDay);
+  }
+
+  @Benchmark
+  public int[] sexagenaryCycles() {
+    LunisolarDate.sexagenaryCyclesOf(new MonthCursor(lunisolar), epochMilliOfDense, cyclesOfYear, cyclesOfMonth, cyclesOfDay);
+
+    return cyclesOfMonth;
+  }
+}
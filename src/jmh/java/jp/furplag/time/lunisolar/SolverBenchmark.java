@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jp.furplag.misc.Astror;
+import jp.furplag.misc.orrery.EclipticLongitude;
+import jp.furplag.time.Julian;
+
+/**
+ * allocation of the solvers, compared with the former solvers which collected every result into a {@link HashMap} .
+ *
+ * <p>
+ * see <code>gc.alloc.rate.norm</code> of the results, which should be zero for the current solvers,
+ * as long as {@link EclipticLongitude} itself allocates nothing, and no recording enables {@link LunisolarEvents.Solution} .
+ * and compare the time of each {@link Solver}, the former ones in {@link Former} are equivalent to {@link Solver#FIXED_POINT} .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+  /** limitation of calculates, the fallback runs if the solver reaches the limit . */
+  @Param({ "100", "3" })
+  int loopLimit;
+
+  /** the strategy to solve . */
+  @Param({ "FIXED_POINT", "SECANT" })
+  Solver solver;
+
+  /** calendar system . */
+  Lunisolar lunisolar;
+
+  /** an instant to start the calculation . */
+  double julianDate;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(SolverBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+  }
+
+  @Setup
+  public void setup() {
+    final Lunisolar tenpo = Lunisolar.ofJulian(Julian.j2000);
+    lunisolar = new StandardLunisolar(tenpo.daysOfYear, tenpo.daysOfMonth, tenpo.zoneOffset, tenpo.precision, loopLimit, solver);
+    julianDate = Julian.ofEpochMilli(OffsetDateTime.of(2033, 12, 7, 0, 0, 0, 0, lunisolar.zoneOffset).toInstant().toEpochMilli());
+  }
+
+  @Benchmark
+  public double closestTerm() {
+    return solver.closestTerm(lunisolar, julianDate, 270);
+  }
+
+  @Benchmark
+  public double latestNewMoon() {
+    return solver.latestNewMoon(lunisolar, julianDate);
+  }
+
+  /**
+   * the former solvers, which have no {@link Solver} to choose .
+   *
+   * @author furplag
+   *
+   */
+  @State(Scope.Thread)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 3, time = 2)
+  @Measurement(iterations = 5, time = 2)
+  @Fork(1)
+  public static class Former {
+
+    /** limitation of calculates, the fallback runs if the solver reaches the limit . */
+    @Param({ "100", "3" })
+    int loopLimit;
+
+    /** calendar system . */
+    Lunisolar lunisolar;
+
+    /** an instant to start the calculation . */
+    double julianDate;
+
+    @Setup
+    public void setup() {
+      final Lunisolar tenpo = Lunisolar.ofJulian(Julian.j2000);
+      lunisolar = new StandardLunisolar(tenpo.daysOfYear, tenpo.daysOfMonth, tenpo.zoneOffset, tenpo.precision, loopLimit, Solver.FIXED_POINT);
+      julianDate = Julian.ofEpochMilli(OffsetDateTime.of(2033, 12, 7, 0, 0, 0, 0, lunisolar.zoneOffset).toInstant().toEpochMilli());
+    }
+
+    @Benchmark
+    public double closestTerm() {
+      final double expect = Astror.circulate(270);
+      double numeric = (long) julianDate;
+      double floating = julianDate - numeric;
+      double delta = 0.0;
+      double diff = 0.0;
+      int counter = 0;
+      Map<Double, Double> results = new HashMap<>();
+      do {
+        delta = EclipticLongitude.Sun.ofJulian(numeric + floating) - expect;
+        delta += delta > 180.0 ? -360.0 : delta < -180.0 ? 360.0 : 0;
+        counter++;
+
+        diff = delta * lunisolar.daysOfYear / 360.0;
+        numeric -= (long) diff;
+        floating -= diff - ((long) diff);
+        if (floating < 0) {
+          floating++;
+          numeric--;
+        } else if (floating > 1) {
+          floating--;
+          numeric++;
+        }
+        results.put(Math.abs(diff), (numeric + floating));
+      } while (Math.abs(diff) > lunisolar.precision && counter < lunisolar.loopLimit);
+
+      return counter < lunisolar.loopLimit ? (numeric + floating) : (doOurOwnBest(results, (numeric + floating)));
+    }
+
+    @Benchmark
+    public double latestNewMoon() {
+      double numeric = (long) (julianDate);
+      double floating = julianDate - numeric;
+      double delta = 0.0;
+      double diffOfNumeric = 0.0;
+      double diffOfFloating = 0.0;
+      final Map<Double, Double> results = new HashMap<>();
+      int counter = 0;
+      do {
+        delta = EclipticLongitude.Moon.ofJulian((numeric + floating)) - EclipticLongitude.Sun.ofJulian(numeric + floating);
+        if (counter == 0 || delta < -15.0) {
+          delta = Astror.circulate(delta);
+        } else if (delta > 345.0) {
+          delta -= 360.0;
+        }
+        counter++;
+        diffOfFloating = delta * (lunisolar.daysOfMonth / 360.0);
+        diffOfNumeric = (long) diffOfFloating;
+        diffOfFloating -= diffOfNumeric;
+        numeric -= diffOfNumeric;
+        floating -= diffOfFloating;
+
+        results.put(Math.abs(diffOfNumeric + diffOfFloating), (numeric + floating));
+      } while (Math.abs(diffOfNumeric + diffOfFloating) > lunisolar.precision && counter < lunisolar.loopLimit);
+
+      return counter < lunisolar.loopLimit ? (numeric + floating) : doOurOwnBest(results, (numeric + floating));
+    }
+
+    /**
+     * returns the result that have minimum delta, which the former solvers fell back to .
+     *
+     * @param results {@link Map} of delta: julianDate
+     * @param _default a fallback
+     * @return the result
+     */
+    private static double doOurOwnBest(final Map<Double, Double> results, final double _default) {
+      // @formatter:off
+      return results == null ? _default :
+        results.getOrDefault(results.keySet().stream().sorted().findFirst().orElse(_default), _default);
+      // @formatter:on
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.furplag.time.Julian;
+
+/**
+ * per-stage cost of constructing a {@link LunisolarCalendar} .
+ *
+ * <p>
+ * each stage takes the result of the previous stage precomputed in the setup, so that a stage measures only itself .
+ * the calendar systems do not memoize the instants of new moon and solar terms, so that the stages measure the solutions, not the lookups .
+ * run with <code>-prof gc</code> to see the allocation rate of each stage .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StageBenchmark {
+
+  /** the year to compute . */
+  @Param({ "1850", "2033", "2250" })
+  int year;
+
+  /** calendar system . */
+  Lunisolar lunisolar;
+
+  /** calendar system which computes solar terms in parallel . */
+  Lunisolar parallelized;
+
+  /** calendar system of mean solar terms . */
+  Lunisolar mean;
+
+  /** an instant in the year . */
+  double julianDate;
+
+  /** a solar term which seeds the next one . */
+  SolarTerm solarTerm;
+
+  /** the result of {@link Lunisolar#termsOfBase(double)} . */
+  List<SolarTerm> solarTerms;
+
+  /** the result of {@link Lunisolar#termsToFirstDays(List)} . */
+  List<Long> firstDays;
+
+  /** the result of {@link Lunisolar#solarTermsOf(double)} . */
+  SolarTerms primitiveTerms;
+
+  /** the result of {@link Lunisolar#firstDaysOf(SolarTerms)} . */
+  long[] primitiveFirstDays;
+
+  @Setup
+  public void setup() {
+    // the instants are never memoized, so that a stage solves every instant in each invocation .
+    lunisolar = Lunisolar.ofJulian(Julian.j2000).isolate(false);
+    parallelized = lunisolar.parallelize();
+    mean = Lunisolar.Kansei.isolate(false);
+    julianDate = Julian.ofEpochMilli(OffsetDateTime.of(year, 7, 1, 0, 0, 0, 0, lunisolar.zoneOffset).toInstant().toEpochMilli());
+    solarTerms = lunisolar.termsOfBase(julianDate);
+    solarTerm = solarTerms.get(solarTerms.size() / 2);
+    firstDays = lunisolar.termsToFirstDays(solarTerms);
+    primitiveTerms = lunisolar.solarTermsOf(julianDate);
+    primitiveFirstDays = lunisolar.firstDaysOf(primitiveTerms);
+  }
+
+  @Benchmark
+  public double closestTerm() {
+    return lunisolar.closestTerm(solarTerm.julianDate, solarTerm.longitude + 15);
+  }
+
+  @Benchmark
+  public double latestNewMoon() {
+    return lunisolar.latestNewMoon(solarTerm.julianDate);
+  }
+
+  @Benchmark
+  public long asStartOfDay() {
+    return lunisolar.asStartOfDay(solarTerm.julianDate);
+  }
+
+  @Benchmark
+  public double winterSolstice() {
+    return lunisolar.winterSolstice(julianDate);
+  }
+
+  @Benchmark
+  public Lunisolar ofJulian() {
+    return Lunisolar.ofJulian(julianDate);
+  }
+
+  @Benchmark
+  public SolarTerms solarTermsOf() {
+    return lunisolar.solarTermsOf(julianDate);
+  }
+
+  @Benchmark
+  public SolarTerms solarTermsOfMean() {
+    return mean.solarTermsOf(julianDate);
+  }
+
+  @Benchmark
+  public List<SolarTerm> termsOfBase() {
+    return lunisolar.termsOfBase(julianDate);
+  }
+
+  @Benchmark
+  public List<SolarTerm> termsOfBaseInParallel() {
+    return parallelized.termsOfBase(julianDate);
+  }
+
+  @Benchmark
+  public List<Long> termsToFirstDays() {
+    return lunisolar.termsToFirstDays(solarTerms);
+  }
+
+  @Benchmark
+  public List<Long> termsToFirstDaysInParallel() {
+    return parallelized.termsToFirstDays(solarTerms);
+  }
+
+  @Benchmark
+  public LunarMonths constructs() {
+    return LunarMonths.of(lunisolar, primitiveTerms, primitiveFirstDays);
+  }
+
+  @Benchmark
+  public List<LunarMonth> constructsAsList() {
+    return LunarMonths.of(lunisolar, primitiveTerms, primitiveFirstDays).toList();
+  }
+
+  @Benchmark
+  public LunisolarCalendar calendar() {
+    return new LunisolarCalendar(lunisolar, julianDate);
+  }
+
+  @Benchmark
+  public LunisolarCalendar calendarInParallel() {
+    return new LunisolarCalendar(parallelized, julianDate);
+  }
+
+  @Benchmark
+  public long calendarsOfDecade() {
+    long count = 0;
+    for (int i = 0; i < 10; i++) {
+      count += new LunisolarCalendar(lunisolar, julianDate + i * lunisolar.daysOfYear).monthsOfYear.size();
+    }
+
+    return count;
+  }
+
+  @Benchmark
+  public long monthsOfDecade() {
+    return lunisolar.monthsBetween(year, year + 9).count();
+  }
+}
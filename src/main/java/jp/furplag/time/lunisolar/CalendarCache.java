@@ -0,0 +1,351 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * bounded cache of {@link LunisolarCalendar} per {@link Lunisolar} calendar system .
+ *
+ * <p>
+ * calendars are keyed by the year of the winter solstice which the calendar ends with,
+ * so that every instant in the same solstice-to-solstice year shares one calendar .
+ * a calendar is computed outside of the lock, so that a slow construction never blocks readers of the other years,
+ * and only once at a time per year, the other lookups of the year wait for it instead of computing their own .
+ * the cache may be registered to an MBean server as {@link CalendarCacheMXBean} .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class CalendarCache implements CalendarCacheMXBean {
+
+  /** eviction policy of the cache . */
+  public enum Eviction {
+    /** evicts the calendar which accessed least recently . */
+    LRU,
+    /** evicts the calendar which computed first . */
+    FIFO;
+  }
+
+  /** maximum number of calendars by default . */
+  static final int maximumSizeDefault = 32;
+
+  /** calendar system . */
+  private final Lunisolar lunisolar;
+
+  /** calendars keyed by the year of winter solstice, guarded by this . */
+  private Map<Integer, LunisolarCalendar> calendars;
+
+  /** calendars in computing, keyed by the year of winter solstice . */
+  private final ConcurrentHashMap<Integer, CompletableFuture<LunisolarCalendar>> computing = new ConcurrentHashMap<>();
+
+  /** maximum number of calendars, the cache disabled if zero . */
+  private volatile int maximumSize;
+
+  /** eviction policy . */
+  private volatile Eviction eviction;
+
+  /** number of lookups which found a calendar . */
+  private final LongAdder hits = new LongAdder();
+
+  /** number of lookups which had to compute a calendar . */
+  private final LongAdder misses = new LongAdder();
+
+  /** number of calendars which evicted . */
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   *
+   * @param lunisolar {@link Lunisolar} calendar system
+   */
+  CalendarCache(final Lunisolar lunisolar) {
+    this(lunisolar, maximumSizeDefault, Eviction.LRU);
+  }
+
+  /**
+   *
+   * @param lunisolar {@link Lunisolar} calendar system
+   * @param maximumSize maximum number of calendars
+   * @param eviction {@link Eviction} policy
+   */
+  CalendarCache(final Lunisolar lunisolar, final int maximumSize, final Eviction eviction) {
+    this.lunisolar = lunisolar;
+    this.maximumSize = validateSize(maximumSize);
+    this.eviction = eviction == null ? Eviction.LRU : eviction;
+    calendars = newMap(this.eviction);
+  }
+
+  /**
+   * returns the calendar of the year which contains specified instant, or computes it if absent .
+   *
+   * @param yearOfSolstice the year of winter solstice, which the calendar ends with
+   * @param julianDate an instant represented by astronomical julian date
+   * @return {@link LunisolarCalendar}
+   */
+  LunisolarCalendar get(final int yearOfSolstice, final double julianDate) {
+    final LunisolarEvents.Lookup event = LunisolarEvents.Lookup.beginIfEnabled();
+    LunisolarCalendar calendar = getIfPresent(yearOfSolstice);
+    if (calendar == null) {
+      final CompletableFuture<LunisolarCalendar> computation = new CompletableFuture<>();
+      final CompletableFuture<LunisolarCalendar> inFlight = computing.putIfAbsent(yearOfSolstice, computation);
+      if (inFlight != null) {
+        calendar = await(inFlight);
+      } else if ((calendar = getIfPresent(yearOfSolstice)) != null) {
+        computation.complete(calendar);
+        computing.remove(yearOfSolstice, computation);
+      } else {
+        calendar = compute(yearOfSolstice, julianDate, computation);
+        if (event != null) {
+          event.report(lunisolar, yearOfSolstice, julianDate, false);
+        }
+
+        return calendar;
+      }
+    }
+    hits.increment();
+    if (event != null) {
+      event.report(lunisolar, yearOfSolstice, julianDate, true);
+    }
+
+    return calendar;
+  }
+
+  /**
+   * computes the calendar of the year, and hands it over to the lookups which wait for it .
+   *
+   * @param yearOfSolstice the year of winter solstice, which the calendar ends with
+   * @param julianDate an instant represented by astronomical julian date
+   * @param computation the calendar in computing, which registered by this thread
+   * @return {@link LunisolarCalendar}
+   */
+  private LunisolarCalendar compute(final int yearOfSolstice, final double julianDate, final CompletableFuture<LunisolarCalendar> computation) {
+    misses.increment();
+    try {
+      LunisolarCalendar calendar = new LunisolarCalendar(lunisolar, julianDate);
+      if (maximumSize > 0) {
+        synchronized (this) {
+          final LunisolarCalendar computed = calendars.putIfAbsent(yearOfSolstice, calendar);
+          calendar = computed == null ? calendar : computed;
+        }
+      }
+      computation.complete(calendar);
+
+      return calendar;
+    } catch (RuntimeException | Error ex) {
+      computation.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      computing.remove(yearOfSolstice, computation);
+    }
+  }
+
+  /**
+   * waits for the calendar which another thread is computing .
+   *
+   * @param computation the calendar in computing
+   * @return {@link LunisolarCalendar}
+   */
+  private static LunisolarCalendar await(final CompletableFuture<LunisolarCalendar> computation) {
+    try {
+      return computation.join();
+    } catch (CompletionException ex) {
+      throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+    }
+  }
+
+  /**
+   * returns the calendar of the year if the cache has it, without computing nor counting the lookup .
+   *
+   * @param yearOfSolstice the year of winter solstice, which the calendar ends with
+   * @return {@link LunisolarCalendar}, or null if absent
+   */
+  synchronized LunisolarCalendar getIfPresent(final int yearOfSolstice) {
+    return calendars.get(yearOfSolstice);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized int size() {
+    return calendars.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void clear() {
+    calendars.clear();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * changes the maximum number of calendars, and evicts excess .
+   *
+   * @param maximumSize the maximum number of calendars, zero means that disables caching
+   * @return this cache
+   */
+  public synchronized CalendarCache setMaximumSize(final int maximumSize) {
+    this.maximumSize = validateSize(maximumSize);
+    evict();
+
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Eviction getEviction() {
+    return eviction;
+  }
+
+  /**
+   * changes the eviction policy, calendars in the cache are retained .
+   *
+   * @param eviction {@link Eviction}
+   * @return this cache
+   */
+  public synchronized CalendarCache setEviction(final @lombok.NonNull Eviction eviction) {
+    if (this.eviction != eviction) {
+      final Map<Integer, LunisolarCalendar> migrated = newMap(eviction);
+      migrated.putAll(calendars);
+      calendars = migrated;
+      this.eviction = eviction;
+    }
+
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getHitRate() {
+    final long hit = hits.sum();
+    final long lookup = hit + misses.sum();
+
+    return lookup == 0 ? 1.0 : (double) hit / lookup;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void resetStats() {
+    hits.reset();
+    misses.reset();
+    evictions.reset();
+  }
+
+  /**
+   * removes the eldest calendars until the cache fits in the maximum size .
+   */
+  private void evict() {
+    while (calendars.size() > maximumSize) {
+      calendars.remove(calendars.keySet().iterator().next());
+      evictions.increment();
+    }
+  }
+
+  /**
+   * returns a map which ordered by the specified policy .
+   *
+   * @param eviction {@link Eviction}
+   * @return an empty map
+   */
+  private Map<Integer, LunisolarCalendar> newMap(final Eviction eviction) {
+    return new LinkedHashMap<>(16, .75f, Eviction.LRU.equals(eviction)) {
+
+      /** serialVersionUID . */
+      private static final long serialVersionUID = 1L;
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, LunisolarCalendar> eldest) {
+        final boolean removes = size() > maximumSize;
+        if (removes) {
+          evictions.increment();
+        }
+
+        return removes;
+      }
+    };
+  }
+
+  /**
+   * validates the maximum size .
+   *
+   * @param maximumSize the maximum number of calendars
+   * @return maximumSize
+   */
+  private static int validateSize(final int maximumSize) {
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+    }
+
+    return maximumSize;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return String.format("%s{size=%d, maximumSize=%d, eviction=%s, hits=%d, misses=%d, evictions=%d}", getClass().getSimpleName(), size(), maximumSize, eviction, getHitCount(), getMissCount(), getEvictionCount());
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+/**
+ * the management interface of {@link CalendarCache} .
+ *
+ * @author furplag
+ *
+ */
+public interface CalendarCacheMXBean {
+
+  /**
+   * returns the number of calendars in the cache .
+   *
+   * @return the number of calendars
+   */
+  int size();
+
+  /**
+   * returns the maximum number of calendars .
+   *
+   * @return the maximum number of calendars
+   */
+  int getMaximumSize();
+
+  /**
+   * returns the eviction policy .
+   *
+   * @return {@link CalendarCache.Eviction}
+   */
+  CalendarCache.Eviction getEviction();
+
+  /**
+   * returns the number of lookups which found a calendar in the cache .
+   *
+   * @return the number of hits
+   */
+  long getHitCount();
+
+  /**
+   * returns the number of lookups which had to compute a calendar .
+   *
+   * @return the number of misses
+   */
+  long getMissCount();
+
+  /**
+   * returns the number of calendars which evicted .
+   *
+   * @return the number of evictions
+   */
+  long getEvictionCount();
+
+  /**
+   * returns the ratio of hits to lookups .
+   *
+   * @return the ratio of hits, or 1.0 if never looked up
+   */
+  double getHitRate();
+
+  /**
+   * discards all calendars in the cache, counters are retained .
+   */
+  void clear();
+
+  /**
+   * resets hit, miss and eviction counters .
+   */
+  void resetStats();
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+/**
+ * arithmetic of the proleptic gregorian calendar on epoch days, in a fixed offset .
+ *
+ * <p>
+ * substitute for {@link java.time.OffsetDateTime} in the calculation of calendars,
+ * which creates no object .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+final class EpochDays {
+
+  /** millis of a day . */
+  static final long millisOfDay = 86400000L;
+
+  /** days of 400 years . */
+  private static final long daysOfEra = 146097L;
+
+  /** epoch day of 0000-03-01 . */
+  private static final long epochDayOfEra = -719468L;
+
+  /**
+   * EpochDays instances should NOT be constructed in standard programming .
+   */
+  private EpochDays() {}
+
+  /**
+   * returns the epoch day of the instant in the offset .
+   *
+   * @param epochMilli millis from epoch
+   * @param offsetMillis the offset from UTC in millis
+   * @return epoch day
+   */
+  static long ofEpochMilli(final long epochMilli, final long offsetMillis) {
+    return Math.floorDiv(epochMilli + offsetMillis, millisOfDay);
+  }
+
+  /**
+   * returns the instant at the start of the day in the offset .
+   *
+   * @param epochDay epoch day
+   * @param offsetMillis the offset from UTC in millis
+   * @return millis from epoch
+   */
+  static long toEpochMilli(final long epochDay, final long offsetMillis) {
+    return epochDay * millisOfDay - offsetMillis;
+  }
+
+  /**
+   * returns the epoch day of the date .
+   *
+   * @param year the year
+   * @param month month of year, 1 to 12
+   * @param dayOfMonth day of month
+   * @return epoch day
+   */
+  static long of(final long year, final int month, final int dayOfMonth) {
+    final long yearOfMarch = year - (month > 2 ? 0 : 1);
+    final long era = Math.floorDiv(yearOfMarch, 400);
+    final long yearOfEra = yearOfMarch - era * 400;
+    final long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + dayOfMonth - 1;
+
+    return era * daysOfEra + yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear + epochDayOfEra;
+  }
+
+  /**
+   * returns the year, month of year and day of month of the epoch day .
+   *
+   * @param epochDay epoch day
+   * @return the year * 10000 + month * 100 + day of month, or that negated if the year is negative
+   */
+  private static long civil(final long epochDay) {
+    final long days = epochDay - epochDayOfEra;
+    final long era = Math.floorDiv(days, daysOfEra);
+    final long dayOfEra = days - era * daysOfEra;
+    final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    final long monthOfMarch = (5 * dayOfYear + 2) / 153;
+    final long dayOfMonth = dayOfYear - (153 * monthOfMarch + 2) / 5 + 1;
+    final long month = monthOfMarch < 10 ? monthOfMarch + 3 : monthOfMarch - 9;
+    final long year = yearOfEra + era * 400 + (month > 2 ? 0 : 1);
+
+    return (Math.abs(year) * 10000 + month * 100 + dayOfMonth) * (year < 0 ? -1 : 1);
+  }
+
+  /**
+   * returns the year of the epoch day .
+   *
+   * @param epochDay epoch day
+   * @return the year
+   */
+  static int yearOf(final long epochDay) {
+    return (int) (civil(epochDay) / 10000);
+  }
+
+  /**
+   * returns the month of year of the epoch day .
+   *
+   * @param epochDay epoch day
+   * @return month of year, 1 to 12
+   */
+  static int monthOf(final long epochDay) {
+    return (int) (Math.abs(civil(epochDay)) / 100 % 100);
+  }
+
+  /**
+   * returns the day of month of the epoch day .
+   *
+   * @param epochDay epoch day
+   * @return day of month
+   */
+  static int dayOf(final long epochDay) {
+    return (int) (Math.abs(civil(epochDay)) % 100);
+  }
+
+  /**
+   * returns the number of days in the month .
+   *
+   * @param year the year
+   * @param month month of year, 1 to 12
+   * @return the number of days in the month
+   */
+  static int lengthOfMonth(final long year, final int month) {
+    return (int) (of(month < 12 ? year : year + 1, month < 12 ? month + 1 : 1, 1) - of(year, month, 1));
+  }
+
+  /**
+   * substitute for {@link java.time.OffsetDateTime#withMonth(int)}, which keeps the time of day and the day of month as possible .
+   *
+   * @param epochMilli millis from epoch
+   * @param offsetMillis the offset from UTC in millis
+   * @param month month of year, 1 to 12
+   * @return millis from epoch
+   */
+  static long withMonth(final long epochMilli, final long offsetMillis, final int month) {
+    final long epochDay = ofEpochMilli(epochMilli, offsetMillis);
+    final long civil = Math.abs(civil(epochDay));
+    final long year = yearOf(epochDay);
+    final int dayOfMonth = Math.min((int) (civil % 100), lengthOfMonth(year, month));
+
+    return toEpochMilli(of(year, month, dayOfMonth), offsetMillis) + (epochMilli + offsetMillis - epochDay * millisOfDay);
+  }
+}
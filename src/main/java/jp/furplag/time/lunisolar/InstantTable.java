@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * lock-free memo of instants (astronomical julian date) keyed by an index, such as a lunation number .
+ *
+ * <p>
+ * the table is divided into chunks of primitive array, which are allocated on demand .
+ * an instant never changes once stored, so that every thread reads the instant which stored first .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+final class InstantTable {
+
+  /** bits of the index in a chunk . */
+  private static final int shift = 10;
+
+  /** mask of the index in a chunk . */
+  private static final int mask = (1 << shift) - 1;
+
+  /** the table covers the index in -bound to bound - 1 . */
+  final int bound;
+
+  /** chunks of instants, each instant stored as the complement of the bits, so that zero means absent . */
+  private final AtomicReferenceArray<AtomicLongArray> chunks;
+
+  /**
+   *
+   * @param bound the table covers the index in -bound to bound - 1
+   */
+  InstantTable(int bound) {
+    this.bound = bound;
+    chunks = new AtomicReferenceArray<>(((bound * 2 - 1) >> shift) + 1);
+  }
+
+  /**
+   * returns the instant stored .
+   *
+   * @param index the index
+   * @return the instant, or NaN if not stored
+   */
+  double get(final long index) {
+    if (index < -bound || index >= bound) {
+      return Double.NaN;
+    }
+    final int position = (int) index + bound;
+    final AtomicLongArray chunk = chunks.get(position >> shift);
+    final long bits = chunk == null ? 0 : chunk.get(position & mask);
+
+    return bits == 0 ? Double.NaN : Double.longBitsToDouble(~bits);
+  }
+
+  /**
+   * stores the instant, unless already stored .
+   *
+   * @param index the index
+   * @param julianDate the instant
+   */
+  void put(final long index, final double julianDate) {
+    if (index < -bound || index >= bound || Double.isNaN(julianDate)) {
+      return;
+    }
+    final int position = (int) index + bound;
+    AtomicLongArray chunk = chunks.get(position >> shift);
+    if (chunk == null) {
+      chunks.compareAndSet(position >> shift, null, new AtomicLongArray(1 << shift));
+      chunk = chunks.get(position >> shift);
+    }
+    chunk.compareAndSet(position & mask, 0, ~Double.doubleToRawLongBits(julianDate));
+  }
+
+  /**
+   * discards all of the instants stored .
+   *
+   * <p>
+   * an instant which is being stored concurrently may be lost, and then computed again .
+   * </p>
+   */
+  void clear() {
+    for (int i = 0; i < chunks.length(); i++) {
+      chunks.set(i, null);
+    }
+  }
+
+  /**
+   * returns the number of the instants stored .
+   *
+   * @return the number of the instants
+   */
+  int size() {
+    int size = 0;
+    for (int i = 0; i < chunks.length(); i++) {
+      final AtomicLongArray chunk = chunks.get(i);
+      for (int j = 0; chunk != null && j < chunk.length(); j++) {
+        size += chunk.get(j) == 0 ? 0 : 1;
+      }
+    }
+
+    return size;
+  }
+
+  /**
+   * the settings of calculation, which the instants in a table depend on .
+   */
+  static final class Key {
+
+    /** true if the instants of new moon, false if of solar terms . */
+    private final boolean lunations;
+
+    /** the strategy to calculate the instants . */
+    private final Solver solver;
+
+    /** a precision for calculates . */
+    private final double precision;
+
+    /** limitation of calculates . */
+    private final int loopLimit;
+
+    /** an average of days of month for the instants of new moon, or of year for the instants of solar terms . */
+    private final double days;
+
+    /**
+     *
+     * @param lunations true if the instants of new moon, false if of solar terms
+     * @param solver {@link Solver}
+     * @param precision a precision for calculates
+     * @param loopLimit limitation of calculates
+     * @param days an average of days of month, or of year
+     */
+    private Key(boolean lunations, Solver solver, double precision, int loopLimit, double days) {
+      this.lunations = lunations;
+      this.solver = solver;
+      this.precision = precision;
+      this.loopLimit = loopLimit;
+      this.days = days;
+    }
+
+    /**
+     * returns the key of the instants of new moon .
+     *
+     * @param lunisolar {@link Lunisolar}
+     * @return {@link Key}
+     */
+    static Key ofLunations(final Lunisolar lunisolar) {
+      return new Key(true, lunisolar.solver, lunisolar.precision, lunisolar.loopLimit, lunisolar.daysOfMonth);
+    }
+
+    /**
+     * returns the key of the instants of solar terms .
+     *
+     * @param lunisolar {@link Lunisolar}
+     * @return {@link Key}
+     */
+    static Key ofTerms(final Lunisolar lunisolar) {
+      return new Key(false, lunisolar.solver, lunisolar.precision, lunisolar.loopLimit, lunisolar.daysOfYear);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      } else if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+
+      return lunations == other.lunations && solver == other.solver && Double.compare(precision, other.precision) == 0 && loopLimit == other.loopLimit && Double.compare(days, other.days) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+      return (((Boolean.hashCode(lunations) * 31 + solver.hashCode()) * 31 + Double.hashCode(precision)) * 31 + loopLimit) * 31 + Double.hashCode(days);
+    }
+  }
+}
@@ -0,0 +1,281 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+import jp.furplag.time.Julian;
+
+/**
+ * the day of east asian Lunisolar calendar system, which holds only the instant until any field of the calendar is accessed .
+ *
+ * <p>
+ * the fields are resolved at once on the first access, using the calendar cache shared by the calendar system,
+ * so that building, sorting and deduplicating dates cost no calculation of the calendar .
+ * {@link #compareTo(LazyLunisolarDate)}, {@link #equals(Object)} and {@link #hashCode()} refer only to the instant and the calendar .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class LazyLunisolarDate implements Comparable<LazyLunisolarDate>, Serializable {
+
+  /** serialVersionUID . */
+  private static final long serialVersionUID = 1L;
+
+  /** millis from epoch . */
+  private final long epochMilli;
+
+  /** the calendar which the instant converted in . */
+  private final LunisolarSystem lunisolarSystem;
+
+  /** the fields of the calendar, or null if not resolved yet . */
+  private transient volatile LunisolarDate lunisolarDate;
+
+  /**
+   *
+   * @param epochMilli millis from epoch
+   * @param lunisolarSystem the calendar which the instant converted in
+   */
+  private LazyLunisolarDate(long epochMilli, LunisolarSystem lunisolarSystem) {
+    this.epochMilli = epochMilli;
+    this.lunisolarSystem = lunisolarSystem;
+  }
+
+  /**
+   * returns the day of specified instant, without any calculation .
+   *
+   * @param epochMilli millis from epoch
+   * @return {@link LazyLunisolarDate}
+   */
+  public static LazyLunisolarDate ofEpochMilli(final long epochMilli) {
+    return new LazyLunisolarDate(epochMilli, LunisolarSystem.JAPANESE);
+  }
+
+  /**
+   * returns the day of specified instant in specified calendar, without any calculation .
+   *
+   * @param epochMilli millis from epoch
+   * @param lunisolarSystem {@link LunisolarSystem}
+   * @return {@link LazyLunisolarDate}
+   */
+  public static LazyLunisolarDate ofEpochMilli(final long epochMilli, final @lombok.NonNull LunisolarSystem lunisolarSystem) {
+    return new LazyLunisolarDate(epochMilli, lunisolarSystem);
+  }
+
+  /**
+   * returns the days of the instants, without any calculation .
+   *
+   * @param epochMillis millis from epoch
+   * @return {@link LazyLunisolarDate} of each instant
+   */
+  public static LazyLunisolarDate[] ofEpochMillis(final @lombok.NonNull long... epochMillis) {
+    return Arrays.stream(epochMillis).mapToObj(LazyLunisolarDate::ofEpochMilli).toArray(LazyLunisolarDate[]::new);
+  }
+
+  /**
+   * resolves the fields of the days which are not resolved yet .
+   *
+   * <p>
+   * the months are walked in step with the days of the same calendar, if those are sorted in ascending order .
+   * </p>
+   *
+   * @param lazyLunisolarDates the days, preferably sorted in ascending order
+   */
+  public static void resolveAll(final @lombok.NonNull Collection<LazyLunisolarDate> lazyLunisolarDates) {
+    final MonthCursor[] cursors = new MonthCursor[LunisolarSystem.values().length];
+    for (LazyLunisolarDate lazyLunisolarDate : lazyLunisolarDates) {
+      if (lazyLunisolarDate.lunisolarDate == null) {
+        final int ordinal = lazyLunisolarDate.lunisolarSystem.ordinal();
+        if (cursors[ordinal] == null) {
+          cursors[ordinal] = new MonthCursor(lazyLunisolarDate.lunisolarSystem);
+        }
+        lazyLunisolarDate.lunisolarDate = new LunisolarDate(Julian.ofEpochMilli(lazyLunisolarDate.epochMilli), cursors[ordinal]);
+      }
+    }
+  }
+
+  /**
+   * returns the fields of the calendar, resolves on the first access .
+   *
+   * @return {@link LunisolarDate}
+   */
+  LunisolarDate resolve() {
+    LunisolarDate lunisolarDate = this.lunisolarDate;
+    if (lunisolarDate == null) {
+      lunisolarDate = LunisolarDate.ofEpochMilli(epochMilli, lunisolarSystem);
+      this.lunisolarDate = lunisolarDate;
+    }
+
+    return lunisolarDate;
+  }
+
+  /**
+   * returns true if the fields of the calendar have been resolved .
+   *
+   * @return true if resolved
+   */
+  public boolean isResolved() {
+    return lunisolarDate != null;
+  }
+
+  /**
+   * returns the instant, without any calculation .
+   *
+   * @return millis from epoch
+   */
+  public long getEpochMilli() {
+    return epochMilli;
+  }
+
+  /**
+   * returns the instant, without any calculation .
+   *
+   * @return astronomical julian date
+   */
+  public double getJulianDate() {
+    return Julian.ofEpochMilli(epochMilli);
+  }
+
+  /**
+   * returns the calendar, without any calculation .
+   *
+   * @return {@link LunisolarSystem}
+   */
+  public LunisolarSystem getLunisolarSystem() {
+    return lunisolarSystem;
+  }
+
+  /**
+   * returns the year in AD.(BC.) .
+   *
+   * @return the year
+   */
+  public long getYear() {
+    return resolve().year;
+  }
+
+  /**
+   * returns the number of the month .
+   *
+   * @return month of year
+   */
+  public int getMonthOfYear() {
+    return resolve().monthOfYear;
+  }
+
+  /**
+   * returns true if the month is a leap month .
+   *
+   * @return true if the month is a leap month
+   */
+  public boolean isIntercalary() {
+    return resolve().intercalary;
+  }
+
+  /**
+   * returns the day of month .
+   *
+   * @return day of month
+   */
+  public long getDayOfMonth() {
+    return resolve().dayOfMonth;
+  }
+
+  /**
+   * returns &quot;十干&quot; of the year .
+   *
+   * @return the ordinal of &quot;十干&quot;
+   */
+  public int getHeavenlyStem() {
+    return resolve().heavenlyStem;
+  }
+
+  /**
+   * returns &quot;十二支&quot; of the year .
+   *
+   * @return the ordinal of &quot;十二支&quot;
+   */
+  public int getEarthlyBranch() {
+    return resolve().earthlyBranch;
+  }
+
+  /**
+   * returns the ordinal of the month counted from pre climates (&quot;節月&quot;) in the sexagenary cycle .
+   *
+   * @return the ordinal of the month in the sexagenary cycle
+   */
+  public int getCycleOfMonth() {
+    return resolve().cycleOfMonth;
+  }
+
+  /**
+   * returns the ordinal of the day in the sexagenary cycle .
+   *
+   * @return the ordinal of the day in the sexagenary cycle
+   */
+  public int getCycleOfDay() {
+    return resolve().cycleOfDay;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * compares the instant, and then the calendar .
+   * </p>
+   */
+  @Override
+  public int compareTo(final LazyLunisolarDate other) {
+    final int result = Long.compare(epochMilli, other.epochMilli);
+
+    return result != 0 ? result : lunisolarSystem.compareTo(other.lunisolarSystem);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    } else if (!(obj instanceof LazyLunisolarDate)) {
+      return false;
+    }
+    final LazyLunisolarDate other = (LazyLunisolarDate) obj;
+
+    return epochMilli == other.epochMilli && lunisolarSystem == other.lunisolarSystem;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(epochMilli) * 31 + lunisolarSystem.ordinal();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return resolve().toString();
+  }
+}
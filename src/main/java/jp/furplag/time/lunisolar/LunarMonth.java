@@ -18,13 +18,11 @@ package jp.furplag.time.lunisolar;
 
 import java.io.Serializable;
 import java.time.temporal.ValueRange;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -57,17 +55,17 @@ public final class LunarMonth implements Comparable<LunarMonth>, Serializable {
 
   /** meant &quot;閏月&quot; of lunar month . */
   @JsonProperty
-  boolean intercalary;
+  final boolean intercalary;
 
   /** true if that month contains an instant of winter solstice . */
   final boolean november;
 
   /** number of the month . */
   @JsonProperty(index = 0)
-  int monthOfYear;
+  final int monthOfYear;
 
   /**
-   *
+   * a month which is not numbered yet .
    *
    * @param fromEpochMilli milliseconds @from
    * @param toEpochMilli milliseconds @to
@@ -75,96 +73,30 @@ public final class LunarMonth implements Comparable<LunarMonth>, Serializable {
    */
   LunarMonth(long fromEpochMilli, long toEpochMilli, List<SolarTerm> solarTerms) {
     range = ValueRange.of(fromEpochMilli, toEpochMilli);
-    preClimates = new ArrayList<>();
-    midClimates = Streamr.stream(solarTerms).filter((t) -> range.isValidValue(t.epochMilli))
-      .map(t -> {
-        if (t instanceof PreClimate) {
-          preClimates.add(t);
-
-          return null;
-        }
-
-        return t;
-      })
-      .filter(Objects::nonNull)
-      .sorted(Comparator.naturalOrder()).collect(Collectors.toList());
+    final Map<Boolean, List<SolarTerm>> climates = Streamr.stream(solarTerms).filter((t) -> range.isValidValue(t.epochMilli))
+      .sorted(Comparator.naturalOrder()).collect(Collectors.partitioningBy(t -> t instanceof PreClimate));
+    preClimates = Collections.unmodifiableList(climates.get(true));
+    midClimates = Collections.unmodifiableList(climates.get(false));
     november = midClimates.stream().anyMatch(t -> t.longitude == 270);
     intercalaryable = midClimates.isEmpty();
+    intercalary = false;
+    monthOfYear = 0;
   }
 
   /**
-   * constructing the calendar of the year .
-   *
-   * @param solarTerms list of {@link SolarTerm}
-   * @param firstDays list of first day of months
-   * @return the calendar of the year
-   */
-  static List<LunarMonth> constructs(final @lombok.NonNull List<SolarTerm> solarTerms, final @lombok.NonNull List<Long> firstDays) {
-    // @formatter:off
-    return monthOfYear(
-      intercalaryze(IntStream.range(1, firstDays.size())
-      .mapToObj(index -> new LunarMonth(firstDays.get(index - 1), firstDays.get(index) - 1, solarTerms))
-      .collect(Collectors.toList())));
-    // @formatter:on
-  }
-
-  /**
-   * constructing the calendar of the year .
-   *
-   * @param list of {@link LunarMonth}
-   * @return optimized lunarMonths
-   */
-  private static List<LunarMonth> intercalaryze(final @lombok.NonNull List<LunarMonth> lunarMonths) {
-    List<LunarMonth> novembers = Streamr.stream(lunarMonths).filter(t -> t.november).collect(Collectors.toList());
-    for (int index = 1; index < novembers.size(); index++) {
-      materialize(lunarMonths, novembers.get(index - 1), novembers.get(index));
-    }
-
-    return lunarMonths;
-  }
-
-  /**
-   * constructing the calendar of the year .
-   *
-   * @param lunarMonths list of {@link LunarMonth}
-   * @param minimum first of winter solstice
-   * @param maximum last of winter solstice
-   */
-  private static void materialize(final @lombok.NonNull List<LunarMonth> lunarMonths, final LunarMonth minimum, final LunarMonth maximum) {
-    materialize(Streamr.stream(lunarMonths).filter((e) -> minimum.compareTo(e) < 1 && maximum.compareTo(e) > 0).sorted().collect(Collectors.toList()));
-  }
-
-  /**
-   * constructing the calendar of the year .
-   *
-   * @param monthsOfWinterSolstice the list of months from november of last year to november of this year
-   */
-  private static void materialize(final @lombok.NonNull List<LunarMonth> monthsOfWinterSolstice) {
-    final boolean hasIntercalary = monthsOfWinterSolstice.size() > 12;
-    monthsOfWinterSolstice.stream().filter(e -> hasIntercalary && e.intercalaryable).findFirst().ifPresent(e -> e.intercalary = true);
-    final int[] monthOfYear = {10};
-    monthsOfWinterSolstice.forEach(e -> {
-      monthOfYear[0] += e.intercalary ? 0 : 1;
-      e.monthOfYear = (monthOfYear[0] % 12 == 0 ? 12 : monthOfYear[0] % 12);
-    });
-  }
-
-  /**
-   * constructing the calendar of the year .
+   * a view of the month, of which solar terms are created only when accessed .
    *
-   * @param list of {@link LunarMonth}
-   * @return optimized lunarMonths
+   * @param lunarMonths {@link LunarMonths}
+   * @param index the index of the month
    */
-  private static List<LunarMonth> monthOfYear(final @lombok.NonNull List<LunarMonth> lunarMonths) {
-    final LunarMonth january = Streamr.Filter.filtering(lunarMonths, (e) -> e.monthOfYear == 1).findFirst().orElse(null);
-    // @formatter:off
-    ValueRange r = ValueRange.of(
-        january.range.getMinimum()
-      , Optional.ofNullable(Streamr.Filter.filtering(lunarMonths, (e) -> e.monthOfYear == 12, (e) -> january.compareTo(e) < 0).findFirst().orElse(null)).orElse(january).range.getMinimum()
-    );
-    // @formatter:on
-
-    return Streamr.collect(Streamr.stream(lunarMonths).filter((e) -> r.isValidValue(e.range.getMinimum())), ArrayList::new);
+  LunarMonth(LunarMonths lunarMonths, int index) {
+    range = ValueRange.of(lunarMonths.minimum(index), lunarMonths.maximum(index));
+    preClimates = lunarMonths.climates(index, false);
+    midClimates = lunarMonths.climates(index, true);
+    intercalaryable = lunarMonths.is(index, LunarMonths.intercalaryable);
+    intercalary = lunarMonths.is(index, LunarMonths.intercalary);
+    november = lunarMonths.is(index, LunarMonths.november);
+    monthOfYear = lunarMonths.monthOfYear(index);
   }
 
   /**
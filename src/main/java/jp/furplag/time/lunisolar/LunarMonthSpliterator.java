@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import jp.furplag.time.Julian;
+
+/**
+ * months of the years, computed in one pass over solar terms and lunations .
+ *
+ * <p>
+ * the terms of a calendar overlaps the terms of the next year for about 14 months,
+ * so that this holds the terms (and the new moons) as a window, and then slides it by a year .
+ * each term and each lunation is computed only once in a chunk of years .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+final class LunarMonthSpliterator implements Spliterator<LunarMonth> {
+
+  /** the number of solar terms in a year . */
+  private static final int termsOfYear = 24;
+
+  /** a chunk of years not to split more . */
+  private static final int minimumChunk = 16;
+
+  /** calendar system . */
+  private final Lunisolar lunisolar;
+
+  /** the next year to compute . */
+  private int year;
+
+  /** the last year to compute . */
+  private final int toYear;
+
+  /** solar terms of the year computed last . */
+  private SolarTerms solarTerms;
+
+  /** instants of new moon from the latest one of the first term, and the last one may be after the last term, as a ring buffer . */
+  private double[] newMoons = new double[32];
+
+  /** the index of the first new moon in the ring buffer . */
+  private int head;
+
+  /** the number of new moons in the ring buffer . */
+  private int sizeOfNewMoons;
+
+  /** months of the year computed last, which not yet consumed . */
+  private Iterator<LunarMonth> months = Collections.emptyIterator();
+
+  /**
+   *
+   * @param lunisolar {@link Lunisolar} calendar system
+   * @param fromYear the first year to compute
+   * @param toYear the last year to compute
+   */
+  LunarMonthSpliterator(Lunisolar lunisolar, int fromYear, int toYear) {
+    this.lunisolar = lunisolar;
+    this.year = fromYear;
+    this.toYear = toYear;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean tryAdvance(Consumer<? super LunarMonth> action) {
+    while (!months.hasNext()) {
+      if (year > toYear) {
+        return false;
+      }
+      months = monthsOfYear(year++).iterator();
+    }
+    action.accept(months.next());
+
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * splits the years not yet computed into a prefix, and then this computes the rest from scratch .
+   * </p>
+   */
+  @Override
+  public Spliterator<LunarMonth> trySplit() {
+    if (months.hasNext() || toYear - year + 1 < minimumChunk * 2) {
+      return null;
+    }
+    final int fromYear = year;
+    year += (toYear - year + 1) / 2;
+    solarTerms = null;
+    head = 0;
+    sizeOfNewMoons = 0;
+
+    return new LunarMonthSpliterator(lunisolar, fromYear, year - 1);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long estimateSize() {
+    return (long) ((toYear - year + 1) * lunisolar.daysOfYear / lunisolar.daysOfMonth) + (months.hasNext() ? 1 : 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+
+  /**
+   * computes the months of the year, slides the window of terms if already computed the last year .
+   *
+   * @param year the year
+   * @return months of the year
+   */
+  private List<LunarMonth> monthsOfYear(final int year) {
+    if (solarTerms == null) {
+      solarTerms = lunisolar.solarTermsOf(Julian.ofEpochMilli(lunisolar.asStartOfDay(year, 7, 1)));
+      addNewMoon(lunisolar.latestNewMoon(solarTerms.julianDates[0]));
+    } else {
+      // the terms of last year are still referred by its months, so that slides into a copy .
+      final SolarTerms slided = new SolarTerms(solarTerms.size());
+      final int overlap = solarTerms.size() - termsOfYear;
+      System.arraycopy(solarTerms.julianDates, termsOfYear, slided.julianDates, 0, overlap);
+      System.arraycopy(solarTerms.epochMillis, termsOfYear, slided.epochMillis, 0, overlap);
+      System.arraycopy(solarTerms.longitudes, termsOfYear, slided.longitudes, 0, overlap);
+      for (int i = overlap; i < slided.size(); i++) {
+        final int degree = (slided.longitudes[i - 1] + 15) % 360;
+        slided.set(i, lunisolar.closestTerm(slided.julianDates[i - 1], degree), degree);
+      }
+      solarTerms = slided;
+      // drops the lunations which ends before the first term .
+      while (sizeOfNewMoons > 1 && newMoonOf(1) <= solarTerms.julianDates[0]) {
+        head = (head + 1) % newMoons.length;
+        sizeOfNewMoons--;
+      }
+    }
+    final double endOfTerms = solarTerms.julianDates[solarTerms.size() - 1];
+    while (newMoonOf(sizeOfNewMoons - 1) <= endOfTerms) {
+      addNewMoon(lunisolar.latestNewMoon(lunisolar.plusMonth(newMoonOf(sizeOfNewMoons - 1), 1.25)));
+    }
+    final long[] firstDays = new long[sizeOfNewMoons];
+    int size = 0;
+    for (int i = 0; i < sizeOfNewMoons; i++) {
+      final double newMoon = newMoonOf(i);
+      if (newMoon <= endOfTerms) {
+        firstDays[size++] = lunisolar.asStartOfDay(newMoon);
+      }
+    }
+
+    return LunarMonths.of(lunisolar, solarTerms, Arrays.copyOf(firstDays, size)).toList();
+  }
+
+  /**
+   * returns the new moon in the window .
+   *
+   * @param index the index of the new moon, counted from the first one
+   * @return an instant of new moon represented by astronomical julian date
+   */
+  private double newMoonOf(final int index) {
+    return newMoons[(head + index) % newMoons.length];
+  }
+
+  /**
+   * appends a new moon to the window, and grows the ring buffer if full .
+   *
+   * @param newMoon an instant of new moon represented by astronomical julian date
+   */
+  private void addNewMoon(final double newMoon) {
+    if (sizeOfNewMoons == newMoons.length) {
+      final double[] grown = new double[newMoons.length * 2];
+      for (int i = 0; i < sizeOfNewMoons; i++) {
+        grown[i] = newMoonOf(i);
+      }
+      newMoons = grown;
+      head = 0;
+    }
+    newMoons[(head + sizeOfNewMoons++) % newMoons.length] = newMoon;
+  }
+}
@@ -0,0 +1,366 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.io.Serializable;
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * months of a calendar, represented by parallel primitive arrays .
+ *
+ * <p>
+ * each month has the epoch days of the first and the last day in the zone of the calendar system,
+ * the flags ( month of year, leap month, &quot;中気&quot; and winter solstice ),
+ * and the range of the solar terms in the month .
+ * all of those are computed in a single pass over the first days and the terms .
+ * </p>
+ *
+ * <p>
+ * this is the only stage which numbers the months, so that {@link LunarMonth} and {@link LunisolarCalendar}
+ * built from this never change after construction, and may be shared between threads .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+final class LunarMonths {
+
+  /** mask of the month of year . */
+  static final int maskOfMonth = 0xF;
+
+  /** flag of the leap month . */
+  static final int intercalary = 1 << 4;
+
+  /** flag of the month which does not have any mid climate . */
+  static final int intercalaryable = 1 << 5;
+
+  /** flag of the month which contains an instant of winter solstice . */
+  static final int november = 1 << 6;
+
+  /** solar terms of the calendar . */
+  final SolarTerms solarTerms;
+
+  /** the zone of the calendar system . */
+  final ZoneOffset zoneOffset;
+
+  /** epoch day of the first day of each month . */
+  final int[] firstDays;
+
+  /** epoch day of the last day of each month . */
+  final int[] lastDays;
+
+  /** flags of each month . */
+  final int[] flags;
+
+  /** the index of the first term in each month, and the end of the terms in the last month . */
+  final int[] termIndices;
+
+  /**
+   *
+   * @param solarTerms solar terms of the calendar
+   * @param zoneOffset the zone of the calendar system
+   * @param firstDays epoch day of the first day of each month
+   * @param lastDays epoch day of the last day of each month
+   * @param flags flags of each month
+   * @param termIndices the index of the first term in each month
+   */
+  LunarMonths(SolarTerms solarTerms, ZoneOffset zoneOffset, int[] firstDays, int[] lastDays, int[] flags, int[] termIndices) {
+    this.solarTerms = solarTerms;
+    this.zoneOffset = zoneOffset;
+    this.firstDays = firstDays;
+    this.lastDays = lastDays;
+    this.flags = flags;
+    this.termIndices = termIndices;
+  }
+
+  /**
+   * constructing the calendar of the year .
+   *
+   * @param lunisolar {@link Lunisolar} calendar system
+   * @param solarTerms solar terms of the calendar in ascending order
+   * @param firstDays the first day of months represented by epoch millis, in ascending order
+   * @return the months from the first month to the last month of the year
+   */
+  static LunarMonths of(final @lombok.NonNull Lunisolar lunisolar, final @lombok.NonNull SolarTerms solarTerms, final @lombok.NonNull long[] firstDays) {
+    final int size = Math.max(firstDays.length - 1, 0);
+    final int[] firstDaysOfMonth = new int[size];
+    final int[] flags = new int[size];
+    final int[] termIndices = new int[size + 1];
+    int term = 0;
+    int lastNovember = -1;
+    for (int i = 0; i < size; i++) {
+      if (firstDays[i + 1] <= firstDays[i]) {
+        throw new IllegalArgumentException(String.format("the first days must be in ascending order: %d, %d", firstDays[i], firstDays[i + 1]));
+      }
+      firstDaysOfMonth[i] = Math.toIntExact(lunisolar.asEpochDay(firstDays[i]));
+      while (term < solarTerms.size() && solarTerms.epochMillis[term] < firstDays[i]) {
+        term++;
+      }
+      termIndices[i] = term;
+      int flag = intercalaryable;
+      for (; term < solarTerms.size() && solarTerms.epochMillis[term] < firstDays[i + 1]; term++) {
+        if (solarTerms.isMidClimate(term)) {
+          flag &= ~intercalaryable;
+          flag |= solarTerms.longitudes[term] == 270 ? november : 0;
+        }
+      }
+      flags[i] = flag;
+      if ((flag & november) != 0) {
+        if (lastNovember > -1) {
+          materialize(flags, lastNovember, i);
+        }
+        lastNovember = i;
+      }
+    }
+    termIndices[size] = term;
+
+    // from the first month to the last month of the year .
+    int first = 0;
+    while (first < size && (flags[first] & maskOfMonth) != 1) {
+      first++;
+    }
+    if (first >= size) {
+      throw new DateTimeException("no first month in the calendar");
+    }
+    int last = first + 1;
+    while (last < size && (flags[last] & maskOfMonth) != 12) {
+      last++;
+    }
+    last = last < size ? last : first;
+    // a leap month after the twelfth month (&quot;閏十二月&quot;) belongs to this year, not to the next .
+    while (last + 1 < size && (flags[last + 1] & intercalary) != 0) {
+      last++;
+    }
+    final int[] lastDaysOfMonth = new int[last - first + 1];
+    for (int i = first; i <= last; i++) {
+      lastDaysOfMonth[i - first] = Math.toIntExact(lunisolar.asEpochDay(firstDays[i + 1] - 1));
+    }
+
+    // @formatter:off
+    return new LunarMonths(solarTerms, lunisolar.zoneOffset
+      , Arrays.copyOfRange(firstDaysOfMonth, first, last + 1)
+      , lastDaysOfMonth
+      , Arrays.copyOfRange(flags, first, last + 1)
+      , Arrays.copyOfRange(termIndices, first, last + 2));
+    // @formatter:on
+  }
+
+  /**
+   * numbering the months from the month of winter solstice of last year, and detecting the leap month .
+   *
+   * @param flags flags of each month
+   * @param from the month of winter solstice of last year
+   * @param to the month of winter solstice of this year (exclusive)
+   */
+  private static void materialize(final int[] flags, final int from, final int to) {
+    if (to - from > 12) {
+      for (int i = from; i < to; i++) {
+        if ((flags[i] & intercalaryable) != 0) {
+          flags[i] |= intercalary;
+          break;
+        }
+      }
+    }
+    int monthOfYear = 10;
+    for (int i = from; i < to; i++) {
+      monthOfYear += (flags[i] & intercalary) != 0 ? 0 : 1;
+      flags[i] = (flags[i] & ~maskOfMonth) | (monthOfYear % 12 == 0 ? 12 : monthOfYear % 12);
+    }
+  }
+
+  /**
+   * returns the number of months .
+   *
+   * @return the number of months
+   */
+  int size() {
+    return firstDays.length;
+  }
+
+  /**
+   * returns the first instant of the month .
+   *
+   * @param index the index of the month
+   * @return epoch millis
+   */
+  long minimum(final int index) {
+    return EpochDays.toEpochMilli(firstDays[index], zoneOffset.getTotalSeconds() * 1000L);
+  }
+
+  /**
+   * returns the last instant of the month .
+   *
+   * @param index the index of the month
+   * @return epoch millis
+   */
+  long maximum(final int index) {
+    return EpochDays.toEpochMilli(lastDays[index] + 1L, zoneOffset.getTotalSeconds() * 1000L) - 1;
+  }
+
+  /**
+   * returns the number of the month .
+   *
+   * @param index the index of the month
+   * @return month of year
+   */
+  int monthOfYear(final int index) {
+    return flags[index] & maskOfMonth;
+  }
+
+  /**
+   * returns true if the month has the flag .
+   *
+   * @param index the index of the month
+   * @param flag the flag
+   * @return true if the month has the flag
+   */
+  boolean is(final int index, final int flag) {
+    return (flags[index] & flag) != 0;
+  }
+
+  /**
+   * returns the index of the month .
+   *
+   * @param monthOfYear month of year
+   * @param intercalary true if the month is a leap month
+   * @return the index of the month, or -1 if the year does not have the month
+   */
+  int indexOf(final int monthOfYear, final boolean intercalary) {
+    for (int i = 0; i < size(); i++) {
+      if (monthOfYear(i) == monthOfYear && is(i, LunarMonths.intercalary) == intercalary) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * returns the ordinal in the sexagenary cycle of the month counted from pre climates (&quot;節月&quot;), which contains specified day .
+   *
+   * @param epochDay epoch day in the zone of the calendar system
+   * @return the ordinal in the cycle, 0 to 59
+   */
+  int cycleOfMonth(final long epochDay) {
+    final long offsetMillis = zoneOffset.getTotalSeconds() * 1000L;
+    int cycle = -1;
+    for (int term = 0; term < solarTerms.size(); term++) {
+      final long dayOfTerm = EpochDays.ofEpochMilli(solarTerms.epochMillis[term], offsetMillis);
+      if (dayOfTerm > epochDay) {
+        break;
+      } else if (!solarTerms.isMidClimate(term)) {
+        cycle = Sexagenary.ofPreClimate(dayOfTerm, solarTerms.longitudes[term]);
+      }
+    }
+    if (cycle < 0) {
+      throw new DateTimeException(String.format("the terms of the calendar do not cover the day: %d", epochDay));
+    }
+
+    return cycle;
+  }
+
+  /**
+   * returns the solar terms in the month, as a view .
+   *
+   * @param index the index of the month
+   * @param midClimate true if mid climates, or pre climates
+   * @return list of {@link SolarTerm}
+   */
+  List<SolarTerm> climates(final int index, final boolean midClimate) {
+    int size = 0;
+    final int[] indices = new int[termIndices[index + 1] - termIndices[index]];
+    for (int term = termIndices[index]; term < termIndices[index + 1]; term++) {
+      if (solarTerms.isMidClimate(term) == midClimate) {
+        indices[size++] = term;
+      }
+    }
+
+    return new Climates(solarTerms, Arrays.copyOf(indices, size));
+  }
+
+  /**
+   * returns the months as {@link LunarMonth} .
+   *
+   * @return unmodifiable list of {@link LunarMonth}
+   */
+  List<LunarMonth> toList() {
+    final LunarMonth[] lunarMonths = new LunarMonth[size()];
+    for (int i = 0; i < lunarMonths.length; i++) {
+      lunarMonths[i] = new LunarMonth(this, i);
+    }
+
+    return List.of(lunarMonths);
+  }
+
+  /**
+   * solar terms in a month, which refers to the terms shared by the months of the calendar .
+   *
+   * @author furplag
+   *
+   */
+  private static final class Climates extends AbstractList<SolarTerm> implements RandomAccess, Serializable {
+
+    /** serialVersionUID . */
+    private static final long serialVersionUID = 1L;
+
+    /** solar terms of the calendar . */
+    private final SolarTerms solarTerms;
+
+    /** the index of the terms . */
+    private final int[] indices;
+
+    /**
+     *
+     * @param solarTerms solar terms of the calendar
+     * @param indices the index of the terms
+     */
+    private Climates(SolarTerms solarTerms, int[] indices) {
+      this.solarTerms = solarTerms;
+      this.indices = indices;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SolarTerm get(int index) {
+      return solarTerms.get(indices[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+      return indices.length;
+    }
+
+    /**
+     * serializes the terms instead of the view .
+     *
+     * @return list of {@link SolarTerm}
+     */
+    private Object writeReplace() {
+      return List.copyOf(this);
+    }
+  }
+}
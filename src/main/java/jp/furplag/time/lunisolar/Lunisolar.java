@@ -16,19 +16,21 @@
 
 package jp.furplag.time.lunisolar;
 
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.time.temporal.ChronoField;
-import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import jp.furplag.misc.Astror;
-import jp.furplag.misc.orrery.EclipticLongitude;
 import jp.furplag.time.Julian;
+import jp.furplag.time.Millis;
 
 /**
  * lunisolar calendar system .
@@ -51,18 +53,56 @@ public abstract class Lunisolar {
   /** meant &quot;天保暦&quot; . */
   static final Lunisolar Tenpo;
 
+  /** meant &quot;宣明暦&quot;, in mean solar terms from 861 . */
+  static final Lunisolar Senmyo;
+
+  /** meant &quot;貞享暦&quot;, in mean solar terms from 1684 . */
+  static final Lunisolar Jokyo;
+
+  /** meant &quot;宝暦暦&quot;, in mean solar terms from 1754 . */
+  static final Lunisolar Horeki;
+
+  /** meant &quot;寛政暦&quot;, in mean solar terms from 1797 . */
+  static final Lunisolar Kansei;
+
   /** a precision for calculates . */
   static final double precisionDefault;
 
   /** limitation of calculates . */
   static final int loopLimitDefault;
 
+  /** the mean instant of the new moon of lunation number 0 (2000-01-06) . */
+  static final double newMoonOfEpoch = 2451550.09766;
+
+  /** an average of days of synodic month, for numbering lunations . */
+  static final double meanSynodicMonth = 29.530588861;
+
+  /** days shorter than any synodic month (29.27 days at the shortest), so that a new moon is the latest one until then . */
+  static final double shortestSynodicMonth = 29.26;
+
+  /** the mean longitude of the sun at J2000.0 . */
+  static final double meanLongitudeOfEpoch = 280.46646;
+
+  /** the mean motion of the sun in a day . */
+  static final double meanLongitudePerDay = 0.98564736;
+
+  /** instants of new moon and solar terms, shared by the calendar systems which solve in the same way . */
+  private static final Map<InstantTable.Key, InstantTable> instantTables = new ConcurrentHashMap<>();
+
+  /** calendar systems same as {@link #Tenpo} except the offset, keyed by the offset . */
+  private static final Map<ZoneOffset, Lunisolar> zoneOffsets = new ConcurrentHashMap<>();
+
   static {
     final double precisionDefaultOrigin = 5E-10;
     final int loopLimitDefaultOrigin = 100;
     precisionDefault = precisionDefaultOrigin;
     loopLimitDefault = loopLimitDefaultOrigin;
     Tenpo = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9), precisionDefaultOrigin, loopLimitDefaultOrigin);
+    // the older systems differ only in the length of the year, and share the instants of new moon with Tenpo .
+    Senmyo = new MeanLunisolar(365.244642, Tenpo.daysOfMonth, Tenpo.zoneOffset, 861, precisionDefaultOrigin, loopLimitDefaultOrigin, Tenpo.solver);
+    Jokyo = new MeanLunisolar(365.2417, Tenpo.daysOfMonth, Tenpo.zoneOffset, 1684, precisionDefaultOrigin, loopLimitDefaultOrigin, Tenpo.solver);
+    Horeki = new MeanLunisolar(365.2416, Tenpo.daysOfMonth, Tenpo.zoneOffset, 1754, precisionDefaultOrigin, loopLimitDefaultOrigin, Tenpo.solver);
+    Kansei = new MeanLunisolar(365.2423, Tenpo.daysOfMonth, Tenpo.zoneOffset, 1797, precisionDefaultOrigin, loopLimitDefaultOrigin, Tenpo.solver);
   }
 
   /** an average of days of year . */
@@ -80,6 +120,27 @@ public abstract class Lunisolar {
   /** limitation of calculates . */
   final int loopLimit;
 
+  /** the strategy to calculate the instant of solar terms and new moons . */
+  final Solver solver;
+
+  /** instants of new moon keyed by lunation number . */
+  final InstantTable lunations;
+
+  /** instants of solar terms keyed by the number of 15&deg; from the vernal equinox of J2000.0 . */
+  final InstantTable terms;
+
+  /** computed calendars of this system . */
+  final CalendarCache calendarCache;
+
+  /** precomputed months of this system, or null if not tabulated . */
+  final YearTable yearTable;
+
+  /** the executor to compute solar terms in parallel, or null if computes serially . */
+  final Executor executor;
+
+  /** receives the measurements of this system . */
+  final LunisolarMetrics metrics;
+
   /**
    * calculates the lunisolar calendar of specified julian date .
    *
@@ -87,8 +148,24 @@ public abstract class Lunisolar {
    * @return {@link Lunisolar}
    */
   public static Lunisolar ofJulian(final double julianDate) {
-    return Tenpo;
+    return LunisolarSystem.JAPANESE.ofJulian(julianDate);
+  }
 
+  /**
+   * returns the calendar system same as {@link #Tenpo}, except the offset which truncates instants to days .
+   *
+   * <p>
+   * the systems share the instants of new moon and solar terms, which are computed in UT, with {@link #Tenpo} .
+   * each system has its own {@link CalendarCache}, and the same instance returns for the same offset .
+   * the instance is shared with {@link LunisolarSystem} and never configured, so that {@link #tabulate(int, int)},
+   * {@link #parallelize(Executor)} and {@link #measure(LunisolarMetrics)} return a copy of that instead .
+   * </p>
+   *
+   * @param zoneOffset {@link ZoneOffset}
+   * @return {@link Lunisolar}
+   */
+  public static Lunisolar of(final @lombok.NonNull ZoneOffset zoneOffset) {
+    return Tenpo.zoneOffset.equals(zoneOffset) ? Tenpo : zoneOffsets.computeIfAbsent(zoneOffset, ((StandardLunisolar) Tenpo)::withZoneOffset);
   }
 
   /**
@@ -100,11 +177,61 @@ public abstract class Lunisolar {
    * @param loopLimit limitation of calculates
    */
   Lunisolar(double daysOfYear, double daysOfMonth, ZoneOffset zoneOffset, double precision, int loopLimit) {
+    this(daysOfYear, daysOfMonth, zoneOffset, precision, loopLimit, Solver.FIXED_POINT);
+  }
+
+  /**
+   *
+   * @param daysOfYear an average of days of year
+   * @param daysOfMonth an average of days of month
+   * @param zoneOffset {@link ZoneOffset}
+   * @param precision a precision for calculates
+   * @param loopLimit limitation of calculates
+   * @param solver {@link Solver}
+   */
+  Lunisolar(double daysOfYear, double daysOfMonth, ZoneOffset zoneOffset, double precision, int loopLimit, @lombok.NonNull Solver solver) {
     this.daysOfYear = daysOfYear;
     this.daysOfMonth = daysOfMonth;
     this.zoneOffset = zoneOffset;
     this.precision = precision;
     this.loopLimit = loopLimit;
+    this.solver = solver;
+    // new moons and solar terms are universal, while the result of a solver depends on the settings of calculation .
+    lunations = instantTables.computeIfAbsent(InstantTable.Key.ofLunations(this), k -> new InstantTable(1 << 14));
+    terms = instantTables.computeIfAbsent(InstantTable.Key.ofTerms(this), k -> new InstantTable(1 << 15));
+    yearTable = null;
+    executor = null;
+    metrics = LunisolarMetrics.NOOP;
+    calendarCache = new CalendarCache(this);
+  }
+
+  /**
+   * a copy of specified calendar system, in specified configuration .
+   *
+   * <p>
+   * the copy has its own {@link CalendarCache} of the same policy .
+   * </p>
+   *
+   * @param lunisolar {@link Lunisolar} to copy
+   * @param lunations instants of new moon keyed by lunation number
+   * @param terms instants of solar terms keyed by the number of 15&deg; from the vernal equinox of J2000.0
+   * @param yearTable precomputed months, or null
+   * @param executor the executor to compute solar terms in parallel, or null
+   * @param metrics {@link LunisolarMetrics}
+   */
+  Lunisolar(Lunisolar lunisolar, InstantTable lunations, InstantTable terms, YearTable yearTable, Executor executor, LunisolarMetrics metrics) {
+    daysOfYear = lunisolar.daysOfYear;
+    daysOfMonth = lunisolar.daysOfMonth;
+    zoneOffset = lunisolar.zoneOffset;
+    precision = lunisolar.precision;
+    loopLimit = lunisolar.loopLimit;
+    solver = lunisolar.solver;
+    this.lunations = lunations;
+    this.terms = terms;
+    this.yearTable = yearTable;
+    this.executor = executor;
+    this.metrics = metrics;
+    calendarCache = new CalendarCache(this, lunisolar.calendarCache.getMaximumSize(), lunisolar.calendarCache.getEviction());
   }
 
   /**
@@ -118,17 +245,383 @@ public abstract class Lunisolar {
  }
 
   /**
-   * returns the result that have minimum delta.
+   * discards the instants of new moon and solar terms of every calendar system, and then those are computed again on demand .
+   *
+   * <p>
+   * the calendars in the caches and the tables of precomputed months are retained .
+   * </p>
+   */
+  static void clearInstantTables() {
+    instantTables.values().forEach(InstantTable::clear);
+  }
+
+  /**
+   * returns the offset which truncates instants to days in this calendar system .
+   *
+   * @return {@link ZoneOffset}
+   */
+  public ZoneOffset getZoneOffset() {
+    return zoneOffset;
+  }
+
+  /**
+   * returns the strategy to calculate the instant of solar terms and new moons .
+   *
+   * @return {@link Solver}
+   */
+  public Solver getSolver() {
+    return solver;
+  }
+
+  /**
+   * returns the cache of calendars computed in this system .
+   *
+   * @return {@link CalendarCache}
+   */
+  public CalendarCache getCalendarCache() {
+    return calendarCache;
+  }
+
+  /**
+   * returns a copy of this calendar system in specified configuration .
+   *
+   * @param lunations instants of new moon keyed by lunation number
+   * @param terms instants of solar terms keyed by the number of 15&deg; from the vernal equinox of J2000.0
+   * @param yearTable precomputed months, or null
+   * @param executor the executor to compute solar terms in parallel, or null
+   * @param metrics {@link LunisolarMetrics}
+   * @return a new calendar system, which has its own {@link CalendarCache}
+   */
+  abstract Lunisolar configure(InstantTable lunations, InstantTable terms, YearTable yearTable, Executor executor, LunisolarMetrics metrics);
+
+  /**
+   * returns a copy of this calendar system, which does not share the instants of new moon and solar terms with the others .
+   *
+   * <p>
+   * for measuring the solutions, such as benchmarks, without the instants which the other calendar systems have solved .
+   * </p>
+   *
+   * @param memoizes false if solves every instant each time
+   * @return a new calendar system, which has its own tables of the instants
+   */
+  Lunisolar isolate(final boolean memoizes) {
+    return configure(new InstantTable(memoizes ? lunations.bound : 0), new InstantTable(memoizes ? terms.bound : 0), yearTable, executor, metrics);
+  }
+
+  /**
+   * returns a copy of this calendar system, which converts the days in the years without any astronomical calculation .
+   *
+   * <p>
+   * this calendar system is not changed, so that the shared systems such as {@link #of(ZoneOffset)} never precompute unexpectedly .
+   * </p>
+   *
+   * @param fromYear the first year to precompute
+   * @param toYear the last year to precompute
+   * @return a new calendar system which precomputed the months of the years
+   */
+  public Lunisolar tabulate(final int fromYear, final int toYear) {
+    return configure(lunations, terms, YearTable.of(this, fromYear, toYear), executor, metrics);
+  }
+
+  /**
+   * returns a copy of this calendar system, which converts any day by calculation .
+   *
+   * @return a new calendar system without precomputed months, or this if not tabulated
+   */
+  public Lunisolar untabulate() {
+    return yearTable == null ? this : configure(lunations, terms, null, executor, metrics);
+  }
+
+  /**
+   * returns the months of the years in this calendar system, as a lazy stream .
+   *
+   * <p>
+   * computes each solar term and each lunation only once, instead of constructing the calendar of each year .
+   * a parallel stream computes the months by chunks of years .
+   * </p>
+   *
+   * @param fromYear the first year
+   * @param toYear the last year
+   * @return the stream of {@link LunarMonth}
+   */
+  public Stream<LunarMonth> monthsBetween(final int fromYear, final int toYear) {
+    if (fromYear > toYear) {
+      throw new IllegalArgumentException(String.format("invalid range of year: %d - %d", fromYear, toYear));
+    }
+
+    return StreamSupport.stream(new LunarMonthSpliterator(this, fromYear, toYear), false);
+  }
+
+  /**
+   * returns a copy of this calendar system, which computes the solar terms of a calendar in parallel, using the common pool .
+   *
+   * @return a new calendar system, or this if already computes in the common pool
+   */
+  public Lunisolar parallelize() {
+    return parallelize(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * returns a copy of this calendar system, which computes the solar terms of a calendar in parallel, using specified executor .
+   *
+   * <p>
+   * this calendar system is not changed, so that the shared systems such as {@link #of(ZoneOffset)} never compute in the executor unexpectedly .
+   * </p>
+   *
+   * @param executor {@link Executor}
+   * @return a new calendar system, or this if already computes in the executor
+   */
+  public Lunisolar parallelize(final @lombok.NonNull Executor executor) {
+    return executor.equals(this.executor) ? this : configure(lunations, terms, yearTable, executor, metrics);
+  }
+
+  /**
+   * returns a copy of this calendar system, which computes the solar terms of a calendar serially .
+   *
+   * @return a new calendar system, or this if not parallelized
+   */
+  public Lunisolar unparallelize() {
+    return executor == null ? this : configure(lunations, terms, yearTable, null, metrics);
+  }
+
+  /**
+   * returns a copy of this calendar system, which reports the solutions and the latency of constructing calendars to specified metrics .
+   *
+   * <p>
+   * this calendar system is not changed, so that the shared systems such as {@link #of(ZoneOffset)} never report unexpectedly .
+   * the lookups are counted by the {@link CalendarCache} of the copy .
+   * </p>
+   *
+   * @param metrics {@link LunisolarMetrics}
+   * @return a new calendar system, or this if already reports to the metrics
+   */
+  public Lunisolar measure(final @lombok.NonNull LunisolarMetrics metrics) {
+    return metrics.equals(this.metrics) ? this : configure(lunations, terms, yearTable, executor, metrics);
+  }
+
+  /**
+   * returns a copy of this calendar system, which reports no measurement .
+   *
+   * @return a new calendar system, or this if not measured
+   */
+  public Lunisolar unmeasure() {
+    return LunisolarMetrics.NOOP.equals(metrics) ? this : configure(lunations, terms, yearTable, executor, LunisolarMetrics.NOOP);
+  }
+
+  /**
+   * returns the metrics which receives the measurements of this system .
    *
-   * @param results {@link Map} of delta: julianDate
-   * @param _default a fallback
-   * @return the result
+   * @return {@link LunisolarMetrics}, {@link LunisolarMetrics#NOOP} if not measured
    */
-  static double doOurOwnBest(final Map<Double, Double> results, final double _default) {
-    // @formatter:off
-    return results == null ? _default :
-      results.getOrDefault(results.keySet().stream().sorted().findFirst().orElse(_default), _default);
-    // @formatter:on
+  public LunisolarMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * returns the epoch day of specified day in this calendar system .
+   *
+   * @param year the year
+   * @param monthOfYear month of year
+   * @param intercalary true if the month is a leap month
+   * @param dayOfMonth day of month
+   * @return epoch day in the zone of this calendar system
+   * @throws DateTimeException if the day does not exist, such as a leap month of a common year, or the 30th of a short month
+   */
+  public long toEpochDay(final int year, final int monthOfYear, final boolean intercalary, final int dayOfMonth) {
+    validateMonthOfYear(monthOfYear);
+    final YearTable yearTable = this.yearTable;
+    if (yearTable == null || year < yearTable.fromYear || year > yearTable.toYear) {
+      return calendarOfYear(year).toEpochDay(monthOfYear, intercalary, dayOfMonth);
+    }
+    final int index = yearTable.indexOf(year, monthOfYear, intercalary);
+    if (index < 0) {
+      throw new DateTimeException(String.format("the year does not have the month: %d %s%d", year, intercalary ? "閏" : "", monthOfYear));
+    }
+
+    return LunisolarCalendar.epochDayOf(yearTable.firstDay(index), yearTable.lastDay(index), dayOfMonth);
+  }
+
+  /**
+   * returns the epoch days of specified days in this calendar system .
+   *
+   * <p>
+   * the calendar of a year is looked up once for the consecutive days in that year, so that the days sorted by the year costs less .
+   * </p>
+   *
+   * @param years the year of each day
+   * @param monthsOfYear month of year of each day
+   * @param intercalaries true if the month of each day is a leap month
+   * @param daysOfMonth day of month of each day
+   * @return epoch day of each day in the zone of this calendar system
+   * @throws DateTimeException if any of the days does not exist
+   */
+  public long[] toEpochDays(final @lombok.NonNull int[] years, final @lombok.NonNull int[] monthsOfYear, final @lombok.NonNull boolean[] intercalaries, final @lombok.NonNull int[] daysOfMonth) {
+    if (years.length != monthsOfYear.length || years.length != intercalaries.length || years.length != daysOfMonth.length) {
+      throw new IllegalArgumentException(String.format("the length of arrays must be the same: %d, %d, %d, %d", years.length, monthsOfYear.length, intercalaries.length, daysOfMonth.length));
+    }
+    final YearTable yearTable = this.yearTable;
+    final long[] epochDays = new long[years.length];
+    LunisolarCalendar calendar = null;
+    for (int i = 0; i < years.length; i++) {
+      if (yearTable != null && years[i] >= yearTable.fromYear && years[i] <= yearTable.toYear) {
+        epochDays[i] = toEpochDay(years[i], monthsOfYear[i], intercalaries[i], daysOfMonth[i]);
+      } else {
+        validateMonthOfYear(monthsOfYear[i]);
+        calendar = calendar != null && calendar.year == years[i] ? calendar : calendarOfYear(years[i]);
+        epochDays[i] = calendar.toEpochDay(monthsOfYear[i], intercalaries[i], daysOfMonth[i]);
+      }
+    }
+
+    return epochDays;
+  }
+
+  /**
+   * returns the start of specified day in this calendar system .
+   *
+   * @param year the year
+   * @param monthOfYear month of year
+   * @param intercalary true if the month is a leap month
+   * @param dayOfMonth day of month
+   * @return millis from epoch
+   * @throws DateTimeException if the day does not exist
+   */
+  public long toEpochMilli(final int year, final int monthOfYear, final boolean intercalary, final int dayOfMonth) {
+    return EpochDays.toEpochMilli(toEpochDay(year, monthOfYear, intercalary, dayOfMonth), offsetMillis());
+  }
+
+  /**
+   * returns specified day in this calendar system as {@link LocalDate} .
+   *
+   * @param year the year
+   * @param monthOfYear month of year
+   * @param intercalary true if the month is a leap month
+   * @param dayOfMonth day of month
+   * @return {@link LocalDate}
+   * @throws DateTimeException if the day does not exist
+   */
+  public LocalDate toLocalDate(final int year, final int monthOfYear, final boolean intercalary, final int dayOfMonth) {
+    return LocalDate.ofEpochDay(toEpochDay(year, monthOfYear, intercalary, dayOfMonth));
+  }
+
+  /**
+   * validates the month of year .
+   *
+   * @param monthOfYear month of year
+   * @throws DateTimeException if the month of year is out of range
+   */
+  private static void validateMonthOfYear(final int monthOfYear) {
+    if (monthOfYear < 1 || monthOfYear > 12) {
+      throw new DateTimeException(String.format("invalid month of year: %d (1 - 12)", monthOfYear));
+    }
+  }
+
+  /**
+   * returns the calendar of the year which contains specified instant, using the cache .
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @return {@link LunisolarCalendar}
+   */
+  LunisolarCalendar calendarOf(final double julianDate) {
+    return calendarCache.get(yearOfSolstice(julianDate), julianDate);
+  }
+
+  /**
+   * returns the calendar of the year, using the cache .
+   *
+   * @param year the year
+   * @return {@link LunisolarCalendar}
+   */
+  LunisolarCalendar calendarOfYear(final int year) {
+    return calendarCache.get(year, Julian.ofEpochMilli(asStartOfDay(year, 7, 1)));
+  }
+
+  /**
+   * returns the year of the calendar which contains specified instant, without constructing any calendar .
+   *
+   * <p>
+   * the first month of a year begins after the winter solstice of last year, and before the spring equinox at the latest,
+   * so that only the days before April need to compare with the first day of the year .
+   * </p>
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @return the year of the calendar
+   */
+  int yearOfCalendar(final double julianDate) {
+    return yearOfEpochDay(asEpochDay(Millis.ofJulian(julianDate)));
+  }
+
+  /**
+   * returns the year of the calendar which contains specified day, without constructing any calendar .
+   *
+   * @param epochDay the day represented by epoch day
+   * @return the year of the calendar
+   * @see #yearOfCalendar(double)
+   */
+  int yearOfEpochDay(final long epochDay) {
+    final int year = EpochDays.yearOf(epochDay);
+
+    return epochDay < EpochDays.of(year, 4, 1) && epochDay < firstDayOfYear(year) ? year - 1 : year;
+  }
+
+  /**
+   * returns the first day of the first month of the year, which numbers the months from the month of winter solstice of last year .
+   *
+   * <p>
+   * takes the day from the precomputed months, or from the calendar in the cache if any,
+   * so that the months are computed only if neither has the year, and without constructing the calendar .
+   * </p>
+   *
+   * @param year the year
+   * @return epoch day
+   */
+  long firstDayOfYear(final int year) {
+    final YearTable yearTable = this.yearTable;
+    if (yearTable != null && year >= yearTable.fromYear && year <= yearTable.toYear) {
+      return yearTable.firstDay(yearTable.indexOf(year, 1, false));
+    }
+    final LunisolarCalendar calendar = calendarCache.getIfPresent(year);
+    if (calendar != null) {
+      return calendar.lunarMonths.firstDays[0];
+    }
+    final double winterSolstice = winterSolstice(Julian.ofEpochMilli(asStartOfDay(year - 1, 7, 1)));
+    double newMoon = newMoonOfDay(winterSolstice);
+    // the first month without mid climate is a leap month, only if there are 13 months until the next winter solstice .
+    boolean intercalary = Math.round((newMoonOfDay(winterSolstice(Julian.ofEpochMilli(asStartOfDay(year, 7, 1)))) - newMoon) / daysOfMonth) > 12;
+    double midClimate = winterSolstice;
+    int degree = 270;
+    for (int monthOfYear = 11;;) {
+      newMoon = latestNewMoon(plusMonth(newMoon, 1.25));
+      final long firstDay = asEpochDay(asStartOfDay(newMoon));
+      while (asEpochDay(Millis.ofJulian(midClimate)) < firstDay) {
+        degree = (degree + 30) % 360;
+        midClimate = closestTerm(midClimate + daysOfYear / 12.0, degree);
+      }
+      if (intercalary && asEpochDay(Millis.ofJulian(midClimate)) >= asEpochDay(asStartOfDay(latestNewMoon(plusMonth(newMoon, 1.25))))) {
+        intercalary = false;
+      } else if (++monthOfYear > 12) {
+        return firstDay;
+      }
+    }
+  }
+
+  /**
+   * returns the instant of new moon, which the month contains the day of specified instant begins with .
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @return an instant of new moon
+   */
+  private double newMoonOfDay(final double julianDate) {
+    return latestNewMoon(Julian.ofEpochMilli(asStartOfDay(julianDate) + EpochDays.millisOfDay - 1));
+  }
+
+  /**
+   * returns the year of the winter solstice which the calendar of specified instant ends with .
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @return the year of winter solstice
+   */
+  int yearOfSolstice(final double julianDate) {
+    return EpochDays.yearOf(asEpochDay(Millis.ofJulian(julianDate)));
   }
 
   /**
@@ -138,7 +631,38 @@ public abstract class Lunisolar {
    * @return the time at 00:00:00 in specified day
    */
   protected long asStartOfDay(double julianDate) {
-    return Julian.toInstant(julianDate).atOffset(zoneOffset).truncatedTo(ChronoUnit.DAYS).toInstant().toEpochMilli();
+    return EpochDays.toEpochMilli(asEpochDay(Millis.ofJulian(julianDate)), offsetMillis());
+  }
+
+  /**
+   * returns the time at 00:00:00 in specified date .
+   *
+   * @param year the year
+   * @param month month of year, 1 to 12
+   * @param dayOfMonth day of month
+   * @return millis from epoch
+   */
+  long asStartOfDay(int year, int month, int dayOfMonth) {
+    return EpochDays.toEpochMilli(EpochDays.of(year, month, dayOfMonth), offsetMillis());
+  }
+
+  /**
+   * returns the epoch day in this zone of specified instant .
+   *
+   * @param epochMilli millis from epoch
+   * @return the epoch day
+   */
+  long asEpochDay(long epochMilli) {
+    return EpochDays.ofEpochMilli(epochMilli, offsetMillis());
+  }
+
+  /**
+   * returns the offset of the zone in millis .
+   *
+   * @return the offset from UTC in millis
+   */
+  long offsetMillis() {
+    return zoneOffset.getTotalSeconds() * 1000L;
   }
 
   /**
@@ -160,6 +684,16 @@ public abstract class Lunisolar {
    */
   abstract double closestTerm(double julianDate, double degree);
 
+  /**
+   * returns the mean longitude of the sun, not circulated .
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @return the mean longitude of the sun
+   */
+  static double meanLongitude(final double julianDate) {
+    return meanLongitudeOfEpoch + meanLongitudePerDay * (julianDate - Julian.j2000);
+  }
+
   /**
    * calculate the first day of the month(s) .
    *
@@ -168,6 +702,26 @@ public abstract class Lunisolar {
    */
   abstract List<Long> termsToFirstDays(List<SolarTerm> solarTerms);
 
+  /**
+   * calculate the first day of the month(s) .
+   *
+   * @param solarTerms {@link SolarTerms} of the year
+   * @return the first days represented by epoch millis
+   */
+  long[] firstDaysOf(SolarTerms solarTerms) {
+    return termsToFirstDays(solarTerms.toList()).stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /**
+   * returns the solar terms of {@link #termsOfBase(double)}, represented by primitive arrays .
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @return {@link SolarTerms}
+   */
+  SolarTerms solarTermsOf(double julianDate) {
+    return SolarTerms.of(termsOfBase(julianDate));
+  }
+
   /**
    * returns the list of {@link SolarTerm} between a winter solstice of the year that contains specified instant and last year's one .
    *
@@ -183,36 +737,23 @@ public abstract class Lunisolar {
    * @return the first day of lunar month
    */
   protected double latestNewMoon(double julianDate) {
-    double numeric = (long) (julianDate);
-    double floating = julianDate - numeric;
-    double delta = 0.0;
-    double diffOfNumeric = 0.0;
-    double diffOfFloating = 0.0;
-    final Map<Double, Double> results = new HashMap<>();
-    int counter = 0;
-    do {
-      delta = EclipticLongitude.Moon.ofJulian((numeric + floating)) - EclipticLongitude.Sun.ofJulian(numeric + floating);
-      if (counter == 0 || delta < -15.0) {
-        delta = Astror.circulate(delta);
-      } else if (delta > 345.0) {
-        delta -= 360.0;
+    // an instant of new moon differs from the mean up to about 14 hours .
+    final double lunation = (julianDate - newMoonOfEpoch) / meanSynodicMonth;
+    final double margin = 1.0 / meanSynodicMonth;
+    // a new moon is the latest one, unless the next lunation which is not solved yet could precede the instant .
+    boolean unsolved = false;
+    for (long index = (long) Math.floor(lunation + margin); index >= (long) Math.floor(lunation - margin); index--) {
+      final double newMoon = lunations.get(index);
+      if (Double.isNaN(newMoon)) {
+        unsolved = true;
+      } else if (newMoon <= julianDate && (!unsolved || julianDate - newMoon < shortestSynodicMonth)) {
+        return newMoon;
       }
-      counter++;
-      diffOfFloating = delta * (daysOfMonth / 360.0);
-      diffOfNumeric = (long) diffOfFloating;
-      diffOfFloating -= diffOfNumeric;
-      numeric -= diffOfNumeric;
-      floating -= diffOfFloating;
-
-      results.put(Math.abs(diffOfNumeric + diffOfFloating), (numeric + floating));
-    } while (Math.abs(diffOfNumeric + diffOfFloating) > precision && counter < loopLimit);
-
-    if (counter < loopLimit) {
-      return (numeric + floating);
-    } else {
-      return doOurOwnBest(results, (numeric + floating));
     }
-//    return counter < loopLimit ? (numeric + floating) : (doOurOwnBest(results, (numeric + floating)));
+    final double newMoon = solver.latestNewMoon(this, julianDate);
+    lunations.put(Math.round((newMoon - newMoonOfEpoch) / meanSynodicMonth), newMoon);
+
+    return newMoon;
   }
 
   /**
@@ -243,7 +784,7 @@ public abstract class Lunisolar {
    * @return {@link SolarTerm} of spring equinox
    */
   protected double springEquinox(final double julianDate) {
-    return closestTerm(Julian.ofEpochMilli(atOffset(Julian.toInstant(julianDate)).with(ChronoField.MONTH_OF_YEAR, 4).toInstant().toEpochMilli()), 0);
+    return closestTerm(Julian.ofEpochMilli(EpochDays.withMonth(Millis.ofJulian(julianDate), offsetMillis(), 4)), 0);
   }
 
   /**
@@ -253,6 +794,6 @@ public abstract class Lunisolar {
    * @return {@link SolarTerm} of winter solstice
    */
   protected double winterSolstice(final double julianDate) {
-    return closestTerm(Julian.ofEpochMilli(atOffset(Julian.toInstant(julianDate)).with(ChronoField.MONTH_OF_YEAR, 12).toInstant().toEpochMilli()), 270);
+    return closestTerm(Julian.ofEpochMilli(EpochDays.withMonth(Millis.ofJulian(julianDate), offsetMillis(), 12)), 270);
   }
 }
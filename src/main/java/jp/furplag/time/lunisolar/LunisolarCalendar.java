@@ -16,6 +16,7 @@
 
 package jp.furplag.time.lunisolar;
 
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.ValueRange;
@@ -39,6 +40,12 @@ public final class LunisolarCalendar {
   /** the range of the calendar . */
   final ValueRange rangeOfYear;
 
+  /** the year . */
+  final int year;
+
+  /** months of the year, represented by primitive arrays . */
+  final LunarMonths lunarMonths;
+
   /** months of the year . */
   final List<LunarMonth> monthsOfYear;
 
@@ -48,10 +55,78 @@ public final class LunisolarCalendar {
    * @param julianDate astronomical julian date
    */
   public LunisolarCalendar(@lombok.NonNull Lunisolar lunisolar, double julianDate) {
+    final LunisolarEvents.Construction event = LunisolarEvents.Construction.beginIfEnabled();
     this.lunisolar = lunisolar;
-    final List<SolarTerm> solarTerms = lunisolar.termsOfBase(julianDate);
-    monthsOfYear = LunarMonth.constructs(solarTerms, lunisolar.termsToFirstDays(solarTerms));
-    rangeOfYear = ValueRange.of(monthsOfYear.get(0).range.getMinimum(), monthsOfYear.get(monthsOfYear.size() - 1).range.getMaximum());
+    final LunisolarMetrics metrics = lunisolar.metrics;
+    if (metrics.isEnabled()) {
+      final long start = System.nanoTime();
+      final SolarTerms solarTerms = lunisolar.solarTermsOf(julianDate);
+      final long termed = System.nanoTime();
+      final long[] firstDays = lunisolar.firstDaysOf(solarTerms);
+      final long firstDayed = System.nanoTime();
+      lunarMonths = LunarMonths.of(lunisolar, solarTerms, firstDays);
+      metrics.staged(LunisolarMetrics.Stage.SOLAR_TERMS, termed - start);
+      metrics.staged(LunisolarMetrics.Stage.FIRST_DAYS, firstDayed - termed);
+      metrics.staged(LunisolarMetrics.Stage.MONTHS, System.nanoTime() - firstDayed);
+    } else {
+      final SolarTerms solarTerms = lunisolar.solarTermsOf(julianDate);
+      lunarMonths = LunarMonths.of(lunisolar, solarTerms, lunisolar.firstDaysOf(solarTerms));
+    }
+    monthsOfYear = lunarMonths.toList();
+    year = EpochDays.yearOf(lunarMonths.firstDays[0]);
+    rangeOfYear = ValueRange.of(lunarMonths.minimum(0), lunarMonths.maximum(lunarMonths.size() - 1));
+    if (event != null) {
+      event.report(this, julianDate);
+    }
+  }
+
+  /**
+   * restores the calendar from the months computed already .
+   *
+   * @param lunisolar {@link Lunisolar} calendar system
+   * @param lunarMonths months of the year
+   */
+  LunisolarCalendar(Lunisolar lunisolar, LunarMonths lunarMonths) {
+    this.lunisolar = lunisolar;
+    this.lunarMonths = lunarMonths;
+    monthsOfYear = lunarMonths.toList();
+    year = EpochDays.yearOf(lunarMonths.firstDays[0]);
+    rangeOfYear = ValueRange.of(lunarMonths.minimum(0), lunarMonths.maximum(lunarMonths.size() - 1));
+  }
+
+  /**
+   * returns the epoch day of specified day in this calendar .
+   *
+   * @param monthOfYear month of year
+   * @param intercalary true if the month is a leap month
+   * @param dayOfMonth day of month
+   * @return epoch day in the zone of the calendar system
+   * @throws DateTimeException if this calendar does not have the day
+   */
+  public long toEpochDay(final int monthOfYear, final boolean intercalary, final int dayOfMonth) {
+    final int index = lunarMonths.indexOf(monthOfYear, intercalary);
+    if (index < 0) {
+      throw new DateTimeException(String.format("the year does not have the month: %s%d", intercalary ? "閏" : "", monthOfYear));
+    }
+
+    return epochDayOf(lunarMonths.firstDays[index], lunarMonths.lastDays[index], dayOfMonth);
+  }
+
+  /**
+   * returns the epoch day of specified day in the month .
+   *
+   * @param firstDay epoch day of the first day of the month
+   * @param lastDay epoch day of the last day of the month
+   * @param dayOfMonth day of month
+   * @return epoch day
+   * @throws DateTimeException if the month does not have the day
+   */
+  static long epochDayOf(final int firstDay, final int lastDay, final int dayOfMonth) {
+    if (dayOfMonth < 1 || dayOfMonth > lastDay - firstDay + 1) {
+      throw new DateTimeException(String.format("invalid day of month: %d (1 - %d)", dayOfMonth, lastDay - firstDay + 1));
+    }
+
+    return firstDay + dayOfMonth - 1L;
   }
 
   /**
@@ -0,0 +1,263 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.io.Serializable;
+import java.time.DateTimeException;
+import java.time.chrono.AbstractChronology;
+import java.time.chrono.Era;
+import java.time.chrono.IsoEra;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.ValueRange;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link java.time.chrono.Chronology} of east asian lunisolar calendar, backed by {@link Lunisolar#Tenpo} .
+ *
+ * <p>
+ * the month of year as {@link ChronoField#MONTH_OF_YEAR} is the ordinal of the month in the year, 1 to 13,
+ * which counts a leap month (&quot;閏月&quot;) as the month after the month of the same number .
+ * use {@link #date(int, int, boolean, int)} to specify the traditional number of the month instead .
+ * eras are the same as ISO ( BCE and CE ) .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class LunisolarChronology extends AbstractChronology implements Serializable {
+
+  /** serialVersionUID . */
+  private static final long serialVersionUID = 1L;
+
+  /** the chronology . */
+  public static final LunisolarChronology INSTANCE = new LunisolarChronology();
+
+  /** the range of the year . */
+  private static final ValueRange rangeOfYear = ValueRange.of(-9999, 9999);
+
+  /**
+   * LunisolarChronology instances should NOT be constructed in standard programming,
+   * public only for {@link java.util.ServiceLoader} which registers the chronology, use {@link #INSTANCE} instead .
+   */
+  public LunisolarChronology() {}
+
+  /**
+   * returns the calendar system .
+   *
+   * @return {@link Lunisolar}
+   */
+  Lunisolar lunisolar() {
+    return Lunisolar.Tenpo;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getId() {
+    return "Lunisolar";
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return null, there is no calendar type defined by the LDML specification
+   */
+  @Override
+  public String getCalendarType() {
+    return null;
+  }
+
+  /**
+   * returns the date from the year, the traditional number of the month, and the day of month .
+   *
+   * @param prolepticYear the year
+   * @param monthOfYear the number of the month, 1 to 12
+   * @param intercalary true if the month is a leap month
+   * @param dayOfMonth day of month
+   * @return {@link LunisolarLocalDate}
+   * @throws DateTimeException if the date does not exist
+   */
+  public LunisolarLocalDate date(final int prolepticYear, final int monthOfYear, final boolean intercalary, final int dayOfMonth) {
+    rangeOfYear.checkValidValue(prolepticYear, ChronoField.YEAR);
+
+    return dateEpochDay(lunisolar().toEpochDay(prolepticYear, monthOfYear, intercalary, dayOfMonth));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param month the ordinal of the month in the year, 1 to 13
+   */
+  @Override
+  public LunisolarLocalDate date(final int prolepticYear, final int month, final int dayOfMonth) {
+    final LunisolarCalendar calendar = calendarOfYear(prolepticYear);
+    range(ChronoField.MONTH_OF_YEAR).checkValidValue(month, ChronoField.MONTH_OF_YEAR);
+    if (month > calendar.lunarMonths.size()) {
+      throw new DateTimeException(String.format("the year %d does not have the %dth month", prolepticYear, month));
+    }
+
+    return new LunisolarLocalDate(calendar, month - 1, LunisolarCalendar.epochDayOf(calendar.lunarMonths.firstDays[month - 1], calendar.lunarMonths.lastDays[month - 1], dayOfMonth));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate date(final Era era, final int yearOfEra, final int month, final int dayOfMonth) {
+    return date(prolepticYear(era, yearOfEra), month, dayOfMonth);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate dateYearDay(final int prolepticYear, final int dayOfYear) {
+    final LunisolarCalendar calendar = calendarOfYear(prolepticYear);
+    final LunarMonths lunarMonths = calendar.lunarMonths;
+    final int lengthOfYear = lunarMonths.lastDays[lunarMonths.size() - 1] - lunarMonths.firstDays[0] + 1;
+    if (dayOfYear < 1 || dayOfYear > lengthOfYear) {
+      throw new DateTimeException(String.format("invalid day of year: %d (1 - %d)", dayOfYear, lengthOfYear));
+    }
+
+    return dateEpochDay(lunarMonths.firstDays[0] + dayOfYear - 1L);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate dateYearDay(final Era era, final int yearOfEra, final int dayOfYear) {
+    return dateYearDay(prolepticYear(era, yearOfEra), dayOfYear);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate dateEpochDay(final long epochDay) {
+    final LunisolarCalendar calendar = calendarOfYear(lunisolar().yearOfEpochDay(epochDay));
+    final int[] firstDays = calendar.lunarMonths.firstDays;
+    final int index = Arrays.binarySearch(firstDays, Math.toIntExact(epochDay));
+
+    return new LunisolarLocalDate(calendar, index < 0 ? -index - 2 : index, epochDay);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate date(final TemporalAccessor temporal) {
+    if (temporal instanceof LunisolarLocalDate) {
+      return (LunisolarLocalDate) temporal;
+    }
+
+    return dateEpochDay(temporal.getLong(ChronoField.EPOCH_DAY));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate dateNow() {
+    return (LunisolarLocalDate) super.dateNow();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return true if the year has a leap month
+   */
+  @Override
+  public boolean isLeapYear(final long prolepticYear) {
+    return calendarOfYear(Math.toIntExact(prolepticYear)).lunarMonths.size() > 12;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int prolepticYear(final Era era, final int yearOfEra) {
+    if (!(era instanceof IsoEra)) {
+      throw new ClassCastException("Era must be IsoEra");
+    }
+
+    return era == IsoEra.CE ? yearOfEra : 1 - yearOfEra;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public IsoEra eraOf(final int eraValue) {
+    return IsoEra.of(eraValue);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Era> eras() {
+    return List.of(IsoEra.values());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValueRange range(final ChronoField field) {
+    switch (field) {
+      case DAY_OF_MONTH:
+        return ValueRange.of(1, 29, 30);
+      case DAY_OF_YEAR:
+        return ValueRange.of(1, 353, 385);
+      case MONTH_OF_YEAR:
+        return ValueRange.of(1, 12, 13);
+      case ALIGNED_WEEK_OF_MONTH:
+        return ValueRange.of(1, 5);
+      case ALIGNED_WEEK_OF_YEAR:
+        return ValueRange.of(1, 51, 55);
+      case YEAR:
+        return rangeOfYear;
+      case YEAR_OF_ERA:
+        return ValueRange.of(1, -rangeOfYear.getMinimum() + 1, rangeOfYear.getMaximum());
+      default:
+        return field.range();
+    }
+  }
+
+  /**
+   * returns the calendar of the year .
+   *
+   * @param prolepticYear the year
+   * @return {@link LunisolarCalendar}
+   */
+  LunisolarCalendar calendarOfYear(final int prolepticYear) {
+    return lunisolar().calendarOfYear(rangeOfYear.checkValidIntValue(prolepticYear, ChronoField.YEAR));
+  }
+
+  /**
+   * resolves the singleton .
+   *
+   * @return {@link #INSTANCE}
+   */
+  private Object readResolve() {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,486 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jp.furplag.time.Julian;
+
+/**
+ * compact binary encoding of {@link LunisolarCalendar}, {@link LunarMonth} and {@link SolarTerm} .
+ *
+ * <h1>Format (version 1)</h1>
+ * <ol>
+ * <li>a header: the version, and the kind of the content, a byte each .</li>
+ * <li>solar terms: the number of terms (varint), the longitude of each term in units of 15&deg; (a byte each),
+ * the instant of the first term in epoch millis (8 bytes), and then the difference from the previous term (zigzag varint) .</li>
+ * <li>months: the offset in seconds (4 bytes), the solar terms, the number of months (varint),
+ * the epoch days of the first and the last day of each month (4 bytes each), the flags of each month (a byte each),
+ * and the index of the first term in each month (varint) .</li>
+ * </ol>
+ *
+ * <p>
+ * the instants of the terms are precise to a millisecond .
+ * all methods read and write from the current position of the buffer, and leave the position after the content .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class LunisolarCodec {
+
+  /** the version of the format . */
+  static final byte version = 1;
+
+  /** the content of {@link #writeTerms(ByteBuffer, List)} . */
+  private static final byte kindOfTerms = 1;
+
+  /** the content of {@link #writeMonths(ByteBuffer, List)} . */
+  private static final byte kindOfMonths = 2;
+
+  /** the content of {@link #writeCalendar(ByteBuffer, LunisolarCalendar)} . */
+  private static final byte kindOfCalendar = 3;
+
+  /** the length of the header . */
+  private static final int sizeOfHeader = 2;
+
+  /**
+   * LunisolarCodec instances should NOT be constructed in standard programming .
+   */
+  private LunisolarCodec() {}
+
+  /**
+   * returns the number of bytes which {@link #writeTerms(ByteBuffer, List)} writes .
+   *
+   * @param solarTerms list of {@link SolarTerm} in ascending order
+   * @return the number of bytes
+   */
+  public static int sizeOfTerms(final @lombok.NonNull List<SolarTerm> solarTerms) {
+    return sizeOfHeader + sizeOf(SolarTerms.of(solarTerms));
+  }
+
+  /**
+   * returns the number of bytes which {@link #writeMonths(ByteBuffer, List, ZoneOffset)} writes .
+   *
+   * @param lunarMonths list of {@link LunarMonth} in ascending order
+   * @param zoneOffset {@link ZoneOffset} which the months computed in
+   * @return the number of bytes
+   * @throws IllegalArgumentException if any month does not begin or end at the start of a day in the offset
+   */
+  public static int sizeOfMonths(final @lombok.NonNull List<LunarMonth> lunarMonths, final @lombok.NonNull ZoneOffset zoneOffset) {
+    return sizeOfHeader + sizeOf(lunarMonthsOf(lunarMonths, zoneOffset));
+  }
+
+  /**
+   * returns the number of bytes which {@link #writeCalendar(ByteBuffer, LunisolarCalendar)} writes .
+   *
+   * @param calendar {@link LunisolarCalendar}
+   * @return the number of bytes
+   */
+  public static int sizeOfCalendar(final @lombok.NonNull LunisolarCalendar calendar) {
+    return sizeOfHeader + sizeOf(calendar.lunarMonths);
+  }
+
+  /**
+   * writes the solar terms .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param solarTerms list of {@link SolarTerm} in ascending order
+   * @return the buffer
+   * @throws BufferOverflowException if the buffer does not have {@link #sizeOfTerms(List)} bytes remaining
+   */
+  public static ByteBuffer writeTerms(final @lombok.NonNull ByteBuffer buffer, final @lombok.NonNull List<SolarTerm> solarTerms) {
+    write(buffer.put(version).put(kindOfTerms), SolarTerms.of(solarTerms));
+
+    return buffer;
+  }
+
+  /**
+   * writes the months, and the offset which the months computed in .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param lunarMonths list of {@link LunarMonth} in ascending order, which begin and end at the start of days in the offset
+   * @param zoneOffset {@link ZoneOffset} which the months computed in
+   * @return the buffer
+   * @throws BufferOverflowException if the buffer does not have {@link #sizeOfMonths(List, ZoneOffset)} bytes remaining
+   * @throws IllegalArgumentException if any month does not begin or end at the start of a day in the offset
+   */
+  public static ByteBuffer writeMonths(final @lombok.NonNull ByteBuffer buffer, final @lombok.NonNull List<LunarMonth> lunarMonths, final @lombok.NonNull ZoneOffset zoneOffset) {
+    write(buffer.put(version).put(kindOfMonths), lunarMonthsOf(lunarMonths, zoneOffset));
+
+    return buffer;
+  }
+
+  /**
+   * writes the calendar, except the calendar system .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param calendar {@link LunisolarCalendar}
+   * @return the buffer
+   * @throws BufferOverflowException if the buffer does not have {@link #sizeOfCalendar(LunisolarCalendar)} bytes remaining
+   */
+  public static ByteBuffer writeCalendar(final @lombok.NonNull ByteBuffer buffer, final @lombok.NonNull LunisolarCalendar calendar) {
+    write(buffer.put(version).put(kindOfCalendar), calendar.lunarMonths);
+
+    return buffer;
+  }
+
+  /**
+   * reads the solar terms .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @return list of {@link SolarTerm}
+   * @throws IllegalArgumentException if the content is not the solar terms, written in an unsupported version, or has an invalid longitude of a term
+   * @throws BufferUnderflowException if the content is truncated
+   */
+  public static List<SolarTerm> readTerms(final @lombok.NonNull ByteBuffer buffer) {
+    return readSolarTerms(header(buffer, kindOfTerms)).toList();
+  }
+
+  /**
+   * reads the months .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @return unmodifiable list of {@link LunarMonth}
+   * @throws IllegalArgumentException if the content is not the months, written in an unsupported version, or has an invalid longitude of a term
+   * @throws BufferUnderflowException if the content is truncated
+   * @throws DateTimeException if the content has an invalid offset, or the months are invalid
+   */
+  public static List<LunarMonth> readMonths(final @lombok.NonNull ByteBuffer buffer) {
+    return readLunarMonths(header(buffer, kindOfMonths)).toList();
+  }
+
+  /**
+   * reads the calendar .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param lunisolar {@link Lunisolar} calendar system which the calendar computed in
+   * @return {@link LunisolarCalendar}
+   * @throws IllegalArgumentException if the content is not a calendar, written in an unsupported version, computed in another offset, or has an invalid longitude of a term
+   * @throws BufferUnderflowException if the content is truncated
+   * @throws DateTimeException if the content has an invalid offset, or the months are invalid
+   */
+  public static LunisolarCalendar readCalendar(final @lombok.NonNull ByteBuffer buffer, final @lombok.NonNull Lunisolar lunisolar) {
+    final LunarMonths lunarMonths = readLunarMonths(header(buffer, kindOfCalendar));
+    if (!lunisolar.zoneOffset.equals(lunarMonths.zoneOffset)) {
+      throw new IllegalArgumentException(String.format("the calendar computed in another offset: %s (expected %s)", lunarMonths.zoneOffset, lunisolar.zoneOffset));
+    } else if (lunarMonths.size() < 1) {
+      throw new IllegalArgumentException("the calendar has no month");
+    }
+
+    return new LunisolarCalendar(lunisolar, lunarMonths);
+  }
+
+  /**
+   * validates the header, and skips it .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param kind the kind of the content expected
+   * @return the buffer
+   */
+  private static ByteBuffer header(final ByteBuffer buffer, final byte kind) {
+    final byte versionOfContent = buffer.get();
+    if (versionOfContent != version) {
+      throw new IllegalArgumentException(String.format("unsupported version: %d (supported %d)", versionOfContent, version));
+    }
+    final byte kindOfContent = buffer.get();
+    if (kindOfContent != kind) {
+      throw new IllegalArgumentException(String.format("unexpected content: %d (expected %d)", kindOfContent, kind));
+    }
+
+    return buffer;
+  }
+
+  /**
+   * returns the primitive representation of the months .
+   *
+   * @param lunarMonths list of {@link LunarMonth}
+   * @param zoneOffset {@link ZoneOffset} which the months computed in
+   * @return {@link LunarMonths}
+   */
+  private static LunarMonths lunarMonthsOf(final List<LunarMonth> lunarMonths, final ZoneOffset zoneOffset) {
+    final int size = lunarMonths.size();
+    final SolarTerms solarTerms = new SolarTerms(lunarMonths.stream().mapToInt(m -> m.preClimates.size() + m.midClimates.size()).sum());
+    final int[] firstDays = new int[size];
+    final int[] lastDays = new int[size];
+    final int[] flags = new int[size];
+    final int[] termIndices = new int[size + 1];
+    int term = 0;
+    for (int i = 0; i < size; i++) {
+      final LunarMonth lunarMonth = lunarMonths.get(i);
+      firstDays[i] = Math.toIntExact(EpochDays.ofEpochMilli(lunarMonth.range.getMinimum(), zoneOffset.getTotalSeconds() * 1000L));
+      lastDays[i] = Math.toIntExact(EpochDays.ofEpochMilli(lunarMonth.range.getMaximum(), zoneOffset.getTotalSeconds() * 1000L));
+      // @formatter:off
+      flags[i] = lunarMonth.monthOfYear
+        | (lunarMonth.intercalary ? LunarMonths.intercalary : 0)
+        | (lunarMonth.intercalaryable ? LunarMonths.intercalaryable : 0)
+        | (lunarMonth.november ? LunarMonths.november : 0);
+      // @formatter:on
+      termIndices[i] = term;
+      final List<SolarTerm> climates = new ArrayList<>(lunarMonth.preClimates);
+      climates.addAll(lunarMonth.midClimates);
+      Collections.sort(climates);
+      for (SolarTerm solarTerm : climates) {
+        solarTerms.set(term++, solarTerm.julianDate, solarTerm.longitude);
+      }
+    }
+    termIndices[size] = term;
+    final LunarMonths result = new LunarMonths(solarTerms, zoneOffset, firstDays, lastDays, flags, termIndices);
+    for (int i = 0; i < size; i++) {
+      if (result.minimum(i) != lunarMonths.get(i).range.getMinimum() || result.maximum(i) != lunarMonths.get(i).range.getMaximum()) {
+        throw new IllegalArgumentException(String.format("the month does not begin or end at the start of a day in %s: %s", zoneOffset, lunarMonths.get(i).range));
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * returns the number of bytes of the months .
+   *
+   * @param lunarMonths {@link LunarMonths}
+   * @return the number of bytes
+   */
+  private static int sizeOf(final LunarMonths lunarMonths) {
+    int size = Integer.BYTES + sizeOf(lunarMonths.solarTerms) + sizeOfVarint(lunarMonths.size()) + lunarMonths.size() * (Integer.BYTES * 2 + 1);
+    for (int termIndex : lunarMonths.termIndices) {
+      size += sizeOfVarint(termIndex);
+    }
+
+    return size;
+  }
+
+  /**
+   * returns the number of bytes of the solar terms .
+   *
+   * @param solarTerms {@link SolarTerms}
+   * @return the number of bytes
+   */
+  private static int sizeOf(final SolarTerms solarTerms) {
+    int size = sizeOfVarint(solarTerms.size()) + solarTerms.size() + (solarTerms.size() > 0 ? Long.BYTES : 0);
+    for (int i = 1; i < solarTerms.size(); i++) {
+      size += sizeOfVarint(zigzag(solarTerms.epochMillis[i] - solarTerms.epochMillis[i - 1]));
+    }
+
+    return size;
+  }
+
+  /**
+   * writes the months .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param lunarMonths {@link LunarMonths}
+   */
+  private static void write(final ByteBuffer buffer, final LunarMonths lunarMonths) {
+    buffer.putInt(lunarMonths.zoneOffset.getTotalSeconds());
+    write(buffer, lunarMonths.solarTerms);
+    putVarint(buffer, lunarMonths.size());
+    for (int i = 0; i < lunarMonths.size(); i++) {
+      buffer.putInt(lunarMonths.firstDays[i]).putInt(lunarMonths.lastDays[i]);
+    }
+    for (int flag : lunarMonths.flags) {
+      buffer.put((byte) flag);
+    }
+    for (int termIndex : lunarMonths.termIndices) {
+      putVarint(buffer, termIndex);
+    }
+  }
+
+  /**
+   * writes the solar terms .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param solarTerms {@link SolarTerms}
+   */
+  private static void write(final ByteBuffer buffer, final SolarTerms solarTerms) {
+    putVarint(buffer, solarTerms.size());
+    for (int longitude : solarTerms.longitudes) {
+      buffer.put((byte) (longitude / 15));
+    }
+    if (solarTerms.size() > 0) {
+      buffer.putLong(solarTerms.epochMillis[0]);
+    }
+    for (int i = 1; i < solarTerms.size(); i++) {
+      putVarint(buffer, zigzag(solarTerms.epochMillis[i] - solarTerms.epochMillis[i - 1]));
+    }
+  }
+
+  /**
+   * reads the months .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @return {@link LunarMonths}
+   */
+  private static LunarMonths readLunarMonths(final ByteBuffer buffer) {
+    final ZoneOffset zoneOffset = ZoneOffset.ofTotalSeconds(buffer.getInt());
+    final SolarTerms solarTerms = readSolarTerms(buffer);
+    final int size = sizeOf(buffer, Integer.BYTES * 2 + 1);
+    final int[] firstDays = new int[size];
+    final int[] lastDays = new int[size];
+    final int[] flags = new int[size];
+    final int[] termIndices = new int[size + 1];
+    for (int i = 0; i < size; i++) {
+      firstDays[i] = buffer.getInt();
+      lastDays[i] = buffer.getInt();
+    }
+    for (int i = 0; i < size; i++) {
+      flags[i] = buffer.get();
+    }
+    validate(firstDays, lastDays, flags);
+    for (int i = 0; i <= size; i++) {
+      termIndices[i] = (int) getVarint(buffer);
+      if (termIndices[i] < (i > 0 ? termIndices[i - 1] : 0) || termIndices[i] > solarTerms.size()) {
+        throw new IllegalArgumentException(String.format("invalid index of the term: %d", termIndices[i]));
+      }
+    }
+
+    return new LunarMonths(solarTerms, zoneOffset, firstDays, lastDays, flags, termIndices);
+  }
+
+  /**
+   * validates the months read, which must be in ascending order without overlapping .
+   *
+   * @param firstDays epoch day of the first day of each month
+   * @param lastDays epoch day of the last day of each month
+   * @param flags the number and the flags of each month
+   * @throws DateTimeException if any month is invalid
+   */
+  private static void validate(final int[] firstDays, final int[] lastDays, final int[] flags) {
+    for (int i = 0; i < firstDays.length; i++) {
+      if (firstDays[i] > lastDays[i]) {
+        throw new DateTimeException(String.format("the month ends before it begins: %d - %d", firstDays[i], lastDays[i]));
+      } else if (i > 0 && firstDays[i] <= lastDays[i - 1]) {
+        throw new DateTimeException(String.format("the months must be in ascending order: %d - %d, %d - %d", firstDays[i - 1], lastDays[i - 1], firstDays[i], lastDays[i]));
+      }
+      final int monthOfYear = flags[i] & LunarMonths.maskOfMonth;
+      if (monthOfYear < 1 || monthOfYear > 12) {
+        throw new DateTimeException(String.format("invalid month of year: %d (1 - 12)", monthOfYear));
+      }
+    }
+  }
+
+  /**
+   * reads the solar terms .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @return {@link SolarTerms}
+   */
+  private static SolarTerms readSolarTerms(final ByteBuffer buffer) {
+    final SolarTerms solarTerms = new SolarTerms(sizeOf(buffer, 2));
+    final int[] longitudes = new int[solarTerms.size()];
+    for (int i = 0; i < longitudes.length; i++) {
+      final byte code = buffer.get();
+      if (code < 0 || code > 23) {
+        throw new IllegalArgumentException(String.format("invalid longitude of the term: %d (0 - 23)", code));
+      }
+      longitudes[i] = code * 15;
+    }
+    long epochMilli = solarTerms.size() > 0 ? buffer.getLong() : 0;
+    for (int i = 0; i < longitudes.length; i++) {
+      epochMilli += i > 0 ? unzigzag(getVarint(buffer)) : 0;
+      solarTerms.set(i, Julian.ofEpochMilli(epochMilli), longitudes[i]);
+    }
+
+    return solarTerms;
+  }
+
+  /**
+   * reads the number of elements, and validates it with the remaining of the buffer .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param bytesOfElement the minimum number of bytes of an element
+   * @return the number of elements
+   */
+  private static int sizeOf(final ByteBuffer buffer, final int bytesOfElement) {
+    final long size = getVarint(buffer);
+    if (size > buffer.remaining() / bytesOfElement) {
+      throw new BufferUnderflowException();
+    }
+
+    return (int) size;
+  }
+
+  /**
+   * writes the unsigned variable-length integer, 7 bits a byte .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @param value the value
+   */
+  private static void putVarint(final ByteBuffer buffer, final long value) {
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      buffer.put((byte) ((remaining & 0x7F) | 0x80));
+      remaining >>>= 7;
+    }
+    buffer.put((byte) remaining);
+  }
+
+  /**
+   * reads the unsigned variable-length integer .
+   *
+   * @param buffer {@link ByteBuffer}
+   * @return the value
+   */
+  private static long getVarint(final ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      final byte b = buffer.get();
+      value |= (b & 0x7FL) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("malformed varint");
+  }
+
+  /**
+   * returns the number of bytes of the unsigned variable-length integer .
+   *
+   * @param value the value
+   * @return the number of bytes
+   */
+  static int sizeOfVarint(final long value) {
+    return value == 0 ? 1 : (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7;
+  }
+
+  /**
+   * maps a signed value to an unsigned value, so that a small absolute value has a short encoding .
+   *
+   * @param value the value
+   * @return the unsigned value
+   */
+  static long zigzag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /**
+   * the inverse of {@link #zigzag(long)} .
+   *
+   * @param value the unsigned value
+   * @return the value
+   */
+  static long unzigzag(final long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import jp.furplag.time.Julian;
+
+/**
+ * the days of east asian Lunisolar calendar system, represented by parallel primitive arrays .
+ *
+ * <p>
+ * the arrays are not copied, so that a caller should not modify those .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class LunisolarColumns {
+
+  /** millis from epoch . */
+  final long[] epochMillis;
+
+  /** the year in AD.(BC.) . */
+  final int[] years;
+
+  /** month of year . */
+  final int[] monthsOfYear;
+
+  /** day of month . */
+  final int[] daysOfMonth;
+
+  /** leap month . */
+  final boolean[] intercalaries;
+
+  /**
+   * calculate lunisolar calendar of each instant .
+   *
+   * @param epochMillis millis from epoch, preferably sorted in ascending order
+   * @return {@link LunisolarColumns}
+   */
+  public static LunisolarColumns ofEpochMillis(final @lombok.NonNull long... epochMillis) {
+    final LunisolarColumns columns = new LunisolarColumns(epochMillis);
+    final MonthCursor cursor = new MonthCursor();
+    for (int i = 0; i < epochMillis.length; i++) {
+      columns.daysOfMonth[i] = (int) cursor.seek(Julian.ofEpochMilli(epochMillis[i]));
+      columns.years[i] = cursor.year;
+      columns.monthsOfYear[i] = cursor.monthOfYear;
+      columns.intercalaries[i] = cursor.intercalary;
+    }
+
+    return columns;
+  }
+
+  /**
+   *
+   * @param epochMillis millis from epoch
+   */
+  private LunisolarColumns(long[] epochMillis) {
+    this.epochMillis = epochMillis;
+    years = new int[epochMillis.length];
+    monthsOfYear = new int[epochMillis.length];
+    daysOfMonth = new int[epochMillis.length];
+    intercalaries = new boolean[epochMillis.length];
+  }
+
+  /**
+   * returns the number of days .
+   *
+   * @return the number of days
+   */
+  public int size() {
+    return epochMillis.length;
+  }
+
+  /**
+   * returns millis from epoch of each day .
+   *
+   * @return millis from epoch
+   */
+  public long[] getEpochMillis() {
+    return epochMillis;
+  }
+
+  /**
+   * returns the year of each day .
+   *
+   * @return the year in AD.(BC.)
+   */
+  public int[] getYears() {
+    return years;
+  }
+
+  /**
+   * returns the month of year of each day .
+   *
+   * @return month of year
+   */
+  public int[] getMonthsOfYear() {
+    return monthsOfYear;
+  }
+
+  /**
+   * returns the day of month of each day .
+   *
+   * @return day of month
+   */
+  public int[] getDaysOfMonth() {
+    return daysOfMonth;
+  }
+
+  /**
+   * returns true if the month of the day is a leap month .
+   *
+   * @return leap month
+   */
+  public boolean[] getIntercalaries() {
+    return intercalaries;
+  }
+}
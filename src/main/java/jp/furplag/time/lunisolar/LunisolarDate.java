@@ -16,8 +16,8 @@
 
 package jp.furplag.time.lunisolar;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import jp.furplag.time.Julian;
 import jp.furplag.time.JulianDayNumber;
@@ -31,6 +31,9 @@ import jp.furplag.time.Millis;
  */
 public class LunisolarDate {
 
+  /** JDN of 1970-01-01 . */
+  private static final long julianDayNumberOfEpoch = 2440588L;
+
   /** AJD . */
   final double julianDate;
 
@@ -55,12 +58,21 @@ public class LunisolarDate {
   /** leap month . */
   final boolean intercalary;
 
-  /** meant &quot;十干&quot; . */
+  /** meant &quot;十干&quot; of the year . */
   final int heavenlyStem;
 
-  /** meant &quot;十二支&quot; . */
+  /** meant &quot;十二支&quot; of the year . */
   final int earthlyBranch;
 
+  /** the ordinal of the year in the sexagenary cycle (&quot;干支&quot;) . */
+  final int cycleOfYear;
+
+  /** the ordinal of the month counted from pre climates (&quot;節月&quot;) in the sexagenary cycle . */
+  final int cycleOfMonth;
+
+  /** the ordinal of the day in the sexagenary cycle . */
+  final int cycleOfDay;
+
   /**
    * calculate lunisolar calendar .
    *
@@ -81,28 +93,170 @@ public class LunisolarDate {
     return new LunisolarDate(Julian.ofEpochMilli(epochMilli));
   }
 
+  /**
+   * calculate lunisolar calendar in specified calendar .
+   *
+   * @param julianDate astronomical julian date
+   * @param lunisolarSystem {@link LunisolarSystem}
+   * @return {@link LunisolarDate}
+   */
+  public static final LunisolarDate ofJulian(final double julianDate, final @lombok.NonNull LunisolarSystem lunisolarSystem) {
+    return new LunisolarDate(julianDate, new MonthCursor(lunisolarSystem));
+  }
+
+  /**
+   * calculate lunisolar calendar in specified calendar .
+   *
+   * @param epochMilli millis from epoch
+   * @param lunisolarSystem {@link LunisolarSystem}
+   * @return {@link LunisolarDate}
+   */
+  public static final LunisolarDate ofEpochMilli(final long epochMilli, final @lombok.NonNull LunisolarSystem lunisolarSystem) {
+    return ofJulian(Julian.ofEpochMilli(epochMilli), lunisolarSystem);
+  }
+
+  /**
+   * calculate lunisolar calendar in specified calendar system, such as a tabulated one .
+   *
+   * @param julianDate astronomical julian date
+   * @param lunisolar {@link Lunisolar} calendar system, which converts any period
+   * @return {@link LunisolarDate}
+   */
+  public static final LunisolarDate ofJulian(final double julianDate, final @lombok.NonNull Lunisolar lunisolar) {
+    return new LunisolarDate(julianDate, new MonthCursor(lunisolar));
+  }
+
+  /**
+   * calculate lunisolar calendar in specified calendar system, such as a tabulated one .
+   *
+   * @param epochMilli millis from epoch
+   * @param lunisolar {@link Lunisolar} calendar system, which converts any period
+   * @return {@link LunisolarDate}
+   */
+  public static final LunisolarDate ofEpochMilli(final long epochMilli, final @lombok.NonNull Lunisolar lunisolar) {
+    return ofJulian(Julian.ofEpochMilli(epochMilli), lunisolar);
+  }
+
+  /**
+   * calculate lunisolar calendar of each instant .
+   *
+   * <p>
+   * the calendar of a year is computed (or looked up) once for all instants in that year,
+   * and the months are walked in step with the instants, if those are sorted in ascending order .
+   * </p>
+   *
+   * @param epochMillis millis from epoch, preferably sorted in ascending order
+   * @return {@link LunisolarDate} of each instant
+   */
+  public static final LunisolarDate[] ofEpochMillis(final @lombok.NonNull long... epochMillis) {
+    return ofEpochMillis(LunisolarSystem.JAPANESE, epochMillis);
+  }
+
+  /**
+   * calculate lunisolar calendar of each instant in specified calendar .
+   *
+   * @param lunisolarSystem {@link LunisolarSystem}
+   * @param epochMillis millis from epoch, preferably sorted in ascending order
+   * @return {@link LunisolarDate} of each instant
+   * @see #ofEpochMillis(long...)
+   */
+  public static final LunisolarDate[] ofEpochMillis(final @lombok.NonNull LunisolarSystem lunisolarSystem, final @lombok.NonNull long... epochMillis) {
+    final MonthCursor cursor = new MonthCursor(lunisolarSystem);
+    final LunisolarDate[] lunisolarDates = new LunisolarDate[epochMillis.length];
+    for (int i = 0; i < epochMillis.length; i++) {
+      lunisolarDates[i] = new LunisolarDate(Julian.ofEpochMilli(epochMillis[i]), cursor);
+    }
+
+    return lunisolarDates;
+  }
+
+  /**
+   * calculate lunisolar calendar of each instant lazily .
+   *
+   * <p>
+   * the stream is processed sequentially, and the months are walked in step with the instants, if those are sorted in ascending order .
+   * </p>
+   *
+   * @param epochMillis millis from epoch, preferably sorted in ascending order
+   * @return the stream of {@link LunisolarDate}
+   */
+  public static final Stream<LunisolarDate> ofEpochMillis(final @lombok.NonNull LongStream epochMillis) {
+    final MonthCursor cursor = new MonthCursor();
+
+    return epochMillis.sequential().mapToObj(epochMilli -> new LunisolarDate(Julian.ofEpochMilli(epochMilli), cursor));
+  }
+
+  /**
+   * fills the ordinals in the sexagenary cycle (&quot;干支&quot;) of consecutive days .
+   *
+   * <p>
+   * the calendar of a year is computed (or looked up) once for all days in that year, and no object is created for each day .
+   * </p>
+   *
+   * @param epochMilli an instant in the first day
+   * @param cyclesOfYear the array to fill with the ordinal of the year
+   * @param cyclesOfMonth the array to fill with the ordinal of the month counted from pre climates (&quot;節月&quot;)
+   * @param cyclesOfDay the array to fill with the ordinal of the day
+   * @throws IllegalArgumentException if the lengths of the arrays differ
+   */
+  public static final void sexagenaryCyclesOf(final long epochMilli, final @lombok.NonNull int[] cyclesOfYear, final @lombok.NonNull int[] cyclesOfMonth, final @lombok.NonNull int[] cyclesOfDay) {
+    sexagenaryCyclesOf(new MonthCursor(), epochMilli, cyclesOfYear, cyclesOfMonth, cyclesOfDay);
+  }
+
+  /**
+   * fills the ordinals in the sexagenary cycle (&quot;干支&quot;) of consecutive days, walking months by specified cursor .
+   *
+   * @param cursor {@link MonthCursor}
+   * @param epochMilli an instant in the first day
+   * @param cyclesOfYear the array to fill with the ordinal of the year
+   * @param cyclesOfMonth the array to fill with the ordinal of the month counted from pre climates (&quot;節月&quot;)
+   * @param cyclesOfDay the array to fill with the ordinal of the day
+   * @throws IllegalArgumentException if the lengths of the arrays differ
+   */
+  static void sexagenaryCyclesOf(final MonthCursor cursor, final long epochMilli, final int[] cyclesOfYear, final int[] cyclesOfMonth, final int[] cyclesOfDay) {
+    if (cyclesOfYear.length != cyclesOfMonth.length || cyclesOfYear.length != cyclesOfDay.length) {
+      throw new IllegalArgumentException(String.format("the lengths of the arrays must be the same: %d, %d, %d", cyclesOfYear.length, cyclesOfMonth.length, cyclesOfDay.length));
+    }
+    for (int i = 0; i < cyclesOfYear.length; i++) {
+      cursor.seek(Julian.ofEpochMilli(epochMilli + i * EpochDays.millisOfDay));
+      cyclesOfYear[i] = Sexagenary.ofYear(cursor.year);
+      cyclesOfMonth[i] = cursor.cycleOfMonth();
+      cyclesOfDay[i] = Sexagenary.ofDay(cursor.epochDay + julianDayNumberOfEpoch);
+    }
+  }
+
   /**
    *
    * @param julianDate astronomical julian date
    */
   private LunisolarDate(double julianDate) {
+    this(julianDate, new MonthCursor());
+  }
+
+  /**
+   *
+   * @param julianDate astronomical julian date
+   * @param cursor {@link MonthCursor} which moves to the month of the instant
+   */
+  LunisolarDate(double julianDate, MonthCursor cursor) {
+    final LunisolarEvents.Resolution event = LunisolarEvents.Resolution.beginIfEnabled();
     this.julianDate = julianDate;
     julianDayNumber = JulianDayNumber.ofJulian(julianDate);
     epochMilli = Millis.ofJulian(julianDate);
-    Lunisolar lunisolar = Lunisolar.ofJulian(julianDate);
-    LunisolarCalendar lunisolarCalendar = new LunisolarCalendar(lunisolar, julianDate);
-    if (!lunisolarCalendar.rangeOfYear.isValidValue(lunisolar.asStartOfDay(julianDate))) {
-      lunisolarCalendar = new LunisolarCalendar(lunisolar, lunisolar.plusMonth(julianDate, -2.1));
-    }
-    LunarMonth month = lunisolarCalendar.monthsOfYear.stream().filter(e -> e.range.isValidValue(lunisolar.asStartOfDay(julianDate))).findFirst().orElse(null);
-    year = lunisolar.atOffset(Instant.ofEpochMilli(lunisolarCalendar.monthsOfYear.stream().filter(e -> e.november).findAny().orElse(null).range.getMinimum())).getYear();
-    monthOfYear = month.monthOfYear;
-    dayOfMonth = Duration.between(Instant.ofEpochMilli(month.range.getMinimum()), Instant.ofEpochMilli(lunisolar.asStartOfDay(julianDate))).toDays() + 1;
-    intercalary = month.intercalary;
+    dayOfMonth = cursor.seek(julianDate);
+    year = cursor.year;
+    monthOfYear = cursor.monthOfYear;
+    intercalary = cursor.intercalary;
 
     yearOfEra = (int) year;
-    heavenlyStem = 0;
-    earthlyBranch = 0;
+    cycleOfYear = Sexagenary.ofYear(year);
+    cycleOfMonth = cursor.cycleOfMonth();
+    cycleOfDay = Sexagenary.ofDay(cursor.epochDay + julianDayNumberOfEpoch);
+    heavenlyStem = Sexagenary.heavenlyStemOf(cycleOfYear);
+    earthlyBranch = Sexagenary.earthlyBranchOf(cycleOfYear);
+    if (event != null) {
+      event.report(cursor.lunisolarSystem(), this);
+    }
   }
 
   /**
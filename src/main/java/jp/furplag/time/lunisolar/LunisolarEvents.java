@@ -0,0 +1,284 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * the events of JDK Flight Recorder, which record calculations of the calendar .
+ *
+ * <p>
+ * an event is allocated and begins before the calculation only if a recording enables the type of that,
+ * and fills the fields only if the recording should commit it,
+ * so that the events cost only a check of the flag while not recording, and the solvers allocate nothing .
+ * the callers skip reporting if no event began .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+final class LunisolarEvents {
+
+  /** the category of the events . */
+  private static final String category = "Lunisolar";
+
+  /**
+   * LunisolarEvents instances should NOT be constructed in standard programming .
+   */
+  private LunisolarEvents() {}
+
+  /**
+   * a solution of an instant by {@link Solver} .
+   */
+  @Name("jp.furplag.time.lunisolar.Solution")
+  @Label("Solution")
+  @Category(category)
+  @Description("solves an instant of a solar term or a new moon")
+  @StackTrace(false)
+  static final class Solution extends Event {
+
+    /** the type of this event, which tells if recording without an instance . */
+    private static final EventType type = EventType.getEventType(Solution.class);
+
+    /**
+     * returns an event which began, only if a recording enables this type .
+     *
+     * @return {@link Solution}, or null if not recording
+     */
+    static Solution beginIfEnabled() {
+      if (!type.isEnabled()) {
+        return null;
+      }
+      final Solution event = new Solution();
+      event.begin();
+
+      return event;
+    }
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Target")
+    String target;
+
+    @Label("Julian Date")
+    @Description("the instant which the solution seeded from")
+    double julianDate;
+
+    @Label("Iterations")
+    int iterations;
+
+    @Label("Converged")
+    @Description("false if the solution fell back to the best result")
+    boolean converged;
+
+    /**
+     * commits this event, if the recording should .
+     *
+     * @param solver {@link Solver}
+     * @param target {@link LunisolarMetrics.Target}
+     * @param julianDate the instant which the solution seeded from
+     * @param iterations the number of calculations of ecliptic longitude
+     * @param converged false if the solution fell back to the best result
+     */
+    void report(final Solver solver, final LunisolarMetrics.Target target, final double julianDate, final int iterations, final boolean converged) {
+      if (shouldCommit()) {
+        this.solver = solver.name();
+        this.target = target.name();
+        this.julianDate = julianDate;
+        this.iterations = iterations;
+        this.converged = converged;
+        commit();
+      }
+    }
+  }
+
+  /**
+   * a construction of {@link LunisolarCalendar} .
+   */
+  @Name("jp.furplag.time.lunisolar.Calendar")
+  @Label("Calendar Construction")
+  @Category(category)
+  @Description("constructs the calendar of a year")
+  static final class Construction extends Event {
+
+    /** the type of this event, which tells if recording without an instance . */
+    private static final EventType type = EventType.getEventType(Construction.class);
+
+    /**
+     * returns an event which began, only if a recording enables this type .
+     *
+     * @return {@link Construction}, or null if not recording
+     */
+    static Construction beginIfEnabled() {
+      if (!type.isEnabled()) {
+        return null;
+      }
+      final Construction event = new Construction();
+      event.begin();
+
+      return event;
+    }
+
+    @Label("Zone Offset")
+    String zoneOffset;
+
+    @Label("Julian Date")
+    double julianDate;
+
+    @Label("Year")
+    int year;
+
+    @Label("Months")
+    int months;
+
+    /**
+     * commits this event, if the recording should .
+     *
+     * @param calendar {@link LunisolarCalendar}
+     * @param julianDate the instant which the calendar constructed from
+     */
+    void report(final LunisolarCalendar calendar, final double julianDate) {
+      if (shouldCommit()) {
+        zoneOffset = calendar.lunisolar.zoneOffset.getId();
+        this.julianDate = julianDate;
+        year = calendar.year;
+        months = calendar.lunarMonths.size();
+        commit();
+      }
+    }
+  }
+
+  /**
+   * a lookup of {@link CalendarCache}, which contains the construction if missed .
+   */
+  @Name("jp.furplag.time.lunisolar.CalendarLookup")
+  @Label("Calendar Lookup")
+  @Category(category)
+  @Description("looks up the calendar of a year, and constructs it if missed")
+  @StackTrace(false)
+  static final class Lookup extends Event {
+
+    /** the type of this event, which tells if recording without an instance . */
+    private static final EventType type = EventType.getEventType(Lookup.class);
+
+    /**
+     * returns an event which began, only if a recording enables this type .
+     *
+     * @return {@link Lookup}, or null if not recording
+     */
+    static Lookup beginIfEnabled() {
+      if (!type.isEnabled()) {
+        return null;
+      }
+      final Lookup event = new Lookup();
+      event.begin();
+
+      return event;
+    }
+
+    @Label("Zone Offset")
+    String zoneOffset;
+
+    @Label("Julian Date")
+    double julianDate;
+
+    @Label("Year of Solstice")
+    int yearOfSolstice;
+
+    @Label("Hit")
+    boolean hit;
+
+    /**
+     * commits this event, if the recording should .
+     *
+     * @param lunisolar {@link Lunisolar}
+     * @param yearOfSolstice the year of winter solstice
+     * @param julianDate the instant which looked up
+     * @param hit true if the cache had the calendar
+     */
+    void report(final Lunisolar lunisolar, final int yearOfSolstice, final double julianDate, final boolean hit) {
+      if (shouldCommit()) {
+        zoneOffset = lunisolar.zoneOffset.getId();
+        this.yearOfSolstice = yearOfSolstice;
+        this.julianDate = julianDate;
+        this.hit = hit;
+        commit();
+      }
+    }
+  }
+
+  /**
+   * a resolution of {@link LunisolarDate}, recorded only if slow by default .
+   */
+  @Name("jp.furplag.time.lunisolar.Date")
+  @Label("Date Resolution")
+  @Category(category)
+  @Description("resolves the fields of the day of an instant")
+  @Threshold("1 ms")
+  static final class Resolution extends Event {
+
+    /** the type of this event, which tells if recording without an instance . */
+    private static final EventType type = EventType.getEventType(Resolution.class);
+
+    /**
+     * returns an event which began, only if a recording enables this type .
+     *
+     * @return {@link Resolution}, or null if not recording
+     */
+    static Resolution beginIfEnabled() {
+      if (!type.isEnabled()) {
+        return null;
+      }
+      final Resolution event = new Resolution();
+      event.begin();
+
+      return event;
+    }
+
+    @Label("Lunisolar System")
+    String lunisolarSystem;
+
+    @Label("Julian Date")
+    double julianDate;
+
+    @Label("Date")
+    String date;
+
+    /**
+     * commits this event, if the recording should .
+     *
+     * @param lunisolarSystem {@link LunisolarSystem}, or null if resolved in a calendar system
+     * @param lunisolarDate {@link LunisolarDate}
+     */
+    void report(final LunisolarSystem lunisolarSystem, final LunisolarDate lunisolarDate) {
+      if (shouldCommit()) {
+        this.lunisolarSystem = lunisolarSystem == null ? null : lunisolarSystem.name();
+        julianDate = lunisolarDate.julianDate;
+        date = lunisolarDate.toString();
+        commit();
+      }
+    }
+  }
+}
@@ -0,0 +1,508 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.io.Serializable;
+import java.time.DateTimeException;
+import java.time.chrono.ChronoLocalDate;
+import java.time.chrono.ChronoPeriod;
+import java.time.chrono.IsoEra;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.temporal.ValueRange;
+
+/**
+ * a date in {@link LunisolarChronology} .
+ *
+ * <p>
+ * each field is resolved once on construction from the cached calendar of the year, so that any field access costs no calculation .
+ * arithmetic of days and weeks is based on the epoch day, and that of months and years walks the calendars of the years .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class LunisolarLocalDate implements ChronoLocalDate, Serializable {
+
+  /** serialVersionUID . */
+  private static final long serialVersionUID = 1L;
+
+  /** epoch day . */
+  private final long epochDay;
+
+  /** the year . */
+  private final int year;
+
+  /** the ordinal of the month in the year, starts with 0 . */
+  private final int monthIndex;
+
+  /** the number of the month . */
+  private final int monthOfYear;
+
+  /** meant &quot;閏月&quot; . */
+  private final boolean intercalary;
+
+  /** day of month . */
+  private final int dayOfMonth;
+
+  /** day of year . */
+  private final int dayOfYear;
+
+  /** the number of days in the month . */
+  private final int lengthOfMonth;
+
+  /** the number of days in the year . */
+  private final int lengthOfYear;
+
+  /** the number of months in the year . */
+  private final int monthsOfYear;
+
+  /**
+   *
+   * @param calendar {@link LunisolarCalendar} of the year
+   * @param monthIndex the ordinal of the month in the year, starts with 0
+   * @param epochDay epoch day
+   */
+  LunisolarLocalDate(LunisolarCalendar calendar, int monthIndex, long epochDay) {
+    final LunarMonths lunarMonths = calendar.lunarMonths;
+    this.epochDay = epochDay;
+    this.monthIndex = monthIndex;
+    year = calendar.year;
+    monthOfYear = lunarMonths.monthOfYear(monthIndex);
+    intercalary = lunarMonths.is(monthIndex, LunarMonths.intercalary);
+    dayOfMonth = (int) (epochDay - lunarMonths.firstDays[monthIndex]) + 1;
+    dayOfYear = (int) (epochDay - lunarMonths.firstDays[0]) + 1;
+    lengthOfMonth = lunarMonths.lastDays[monthIndex] - lunarMonths.firstDays[monthIndex] + 1;
+    lengthOfYear = lunarMonths.lastDays[lunarMonths.size() - 1] - lunarMonths.firstDays[0] + 1;
+    monthsOfYear = lunarMonths.size();
+  }
+
+  /**
+   * returns the date of specified epoch day .
+   *
+   * @param epochDay epoch day
+   * @return {@link LunisolarLocalDate}
+   */
+  public static LunisolarLocalDate ofEpochDay(final long epochDay) {
+    return LunisolarChronology.INSTANCE.dateEpochDay(epochDay);
+  }
+
+  /**
+   * returns the date from the year, the traditional number of the month, and the day of month .
+   *
+   * @param year the year
+   * @param monthOfYear the number of the month, 1 to 12
+   * @param intercalary true if the month is a leap month
+   * @param dayOfMonth day of month
+   * @return {@link LunisolarLocalDate}
+   * @throws DateTimeException if the date does not exist
+   */
+  public static LunisolarLocalDate of(final int year, final int monthOfYear, final boolean intercalary, final int dayOfMonth) {
+    return LunisolarChronology.INSTANCE.date(year, monthOfYear, intercalary, dayOfMonth);
+  }
+
+  /**
+   * returns the number of the month, which a leap month shares with the previous month .
+   *
+   * @return the number of the month, 1 to 12
+   */
+  public int getMonthOfYear() {
+    return monthOfYear;
+  }
+
+  /**
+   * returns true if the month is a leap month .
+   *
+   * @return true if the month is a leap month
+   */
+  public boolean isIntercalary() {
+    return intercalary;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarChronology getChronology() {
+    return LunisolarChronology.INSTANCE;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public IsoEra getEra() {
+    return year > 0 ? IsoEra.CE : IsoEra.BCE;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int lengthOfMonth() {
+    return lengthOfMonth;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int lengthOfYear() {
+    return lengthOfYear;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isLeapYear() {
+    return monthsOfYear > 12;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long toEpochDay() {
+    return epochDay;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isSupported(final TemporalField field) {
+    return field instanceof ChronoField ? field.isDateBased() && field != ChronoField.PROLEPTIC_MONTH : field != null && field.isSupportedBy(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isSupported(final TemporalUnit unit) {
+    return unit instanceof ChronoUnit ? unit.isDateBased() && unit != ChronoUnit.ERAS : unit != null && unit.isSupportedBy(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValueRange range(final TemporalField field) {
+    if (!(field instanceof ChronoField)) {
+      return field.rangeRefinedBy(this);
+    } else if (!isSupported(field)) {
+      throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+    }
+    switch ((ChronoField) field) {
+      case DAY_OF_MONTH:
+        return ValueRange.of(1, lengthOfMonth);
+      case DAY_OF_YEAR:
+        return ValueRange.of(1, lengthOfYear);
+      case MONTH_OF_YEAR:
+        return ValueRange.of(1, monthsOfYear);
+      case ALIGNED_WEEK_OF_MONTH:
+        return ValueRange.of(1, (lengthOfMonth + 6) / 7);
+      case ALIGNED_WEEK_OF_YEAR:
+        return ValueRange.of(1, (lengthOfYear + 6) / 7);
+      default:
+        return getChronology().range((ChronoField) field);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getLong(final TemporalField field) {
+    if (!(field instanceof ChronoField)) {
+      return field.getFrom(this);
+    }
+    switch ((ChronoField) field) {
+      case DAY_OF_WEEK:
+        return Math.floorMod(epochDay + 3, 7) + 1;
+      case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+        return (dayOfMonth - 1) % 7 + 1;
+      case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+        return (dayOfYear - 1) % 7 + 1;
+      case DAY_OF_MONTH:
+        return dayOfMonth;
+      case DAY_OF_YEAR:
+        return dayOfYear;
+      case EPOCH_DAY:
+        return epochDay;
+      case ALIGNED_WEEK_OF_MONTH:
+        return (dayOfMonth - 1) / 7 + 1;
+      case ALIGNED_WEEK_OF_YEAR:
+        return (dayOfYear - 1) / 7 + 1;
+      case MONTH_OF_YEAR:
+        return monthIndex + 1;
+      case YEAR_OF_ERA:
+        return year > 0 ? year : 1 - year;
+      case YEAR:
+        return year;
+      case ERA:
+        return getEra().getValue();
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate with(final TemporalField field, final long newValue) {
+    if (!(field instanceof ChronoField)) {
+      return getChronology().date(field.adjustInto(this, newValue));
+    }
+    final ChronoField chronoField = (ChronoField) field;
+    range(chronoField).checkValidValue(newValue, chronoField);
+    switch (chronoField) {
+      case DAY_OF_WEEK:
+      case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+      case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+      case DAY_OF_MONTH:
+      case DAY_OF_YEAR:
+      case EPOCH_DAY:
+        return plusDays(newValue - getLong(chronoField));
+      case ALIGNED_WEEK_OF_MONTH:
+      case ALIGNED_WEEK_OF_YEAR:
+        return plusDays((newValue - getLong(chronoField)) * 7);
+      case MONTH_OF_YEAR:
+        return resolve(getChronology().calendarOfYear(year), (int) newValue - 1, dayOfMonth);
+      case YEAR_OF_ERA:
+        return plusYears((year > 0 ? newValue : 1 - newValue) - year);
+      case YEAR:
+        return plusYears(newValue - year);
+      case ERA:
+        return getLong(ChronoField.ERA) == newValue ? this : plusYears(1 - year - year);
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate plus(final long amountToAdd, final TemporalUnit unit) {
+    if (!(unit instanceof ChronoUnit)) {
+      return getChronology().date(unit.addTo(this, amountToAdd));
+    }
+    switch ((ChronoUnit) unit) {
+      case DAYS:
+        return plusDays(amountToAdd);
+      case WEEKS:
+        return plusDays(Math.multiplyExact(amountToAdd, 7));
+      case MONTHS:
+        return plusMonths(amountToAdd);
+      case YEARS:
+        return plusYears(amountToAdd);
+      case DECADES:
+        return plusYears(Math.multiplyExact(amountToAdd, 10));
+      case CENTURIES:
+        return plusYears(Math.multiplyExact(amountToAdd, 100));
+      case MILLENNIA:
+        return plusYears(Math.multiplyExact(amountToAdd, 1000));
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LunisolarLocalDate minus(final long amountToSubtract, final TemporalUnit unit) {
+    return amountToSubtract == Long.MIN_VALUE ? plus(Long.MAX_VALUE, unit).plus(1, unit) : plus(-amountToSubtract, unit);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long until(final Temporal endExclusive, final TemporalUnit unit) {
+    final LunisolarLocalDate end = getChronology().date(endExclusive);
+    if (!(unit instanceof ChronoUnit)) {
+      return unit.between(this, end);
+    }
+    switch ((ChronoUnit) unit) {
+      case DAYS:
+        return end.epochDay - epochDay;
+      case WEEKS:
+        return (end.epochDay - epochDay) / 7;
+      case MONTHS:
+        return monthsUntil(end);
+      case YEARS:
+        return yearsUntil(end);
+      case DECADES:
+        return yearsUntil(end) / 10;
+      case CENTURIES:
+        return yearsUntil(end) / 100;
+      case MILLENNIA:
+        return yearsUntil(end) / 1000;
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ChronoPeriod until(final ChronoLocalDate endDateExclusive) {
+    final LunisolarLocalDate end = getChronology().date(endDateExclusive);
+    final long years = yearsUntil(end);
+    final LunisolarLocalDate middle = plusYears(years);
+    final long months = middle.monthsUntil(end);
+
+    return getChronology().period(Math.toIntExact(years), Math.toIntExact(months), Math.toIntExact(end.epochDay - middle.plusMonths(months).epochDay));
+  }
+
+  /**
+   * returns a copy of this date with the specified number of days added .
+   *
+   * @param days the days to add, may be negative
+   * @return {@link LunisolarLocalDate}
+   */
+  private LunisolarLocalDate plusDays(final long days) {
+    return days == 0 ? this : getChronology().dateEpochDay(Math.addExact(epochDay, days));
+  }
+
+  /**
+   * returns a copy of this date with the specified number of months added, the day of month clamped to the length of the month .
+   *
+   * @param months the months to add, may be negative
+   * @return {@link LunisolarLocalDate}
+   */
+  private LunisolarLocalDate plusMonths(final long months) {
+    if (months == 0) {
+      return this;
+    }
+    final LunisolarChronology chronology = getChronology();
+    int year = this.year;
+    LunisolarCalendar calendar = chronology.calendarOfYear(year);
+    long index = monthIndex + months;
+    while (index < 0) {
+      calendar = chronology.calendarOfYear(--year);
+      index += calendar.lunarMonths.size();
+    }
+    while (index >= calendar.lunarMonths.size()) {
+      index -= calendar.lunarMonths.size();
+      calendar = chronology.calendarOfYear(++year);
+    }
+
+    return resolve(calendar, (int) index, dayOfMonth);
+  }
+
+  /**
+   * returns a copy of this date with the specified number of years added .
+   *
+   * <p>
+   * the month of the same number in the year, or the month of the same number but not leap if the year does not have the leap month .
+   * the day of month clamped to the length of the month .
+   * </p>
+   *
+   * @param years the years to add, may be negative
+   * @return {@link LunisolarLocalDate}
+   */
+  private LunisolarLocalDate plusYears(final long years) {
+    if (years == 0) {
+      return this;
+    }
+    final LunisolarCalendar calendar = getChronology().calendarOfYear(Math.toIntExact(Math.addExact(year, years)));
+    final int index = calendar.lunarMonths.indexOf(monthOfYear, intercalary);
+
+    return resolve(calendar, index < 0 ? calendar.lunarMonths.indexOf(monthOfYear, false) : index, dayOfMonth);
+  }
+
+  /**
+   * returns the number of whole months until the specified date .
+   *
+   * @param end the end date, exclusive
+   * @return the number of months
+   */
+  private long monthsUntil(final LunisolarLocalDate end) {
+    // the first days of the months differ from the mean lunations by a day or two at most .
+    final long months = Math.round(((end.epochDay - end.dayOfMonth) - (epochDay - dayOfMonth)) / getChronology().lunisolar().daysOfMonth);
+
+    return months > 0 && end.dayOfMonth < dayOfMonth ? months - 1 : months < 0 && end.dayOfMonth > dayOfMonth ? months + 1 : months;
+  }
+
+  /**
+   * returns the number of whole years until the specified date .
+   *
+   * @param end the end date, exclusive
+   * @return the number of years
+   */
+  private long yearsUntil(final LunisolarLocalDate end) {
+    final long years = end.year - year;
+    final long position = ((monthOfYear * 2L + (intercalary ? 1 : 0)) << 5) + dayOfMonth;
+    final long positionOfEnd = ((end.monthOfYear * 2L + (end.intercalary ? 1 : 0)) << 5) + end.dayOfMonth;
+
+    return years > 0 && positionOfEnd < position ? years - 1 : years < 0 && positionOfEnd > position ? years + 1 : years;
+  }
+
+  /**
+   * returns the day in the month of the calendar, the day of month clamped to the length of the month .
+   *
+   * @param calendar {@link LunisolarCalendar}
+   * @param index the ordinal of the month in the year, starts with 0
+   * @param dayOfMonth day of month
+   * @return {@link LunisolarLocalDate}
+   */
+  private static LunisolarLocalDate resolve(final LunisolarCalendar calendar, final int index, final int dayOfMonth) {
+    final LunarMonths lunarMonths = calendar.lunarMonths;
+
+    return new LunisolarLocalDate(calendar, index, Math.min(lunarMonths.firstDays[index] + dayOfMonth - 1L, lunarMonths.lastDays[index]));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(final Object obj) {
+    return this == obj || (obj instanceof LunisolarLocalDate && epochDay == ((LunisolarLocalDate) obj).epochDay);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return getChronology().getId().hashCode() ^ Long.hashCode(epochDay);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return new StringBuilder()
+      .append(getChronology().getId()).append(' ')
+      .append(year)
+      .append("年")
+      .append(intercalary ? "閏" : "").append(monthOfYear).append("月")
+      .append(dayOfMonth).append("日")
+      .toString()
+      ;
+  }
+}
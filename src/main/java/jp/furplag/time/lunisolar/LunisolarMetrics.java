@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+/**
+ * receives the measurements of a {@link Lunisolar} calendar system, does nothing by default .
+ *
+ * <p>
+ * the methods are called in the thread which calculates, so that those should be cheap and thread safe .
+ * a solution is reported only if the instant has not been solved yet, because the instants are shared through the tables .
+ * the stages are timed only if {@link #isEnabled()} returns true .
+ * the lookups of the calendars are counted by {@link CalendarCache} itself .
+ * </p>
+ *
+ * @author furplag
+ *
+ * @see LunisolarStatistics
+ */
+public interface LunisolarMetrics {
+
+  /** the instants which {@link Solver} calculates . */
+  enum Target {
+    /** the instant of a solar term, calculated by {@link Solver#closestTerm(Lunisolar, double, double)} . */
+    SOLAR_TERM,
+    /** the instant of a new moon, calculated by {@link Solver#latestNewMoon(Lunisolar, double)} . */
+    NEW_MOON;
+  }
+
+  /** the stages of constructing a {@link LunisolarCalendar} . */
+  enum Stage {
+    /** computes the solar terms of the calendar . */
+    SOLAR_TERMS,
+    /** computes the first days of the months from the new moons . */
+    FIRST_DAYS,
+    /** numbers the months, and detects the leap month . */
+    MONTHS;
+  }
+
+  /** does nothing . */
+  LunisolarMetrics NOOP = new LunisolarMetrics() {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+  };
+
+  /**
+   * returns true if the calendar system should measure the latency of stages .
+   *
+   * @return true if enabled
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * receives the result of a solution .
+   *
+   * @param target {@link Target}
+   * @param iterations the number of calculations of ecliptic longitude
+   * @param converged false if the solution reached the limitation of calculates, and then fell back to the best result
+   */
+  default void solved(Target target, int iterations, boolean converged) {}
+
+  /**
+   * receives the latency of a stage .
+   *
+   * @param stage {@link Stage}
+   * @param nanos the latency in nanoseconds
+   */
+  default void staged(Stage stage, long nanos) {}
+}
@@ -0,0 +1,308 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link LunisolarMetrics} which counts the measurements with {@link LongAdder} .
+ *
+ * <p>
+ * an instance may be shared by the calendar systems, e.g. all periods of a {@link LunisolarSystem},
+ * and may be registered to an MBean server as {@link LunisolarStatisticsMXBean} .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class LunisolarStatistics implements LunisolarMetrics, LunisolarStatisticsMXBean {
+
+  /** the number of buckets of a histogram of iterations, up to 128 . */
+  static final int bucketsOfIterations = 9;
+
+  /** the number of buckets of a histogram of latencies, up to about 18 minutes . */
+  static final int bucketsOfNanos = 41;
+
+  /** the number of solutions of each target . */
+  private final LongAdder[] solutions = newAdders(LunisolarMetrics.Target.values().length);
+
+  /** the number of fallbacks of each target . */
+  private final LongAdder[] fallbacks = newAdders(LunisolarMetrics.Target.values().length);
+
+  /** the sum of iterations of each target . */
+  private final LongAdder[] iterations = newAdders(LunisolarMetrics.Target.values().length);
+
+  /** the histogram of iterations of each target . */
+  private final LongAdder[][] iterationHistograms = Arrays.stream(LunisolarMetrics.Target.values()).map(t -> newAdders(bucketsOfIterations)).toArray(LongAdder[][]::new);
+
+  /** the number of measurements of each stage . */
+  private final LongAdder[] stages = newAdders(LunisolarMetrics.Stage.values().length);
+
+  /** the sum of latencies of each stage . */
+  private final LongAdder[] nanos = newAdders(LunisolarMetrics.Stage.values().length);
+
+  /** the histogram of latencies of each stage . */
+  private final LongAdder[][] nanoHistograms = Arrays.stream(LunisolarMetrics.Stage.values()).map(s -> newAdders(bucketsOfNanos)).toArray(LongAdder[][]::new);
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void solved(final LunisolarMetrics.Target target, final int iterations, final boolean converged) {
+    solutions[target.ordinal()].increment();
+    this.iterations[target.ordinal()].add(iterations);
+    iterationHistograms[target.ordinal()][bucketOf(iterations, bucketsOfIterations)].increment();
+    if (!converged) {
+      fallbacks[target.ordinal()].increment();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void staged(final LunisolarMetrics.Stage stage, final long nanos) {
+    stages[stage.ordinal()].increment();
+    this.nanos[stage.ordinal()].add(nanos);
+    nanoHistograms[stage.ordinal()][bucketOf(nanos, bucketsOfNanos)].increment();
+  }
+
+  /**
+   * returns the number of solutions .
+   *
+   * @param target {@link LunisolarMetrics.Target}
+   * @return the number of solutions
+   */
+  public long getSolutions(final @lombok.NonNull LunisolarMetrics.Target target) {
+    return solutions[target.ordinal()].sum();
+  }
+
+  /**
+   * returns the number of solutions which fell back to the best result .
+   *
+   * @param target {@link LunisolarMetrics.Target}
+   * @return the number of fallbacks
+   */
+  public long getFallbacks(final @lombok.NonNull LunisolarMetrics.Target target) {
+    return fallbacks[target.ordinal()].sum();
+  }
+
+  /**
+   * returns an average of calculations of a solution .
+   *
+   * @param target {@link LunisolarMetrics.Target}
+   * @return an average of iterations, or 0.0 if never solved
+   */
+  public double getAverageIterations(final @lombok.NonNull LunisolarMetrics.Target target) {
+    return average(iterations[target.ordinal()], solutions[target.ordinal()]);
+  }
+
+  /**
+   * returns the histogram of calculations of a solution .
+   *
+   * @param target {@link LunisolarMetrics.Target}
+   * @return the histogram of iterations
+   */
+  public long[] getIterationHistogram(final @lombok.NonNull LunisolarMetrics.Target target) {
+    return sums(iterationHistograms[target.ordinal()]);
+  }
+
+  /**
+   * returns the number of measurements of a stage .
+   *
+   * @param stage {@link LunisolarMetrics.Stage}
+   * @return the number of measurements
+   */
+  public long getCount(final @lombok.NonNull LunisolarMetrics.Stage stage) {
+    return stages[stage.ordinal()].sum();
+  }
+
+  /**
+   * returns an average latency of a stage .
+   *
+   * @param stage {@link LunisolarMetrics.Stage}
+   * @return an average latency in nanoseconds, or 0.0 if never measured
+   */
+  public double getAverageNanos(final @lombok.NonNull LunisolarMetrics.Stage stage) {
+    return average(nanos[stage.ordinal()], stages[stage.ordinal()]);
+  }
+
+  /**
+   * returns the histogram of latencies of a stage .
+   *
+   * @param stage {@link LunisolarMetrics.Stage}
+   * @return the histogram of latencies
+   */
+  public long[] getLatencyHistogram(final @lombok.NonNull LunisolarMetrics.Stage stage) {
+    return sums(nanoHistograms[stage.ordinal()]);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getSolarTermSolutions() {
+    return getSolutions(LunisolarMetrics.Target.SOLAR_TERM);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getSolarTermFallbacks() {
+    return getFallbacks(LunisolarMetrics.Target.SOLAR_TERM);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getSolarTermAverageIterations() {
+    return getAverageIterations(LunisolarMetrics.Target.SOLAR_TERM);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long[] getSolarTermIterationHistogram() {
+    return getIterationHistogram(LunisolarMetrics.Target.SOLAR_TERM);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getNewMoonSolutions() {
+    return getSolutions(LunisolarMetrics.Target.NEW_MOON);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getNewMoonFallbacks() {
+    return getFallbacks(LunisolarMetrics.Target.NEW_MOON);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getNewMoonAverageIterations() {
+    return getAverageIterations(LunisolarMetrics.Target.NEW_MOON);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long[] getNewMoonIterationHistogram() {
+    return getIterationHistogram(LunisolarMetrics.Target.NEW_MOON);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getSolarTermsAverageNanos() {
+    return getAverageNanos(LunisolarMetrics.Stage.SOLAR_TERMS);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getFirstDaysAverageNanos() {
+    return getAverageNanos(LunisolarMetrics.Stage.FIRST_DAYS);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getMonthsAverageNanos() {
+    return getAverageNanos(LunisolarMetrics.Stage.MONTHS);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void reset() {
+    // @formatter:off
+    Arrays.asList(solutions, fallbacks, iterations, stages, nanos).forEach(adders -> Arrays.stream(adders).forEach(LongAdder::reset));
+    Arrays.asList(iterationHistograms, nanoHistograms).forEach(histograms -> Arrays.stream(histograms).flatMap(Arrays::stream).forEach(LongAdder::reset));
+    // @formatter:on
+  }
+
+  /**
+   * returns the bucket of specified value, in powers of two .
+   *
+   * @param value the value, not negative
+   * @param buckets the number of buckets
+   * @return the index of the bucket, the last bucket contains all of larger values
+   */
+  static int bucketOf(final long value, final int buckets) {
+    return Math.min(64 - Long.numberOfLeadingZeros(Math.max(value, 0)), buckets - 1);
+  }
+
+  /**
+   * returns the ratio of the sum to the count .
+   *
+   * @param sum the sum of values
+   * @param count the number of values
+   * @return an average, or 0.0 if never counted
+   */
+  private static double average(final LongAdder sum, final LongAdder count) {
+    final long counted = count.sum();
+
+    return counted == 0 ? 0.0 : (double) sum.sum() / counted;
+  }
+
+  /**
+   * returns the sum of each adder .
+   *
+   * @param adders {@link LongAdder}
+   * @return the sum of each adder
+   */
+  private static long[] sums(final LongAdder[] adders) {
+    return Arrays.stream(adders).mapToLong(LongAdder::sum).toArray();
+  }
+
+  /**
+   * returns new adders .
+   *
+   * @param size the number of adders
+   * @return {@link LongAdder}
+   */
+  private static LongAdder[] newAdders(final int size) {
+    final LongAdder[] adders = new LongAdder[size];
+    Arrays.setAll(adders, i -> new LongAdder());
+
+    return adders;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return String.format("%s{solarTerms=%d(fallbacks=%d, iterations=%.2f), newMoons=%d(fallbacks=%d, iterations=%.2f)}", getClass().getSimpleName(), getSolarTermSolutions(), getSolarTermFallbacks(), getSolarTermAverageIterations(), getNewMoonSolutions(), getNewMoonFallbacks(), getNewMoonAverageIterations());
+  }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+/**
+ * the management interface of {@link LunisolarStatistics} .
+ *
+ * <p>
+ * the histograms count values in buckets of powers of two, the bucket n (n &gt; 0) counts the values in 2<sup>n - 1</sup> to 2<sup>n</sup> - 1 .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public interface LunisolarStatisticsMXBean {
+
+  /**
+   * returns the number of solar terms solved .
+   *
+   * @return the number of solutions
+   */
+  long getSolarTermSolutions();
+
+  /**
+   * returns the number of solar terms which fell back to the best result .
+   *
+   * @return the number of fallbacks
+   */
+  long getSolarTermFallbacks();
+
+  /**
+   * returns an average of calculations of a solar term .
+   *
+   * @return an average of iterations, or 0.0 if never solved
+   */
+  double getSolarTermAverageIterations();
+
+  /**
+   * returns the histogram of calculations of a solar term .
+   *
+   * @return the histogram of iterations
+   */
+  long[] getSolarTermIterationHistogram();
+
+  /**
+   * returns the number of new moons solved .
+   *
+   * @return the number of solutions
+   */
+  long getNewMoonSolutions();
+
+  /**
+   * returns the number of new moons which fell back to the best result .
+   *
+   * @return the number of fallbacks
+   */
+  long getNewMoonFallbacks();
+
+  /**
+   * returns an average of calculations of a new moon .
+   *
+   * @return an average of iterations, or 0.0 if never solved
+   */
+  double getNewMoonAverageIterations();
+
+  /**
+   * returns the histogram of calculations of a new moon .
+   *
+   * @return the histogram of iterations
+   */
+  long[] getNewMoonIterationHistogram();
+
+  /**
+   * returns an average latency of computing the solar terms of a calendar .
+   *
+   * @return an average latency in nanoseconds, or 0.0 if never measured
+   */
+  double getSolarTermsAverageNanos();
+
+  /**
+   * returns an average latency of computing the first days of the months of a calendar .
+   *
+   * @return an average latency in nanoseconds, or 0.0 if never measured
+   */
+  double getFirstDaysAverageNanos();
+
+  /**
+   * returns an average latency of numbering the months of a calendar .
+   *
+   * @return an average latency in nanoseconds, or 0.0 if never measured
+   */
+  double getMonthsAverageNanos();
+
+  /**
+   * resets all counters and histograms .
+   */
+  void reset();
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import jp.furplag.time.Julian;
+
+/**
+ * the lunisolar calendars in use, each of those dispatches an instant to the {@link Lunisolar} calendar system of the period .
+ *
+ * <p>
+ * the periods differ in the offset which truncates instants to days, or in the way of the solar terms,
+ * and all of the systems share the instants of new moon .
+ * the periods of the same system share the calendar cache, and selecting the period costs only a binary search of the start of the periods .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public enum LunisolarSystem {
+
+  /** meant &quot;旧暦&quot;, in JST, &quot;宣明暦&quot; until 1684, and then &quot;貞享暦&quot;, &quot;宝暦暦&quot;, &quot;寛政暦&quot; and &quot;天保暦&quot; . */
+  JAPANESE(new Lunisolar[] { Lunisolar.Senmyo, Lunisolar.Jokyo, Lunisolar.Horeki, Lunisolar.Kansei, Lunisolar.Tenpo }, "1685-02-04T00:00", "1755-02-11T00:00", "1798-02-16T00:00", "1844-02-18T00:00"),
+
+  /** meant &quot;农历&quot;, in CST . */
+  CHINESE("+08:00"),
+
+  /** meant &quot;음력&quot;, in the standard time of Korea of each period . */
+  KOREAN("+08:27:52", "1908-04-01T00:00+08:30", "1912-01-01T00:00+09:00", "1954-03-21T00:00+08:30", "1961-08-10T00:00+09:00"),
+
+  /** meant &quot;Âm lịch&quot;, in the standard time of Vietnam of each period . */
+  VIETNAMESE("+08:00", "1967-08-08T00:00+07:00");
+
+  /** the first instant of each period, in ascending order . */
+  private final double[] julianDates;
+
+  /** the calendar system of each period . */
+  private final Lunisolar[] lunisolars;
+
+  /**
+   *
+   * @param zoneOffset the offset of the first period
+   * @param periods the start of each following period, represented by the local date time in the offset of the previous period, followed by the offset of the period
+   */
+  LunisolarSystem(String zoneOffset, String... periods) {
+    this(lunisolarsOf(zoneOffset, periods), Arrays.stream(periods).map(OffsetDateTime::parse).map(OffsetDateTime::toLocalDateTime).map(LocalDateTime::toString).toArray(String[]::new));
+  }
+
+  /**
+   *
+   * @param lunisolars the calendar system of each period
+   * @param periods the start of each following period, represented by the local date time in the offset of the previous period
+   */
+  LunisolarSystem(Lunisolar[] lunisolars, String... periods) {
+    julianDates = new double[lunisolars.length];
+    this.lunisolars = lunisolars;
+    julianDates[0] = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < periods.length; i++) {
+      julianDates[i + 1] = Julian.ofEpochMilli(LocalDateTime.parse(periods[i]).atOffset(lunisolars[i].zoneOffset).toInstant().toEpochMilli());
+    }
+  }
+
+  /**
+   * returns the calendar systems of the periods which differ in the offset .
+   *
+   * @param zoneOffset the offset of the first period
+   * @param periods the start of each following period, followed by the offset of the period
+   * @return the calendar system of each period
+   */
+  private static Lunisolar[] lunisolarsOf(final String zoneOffset, final String... periods) {
+    final Lunisolar[] lunisolars = new Lunisolar[periods.length + 1];
+    lunisolars[0] = Lunisolar.of(ZoneOffset.of(zoneOffset));
+    for (int i = 0; i < periods.length; i++) {
+      lunisolars[i + 1] = Lunisolar.of(OffsetDateTime.parse(periods[i]).getOffset());
+    }
+
+    return lunisolars;
+  }
+
+  /**
+   * returns the calendar system of the period which contains specified instant .
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @return {@link Lunisolar}
+   */
+  public Lunisolar ofJulian(final double julianDate) {
+    final int index = Arrays.binarySearch(julianDates, julianDate);
+
+    return lunisolars[index < 0 ? -index - 2 : index];
+  }
+
+  /**
+   * returns the calendar system of the period which contains specified instant .
+   *
+   * @param epochMilli millis from epoch
+   * @return {@link Lunisolar}
+   */
+  public Lunisolar ofEpochMilli(final long epochMilli) {
+    return ofJulian(Julian.ofEpochMilli(epochMilli));
+  }
+
+  /**
+   * returns the calendar systems of all periods, in order .
+   *
+   * @return unmodifiable list of {@link Lunisolar}
+   */
+  public List<Lunisolar> lunisolars() {
+    return List.of(lunisolars);
+  }
+}
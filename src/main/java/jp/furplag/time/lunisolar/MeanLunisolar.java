@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.time.ZoneOffset;
+import java.util.concurrent.Executor;
+
+import jp.furplag.misc.Astror;
+import jp.furplag.time.Julian;
+
+/**
+ * Lunisolar calendar system of mean solar terms (&quot;平気法&quot;), such as &quot;宣明暦&quot; .
+ *
+ * <p>
+ * the solar terms divide the year of {@link #daysOfYear} equally from the mean winter solstice of the epoch,
+ * so that a term costs only an arithmetic instead of solving the longitude of the sun .
+ * the months begin with the true new moon (&quot;定朔&quot;) same as {@link StandardLunisolar}, which shares the instants of new moon .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class MeanLunisolar extends StandardLunisolar {
+
+  /** the year of the winter solstice which the terms counted from . */
+  final int yearOfEpoch;
+
+  /** the instant of the mean winter solstice of {@link #yearOfEpoch} . */
+  private final double winterSolsticeOfEpoch;
+
+  /**
+   *
+   * @param daysOfYear an average of days of year, which divides into the solar terms
+   * @param daysOfMonth an average of days of month
+   * @param zoneOffset {@link ZoneOffset}
+   * @param yearOfEpoch the year of the winter solstice which the terms counted from
+   * @param precision a precision for calculates
+   * @param loopLimit limitation of calculates
+   * @param solver {@link Solver}
+   */
+  MeanLunisolar(double daysOfYear, double daysOfMonth, ZoneOffset zoneOffset, int yearOfEpoch, double precision, int loopLimit, Solver solver) {
+    super(daysOfYear, daysOfMonth, zoneOffset, precision, loopLimit, solver);
+    this.yearOfEpoch = yearOfEpoch;
+    // the instant of the mean longitude of the sun at 270 degrees, in December of the year .
+    final double julianDate = Julian.ofEpochMilli(asStartOfDay(yearOfEpoch, 12, 22));
+    final double meanLongitude = meanLongitude(julianDate);
+    winterSolsticeOfEpoch = julianDate + (270.0 + 360.0 * Math.round((meanLongitude - 270.0) / 360.0) - meanLongitude) / meanLongitudePerDay;
+  }
+
+  /**
+   * a copy of specified calendar system, in specified configuration .
+   *
+   * @param lunisolar {@link MeanLunisolar} to copy
+   * @param lunations instants of new moon keyed by lunation number
+   * @param terms instants of solar terms keyed by the number of 15&deg; from the vernal equinox of J2000.0
+   * @param yearTable precomputed months, or null
+   * @param executor the executor to compute solar terms in parallel, or null
+   * @param metrics {@link LunisolarMetrics}
+   */
+  private MeanLunisolar(MeanLunisolar lunisolar, InstantTable lunations, InstantTable terms, YearTable yearTable, Executor executor, LunisolarMetrics metrics) {
+    super(lunisolar, lunations, terms, yearTable, executor, metrics);
+    yearOfEpoch = lunisolar.yearOfEpoch;
+    winterSolsticeOfEpoch = lunisolar.winterSolsticeOfEpoch;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  MeanLunisolar configure(final @lombok.NonNull InstantTable lunations, final @lombok.NonNull InstantTable terms, final YearTable yearTable, final Executor executor, final @lombok.NonNull LunisolarMetrics metrics) {
+    return new MeanLunisolar(this, lunations, terms, yearTable, executor, metrics);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public MeanLunisolar withSolver(final @lombok.NonNull Solver solver) {
+    return this.solver == solver ? this : new MeanLunisolar(daysOfYear, daysOfMonth, zoneOffset, yearOfEpoch, precision, loopLimit, solver);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  MeanLunisolar withZoneOffset(final @lombok.NonNull ZoneOffset zoneOffset) {
+    return this.zoneOffset.equals(zoneOffset) ? this : new MeanLunisolar(daysOfYear, daysOfMonth, zoneOffset, yearOfEpoch, precision, loopLimit, solver);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * returns the closest mean term, which places the multiple of 1/24 year from the winter solstice of the epoch .
+   * </p>
+   */
+  @Override
+  double closestTerm(final double julianDate, final double degree) {
+    final double daysOfTerm = daysOfYear / 24.0;
+    final double position = Astror.circulate(degree - 270.0) / 15.0;
+    final double years = Math.round((julianDate - winterSolsticeOfEpoch - position * daysOfTerm) / daysOfYear);
+
+    return winterSolsticeOfEpoch + years * daysOfYear + position * daysOfTerm;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * computes the terms from 255&deg; of last year until the third 315&deg;, by arithmetic only .
+   * </p>
+   */
+  @Override
+  SolarTerms solarTermsOf(final double julianDate) {
+    final SolarTerms solarTerms = new SolarTerms(numberOfTerms);
+    final double daysOfTerm = daysOfYear / 24.0;
+    final double first = closestTerm(plusMonth(winterSolstice(julianDate), -13), 255);
+    for (int i = 0; i < numberOfTerms; i++) {
+      solarTerms.set(i, closestTerm(first + i * daysOfTerm, (255 + i * 15) % 360), 255 + i * 15);
+    }
+
+    return solarTerms;
+  }
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.time.DateTimeException;
+
+/**
+ * the month which contains the day converted last, for walking months in step with ascending instants .
+ *
+ * <p>
+ * a cursor holds the calendar (or the precomputed table) of the month,
+ * so that the next instant in the same month, or in the following months of the same year,
+ * costs no lookup of the calendar . not thread-safe .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+final class MonthCursor {
+
+  /** the calendar which the instants converted in, or null if converts in a calendar system . */
+  private final LunisolarSystem lunisolarSystem;
+
+  /** the calendar system which the instants converted in regardless of the period, or null . */
+  private final Lunisolar only;
+
+  /** calendar system of the month . */
+  private Lunisolar lunisolar;
+
+  /** precomputed months which contains the month, or null . */
+  private YearTable yearTable;
+
+  /** the calendar which contains the month, or null . */
+  private LunisolarCalendar calendar;
+
+  /** the index of the month in the table or the calendar . */
+  private int index;
+
+  /** epoch day of the first day of the month . */
+  private long firstDay;
+
+  /** epoch day of the last day of the month . */
+  private long lastDay;
+
+  /** the year in AD.(BC.) . */
+  int year;
+
+  /** month of year . */
+  int monthOfYear;
+
+  /** leap month . */
+  boolean intercalary;
+
+  /** epoch day of the day converted last . */
+  long epochDay;
+
+  /**
+   * walks months in {@link LunisolarSystem#JAPANESE} .
+   */
+  MonthCursor() {
+    this(LunisolarSystem.JAPANESE);
+  }
+
+  /**
+   *
+   * @param lunisolarSystem the calendar which the instants converted in
+   */
+  MonthCursor(LunisolarSystem lunisolarSystem) {
+    this.lunisolarSystem = lunisolarSystem;
+    only = null;
+  }
+
+  /**
+   * walks months in specified calendar system, such as a tabulated one, for any period .
+   *
+   * @param lunisolar {@link Lunisolar} calendar system
+   */
+  MonthCursor(Lunisolar lunisolar) {
+    lunisolarSystem = null;
+    only = lunisolar;
+  }
+
+  /**
+   * returns the calendar which the instants converted in .
+   *
+   * @return {@link LunisolarSystem}, or null if converts in a calendar system
+   */
+  LunisolarSystem lunisolarSystem() {
+    return lunisolarSystem;
+  }
+
+  /**
+   * moves to the month which contains specified instant .
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @return day of month
+   */
+  long seek(final double julianDate) {
+    final Lunisolar lunisolar = only != null ? only : lunisolarSystem.ofJulian(julianDate);
+    final long epochDay = lunisolar.asEpochDay(lunisolar.asStartOfDay(julianDate));
+    if (lunisolar != this.lunisolar || !(epochDay >= firstDay && (epochDay <= lastDay || forward(epochDay)))) {
+      resolve(lunisolar, julianDate, epochDay);
+    }
+    this.epochDay = epochDay;
+
+    return epochDay - firstDay + 1;
+  }
+
+  /**
+   * returns the ordinal in the sexagenary cycle of the month counted from pre climates (&quot;節月&quot;), which contains the day converted last .
+   *
+   * @return the ordinal in the cycle, 0 to 59
+   */
+  int cycleOfMonth() {
+    return yearTable != null ? yearTable.cycleOfMonth(epochDay) : calendar.lunarMonths.cycleOfMonth(epochDay);
+  }
+
+  /**
+   * moves forward to the month which contains specified day, in the same year .
+   *
+   * @param epochDay epoch day
+   * @return true if found
+   */
+  private boolean forward(final long epochDay) {
+    if (yearTable != null) {
+      if (yearTable != lunisolar.yearTable) {
+        return false;
+      }
+      while (index + 1 < yearTable.size() && lastDay < epochDay && yearTable.firstDay(index + 1) == lastDay + 1) {
+        at(yearTable, index + 1);
+      }
+    } else if (calendar != null) {
+      while (index + 1 < calendar.lunarMonths.size() && lastDay < epochDay) {
+        at(calendar, index + 1);
+      }
+    }
+
+    return epochDay >= firstDay && epochDay <= lastDay;
+  }
+
+  /**
+   * finds the month which contains specified instant .
+   *
+   * @param lunisolar {@link Lunisolar} calendar system
+   * @param julianDate an instant represented by astronomical julian date
+   * @param epochDay epoch day of the instant
+   */
+  private void resolve(final Lunisolar lunisolar, final double julianDate, final long epochDay) {
+    this.lunisolar = lunisolar;
+    final YearTable yearTable = lunisolar.yearTable;
+    final int index = yearTable == null ? -1 : yearTable.indexOf(epochDay);
+    if (index > -1) {
+      at(yearTable, index);
+
+      return;
+    }
+    final LunisolarCalendar lunisolarCalendar = lunisolar.calendarOfYear(lunisolar.yearOfCalendar(julianDate));
+    this.calendar = lunisolarCalendar;
+    this.yearTable = null;
+    final LunarMonths lunarMonths = lunisolarCalendar.lunarMonths;
+    year = lunisolarCalendar.year;
+    for (int i = 0; i < lunarMonths.size(); i++) {
+      at(lunisolarCalendar, i);
+      if (epochDay >= firstDay && epochDay <= lastDay) {
+        return;
+      }
+    }
+    this.lunisolar = null;
+    throw new DateTimeException(String.format("could not resolve the month of julian date %s", julianDate));
+  }
+
+  /**
+   * moves to the month in the table .
+   *
+   * @param yearTable {@link YearTable}
+   * @param index the index of the month
+   */
+  private void at(final YearTable yearTable, final int index) {
+    this.yearTable = yearTable;
+    calendar = null;
+    this.index = index;
+    firstDay = yearTable.firstDay(index);
+    lastDay = yearTable.lastDay(index);
+    year = yearTable.yearOf(index);
+    monthOfYear = yearTable.monthOfYear(index);
+    intercalary = yearTable.isIntercalary(index);
+  }
+
+  /**
+   * moves to the month in the calendar .
+   *
+   * @param calendar {@link LunisolarCalendar}
+   * @param index the index of the month
+   */
+  private void at(final LunisolarCalendar calendar, final int index) {
+    final LunarMonths lunarMonths = calendar.lunarMonths;
+    this.index = index;
+    firstDay = lunarMonths.firstDays[index];
+    lastDay = lunarMonths.lastDays[index];
+    monthOfYear = lunarMonths.monthOfYear(index);
+    intercalary = lunarMonths.is(index, LunarMonths.intercalary);
+  }
+}
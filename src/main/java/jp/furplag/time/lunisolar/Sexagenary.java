@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+/**
+ * the sexagenary cycle (&quot;干支&quot;), represented by the ordinal in the cycle, 0 (&quot;甲子&quot;) to 59 (&quot;癸亥&quot;) .
+ *
+ * <p>
+ * the cycle of the year changes at the first day of the year,
+ * the cycle of the month changes at the day of each pre climate (&quot;節月&quot;),
+ * and the cycle of the day is consecutive on julian day numbers of the local date .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+public final class Sexagenary {
+
+  /** meant &quot;十干&quot; . */
+  private static final String heavenlyStems = "甲乙丙丁戊己庚辛壬癸";
+
+  /** meant &quot;十二支&quot; . */
+  private static final String earthlyBranches = "子丑寅卯辰巳午未申酉戌亥";
+
+  /** the number of the cycle . */
+  static final int cycle = 60;
+
+  /** the year of &quot;甲子&quot; . */
+  private static final long yearOfOrigin = 4;
+
+  /** JDN of &quot;甲子&quot; . */
+  private static final long julianDayNumberOfOrigin = 11;
+
+  /** longitude of &quot;立春&quot;, which starts the month of &quot;寅&quot; . */
+  private static final int longitudeOfSpring = 315;
+
+  /**
+   * Sexagenary instances should NOT be constructed in standard programming .
+   */
+  private Sexagenary() {}
+
+  /**
+   * returns the ordinal of the year in the cycle .
+   *
+   * @param year the year in AD.(BC.)
+   * @return the ordinal in the cycle, 0 to 59
+   */
+  public static int ofYear(final long year) {
+    return (int) Math.floorMod(year - yearOfOrigin, cycle);
+  }
+
+  /**
+   * returns the ordinal of the month in the cycle .
+   *
+   * @param year the year which starts at &quot;立春&quot;
+   * @param monthOfYear the month counted from &quot;立春&quot;, 1 (&quot;寅月&quot;) to 12 (&quot;丑月&quot;)
+   * @return the ordinal in the cycle, 0 to 59
+   */
+  public static int ofMonth(final long year, final int monthOfYear) {
+    return (int) Math.floorMod((year - yearOfOrigin) * 12 + monthOfYear + 1, cycle);
+  }
+
+  /**
+   * returns the ordinal of the day in the cycle .
+   *
+   * @param julianDayNumber JDN of the local date
+   * @return the ordinal in the cycle, 0 to 59
+   */
+  public static int ofDay(final long julianDayNumber) {
+    return (int) Math.floorMod(julianDayNumber - julianDayNumberOfOrigin, cycle);
+  }
+
+  /**
+   * fills the ordinals of consecutive days in the cycle .
+   *
+   * @param julianDayNumber JDN of the first day
+   * @param cycles the array to fill
+   * @return cycles
+   */
+  public static int[] ofDays(final long julianDayNumber, final @lombok.NonNull int[] cycles) {
+    int ordinal = ofDay(julianDayNumber);
+    for (int i = 0; i < cycles.length; i++) {
+      cycles[i] = ordinal;
+      ordinal = ordinal + 1 < cycle ? ordinal + 1 : 0;
+    }
+
+    return cycles;
+  }
+
+  /**
+   * returns the ordinal of the month which starts at the day of the pre climate .
+   *
+   * @param epochDay epoch day of the pre climate
+   * @param longitude the longitude of the pre climate
+   * @return the ordinal in the cycle, 0 to 59
+   */
+  static int ofPreClimate(final long epochDay, final int longitude) {
+    final int monthOfYear = Math.floorMod(longitude - longitudeOfSpring, 360) / 30 + 1;
+
+    return ofMonth(EpochDays.yearOf(epochDay) - (monthOfYear > 11 ? 1 : 0), monthOfYear);
+  }
+
+  /**
+   * returns the ordinal of &quot;十干&quot; .
+   *
+   * @param ordinal the ordinal in the cycle
+   * @return the ordinal of &quot;十干&quot;, 0 (&quot;甲&quot;) to 9 (&quot;癸&quot;)
+   */
+  public static int heavenlyStemOf(final int ordinal) {
+    return ordinal % 10;
+  }
+
+  /**
+   * returns the ordinal of &quot;十二支&quot; .
+   *
+   * @param ordinal the ordinal in the cycle
+   * @return the ordinal of &quot;十二支&quot;, 0 (&quot;子&quot;) to 11 (&quot;亥&quot;)
+   */
+  public static int earthlyBranchOf(final int ordinal) {
+    return ordinal % 12;
+  }
+
+  /**
+   * returns the name of the ordinal in the cycle .
+   *
+   * @param ordinal the ordinal in the cycle
+   * @return the name, e.g. &quot;甲子&quot;
+   */
+  public static String nameOf(final int ordinal) {
+    return new StringBuilder().append(heavenlyStems.charAt(heavenlyStemOf(ordinal))).append(earthlyBranches.charAt(earthlyBranchOf(ordinal))).toString();
+  }
+}
@@ -21,7 +21,7 @@ import java.util.Objects;
 
 import jp.furplag.misc.Astror;
 import jp.furplag.misc.orrery.EclipticLongitude;
-import jp.furplag.time.Julian;
+import jp.furplag.time.Millis;
 
 /**
  * solar term in east asian calendar .
@@ -37,20 +37,22 @@ public abstract class SolarTerm implements Comparable<SolarTerm>, Serializable {
   /** AJD . */
   final double julianDate;
 
-  /** longitude of sun . */
-  final double actualLongitude;
-
   /** 360&deg; / 15&deg; . */
   final int longitude;
 
   /** 360&deg; / 24 . */
   final int termIndex;
 
-  private SolarTerm(double julianDate) {
+  /**
+   *
+   * @param julianDate AJD
+   * @param epochMilli the instant represented by epoch millis
+   * @param longitude the longitude of the solar term, a multiple of 15
+   */
+  private SolarTerm(double julianDate, long epochMilli, int longitude) {
     this.julianDate = julianDate;
-    this.epochMilli = Julian.toInstant(julianDate).toEpochMilli();
-    this.actualLongitude = EclipticLongitude.Sun.ofJulian(julianDate);
-    longitude = ((int) Astror.circulate(actualLongitude + .5));
+    this.epochMilli = epochMilli;
+    this.longitude = longitude;
     this.termIndex = ((int) ((longitude + 45.0) / 15.0)) % 24;
   }
 
@@ -61,8 +63,8 @@ public abstract class SolarTerm implements Comparable<SolarTerm>, Serializable {
    *
    */
   static final class MidClimate extends SolarTerm {
-    MidClimate(double julianDate) {
-      super(julianDate);
+    MidClimate(double julianDate, long epochMilli, int longitude) {
+      super(julianDate, epochMilli, longitude);
     }
   }
 
@@ -73,8 +75,8 @@ public abstract class SolarTerm implements Comparable<SolarTerm>, Serializable {
    *
    */
   static final class PreClimate extends SolarTerm {
-    PreClimate(double julianDate) {
-      super(julianDate);
+    PreClimate(double julianDate, long epochMilli, int longitude) {
+      super(julianDate, epochMilli, longitude);
     }
   }
 
@@ -91,9 +93,47 @@ public abstract class SolarTerm implements Comparable<SolarTerm>, Serializable {
   public static SolarTerm ofClosest(final double julianDate, final int degree, final Lunisolar lunisolar) {
     Objects.requireNonNull(lunisolar);
     final int longitude = 15 * ((degree % 360) / 15);
-    double closestTerm = lunisolar.closestTerm(julianDate, longitude);
 
-    return longitude % 30 == 0 ? new MidClimate(closestTerm) : new PreClimate(closestTerm);
+    return of(lunisolar.closestTerm(julianDate, longitude), longitude);
+  }
+
+  /**
+   * returns the solar term at the instant, which already solved .
+   *
+   * @param julianDate the instant of the solar term represented by astronomical julian date
+   * @param longitude the longitude of the solar term, a multiple of 15
+   * @return {@link SolarTerm}
+   */
+  static SolarTerm of(final double julianDate, final int longitude) {
+    return of(julianDate, Millis.ofJulian(julianDate), longitude);
+  }
+
+  /**
+   * returns the solar term at the instant, which already solved and converted into epoch millis .
+   *
+   * @param julianDate the instant of the solar term represented by astronomical julian date
+   * @param epochMilli the instant represented by epoch millis
+   * @param longitude the longitude of the solar term, a multiple of 15
+   * @return {@link SolarTerm}
+   */
+  static SolarTerm of(final double julianDate, final long epochMilli, final int longitude) {
+    final int circulated = (int) Astror.circulate(longitude);
+
+    return circulated % 30 == 0 ? new MidClimate(julianDate, epochMilli, circulated) : new PreClimate(julianDate, epochMilli, circulated);
+  }
+
+  /**
+   * returns the longitude of the sun at the instant, calculated only when read .
+   *
+   * <p>
+   * that differs from the longitude of the term if the solver fell back to the best result,
+   * or if the term is a mean one (&quot;平気&quot;) .
+   * </p>
+   *
+   * @return the longitude of the sun
+   */
+  double actualLongitude() {
+    return EclipticLongitude.Sun.ofJulian(julianDate);
   }
 
   /**
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jp.furplag.time.Millis;
+
+/**
+ * solar terms in ascending order, represented by parallel primitive arrays .
+ *
+ * <p>
+ * for internal pipelines, which need no {@link SolarTerm} object for each term .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+final class SolarTerms {
+
+  /** AJD of each term . */
+  final double[] julianDates;
+
+  /** milliseconds from 1970-01-01T00:00:00.000Z of each term . */
+  final long[] epochMillis;
+
+  /** longitude of each term, a multiple of 15 in 0 to 345 . */
+  final int[] longitudes;
+
+  /** the terms as {@link SolarTerm}, built once on the first access after solved . */
+  private volatile SolarTerm[] terms;
+
+  /**
+   *
+   * @param size the number of terms
+   */
+  SolarTerms(int size) {
+    julianDates = new double[size];
+    epochMillis = new long[size];
+    longitudes = new int[size];
+  }
+
+  /**
+   * returns the primitive representation of the terms .
+   *
+   * @param solarTerms list of {@link SolarTerm}
+   * @return {@link SolarTerms}
+   */
+  static SolarTerms of(final @lombok.NonNull List<SolarTerm> solarTerms) {
+    final SolarTerms result = new SolarTerms(solarTerms.size());
+    for (int i = 0; i < solarTerms.size(); i++) {
+      final SolarTerm solarTerm = solarTerms.get(i);
+      result.julianDates[i] = solarTerm.julianDate;
+      result.epochMillis[i] = solarTerm.epochMilli;
+      result.longitudes[i] = solarTerm.longitude;
+    }
+
+    return result;
+  }
+
+  /**
+   * sets the term solved .
+   *
+   * @param index the index of the term
+   * @param julianDate the instant of the term
+   * @param degree the longitude of the term
+   */
+  void set(final int index, final double julianDate, final int degree) {
+    julianDates[index] = julianDate;
+    epochMillis[index] = Millis.ofJulian(julianDate);
+    longitudes[index] = ((degree % 360) + 360) % 360;
+  }
+
+  /**
+   * returns true if the term is a mid climate (&quot;中気&quot;) .
+   *
+   * @param index the index of the term
+   * @return true if the term is a mid climate
+   */
+  boolean isMidClimate(final int index) {
+    return longitudes[index] % 30 == 0;
+  }
+
+  /**
+   * returns the number of terms .
+   *
+   * @return the number of terms
+   */
+  int size() {
+    return julianDates.length;
+  }
+
+  /**
+   * returns the term as {@link SolarTerm}, which is the same instance in every access .
+   *
+   * @param index the index of the term
+   * @return {@link SolarTerm}
+   */
+  SolarTerm get(final int index) {
+    return terms()[index];
+  }
+
+  /**
+   * returns the terms as {@link SolarTerm} .
+   *
+   * @return list of {@link SolarTerm}
+   */
+  List<SolarTerm> toList() {
+    return new ArrayList<>(Arrays.asList(terms()));
+  }
+
+  /**
+   * returns the terms as {@link SolarTerm}, built at once on the first access .
+   *
+   * <p>
+   * the terms must have been solved before, so that {@link #set(int, double, int)} never follows .
+   * </p>
+   *
+   * @return array of {@link SolarTerm}
+   */
+  private SolarTerm[] terms() {
+    SolarTerm[] terms = this.terms;
+    if (terms == null) {
+      synchronized (this) {
+        terms = this.terms;
+        if (terms == null) {
+          terms = new SolarTerm[size()];
+          for (int i = 0; i < terms.length; i++) {
+            terms[i] = SolarTerm.of(julianDates[i], epochMillis[i], longitudes[i]);
+          }
+          this.terms = terms;
+        }
+      }
+    }
+
+    return terms;
+  }
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import jp.furplag.misc.Astror;
+import jp.furplag.misc.orrery.EclipticLongitude;
+
+/**
+ * strategies to calculate the instant of solar terms and new moons .
+ *
+ * @author furplag
+ *
+ */
+public enum Solver {
+
+  /**
+   * scales the error of longitude with an average of days of year (or month), and repeats until the error fits in the precision .
+   */
+  FIXED_POINT {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    double closestTerm(final Lunisolar lunisolar, final double julianDate, final double degree) {
+      final LunisolarEvents.Solution event = LunisolarEvents.Solution.beginIfEnabled();
+      final double expect = Astror.circulate(degree);
+      double numeric = (long) julianDate;
+      double floating = julianDate - numeric;
+      double delta = 0.0;
+      double diff = 0.0;
+      int counter = 0;
+      double bestDiff = Double.POSITIVE_INFINITY;
+      double best = julianDate;
+      do {
+        delta = EclipticLongitude.Sun.ofJulian(numeric + floating) - expect;
+        delta += delta > 180.0 ? -360.0 : delta < -180.0 ? 360.0 : 0;
+        counter++;
+
+        diff = delta * lunisolar.daysOfYear / 360.0;
+        numeric -= (long) diff;
+        floating -= diff - ((long) diff);
+        if (floating < 0) {
+          floating++;
+          numeric--;
+        } else if (floating > 1) {
+          floating--;
+          numeric++;
+        }
+        if (Math.abs(diff) <= bestDiff) {
+          bestDiff = Math.abs(diff);
+          best = numeric + floating;
+        }
+      } while (Math.abs(diff) > lunisolar.precision && counter < lunisolar.loopLimit);
+
+      solved(this, lunisolar, event, LunisolarMetrics.Target.SOLAR_TERM, julianDate, counter);
+
+      return counter < lunisolar.loopLimit ? (numeric + floating) : best;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    double latestNewMoon(final Lunisolar lunisolar, final double julianDate) {
+      final LunisolarEvents.Solution event = LunisolarEvents.Solution.beginIfEnabled();
+      double numeric = (long) (julianDate);
+      double floating = julianDate - numeric;
+      double delta = 0.0;
+      double diffOfNumeric = 0.0;
+      double diffOfFloating = 0.0;
+      double bestDiff = Double.POSITIVE_INFINITY;
+      double best = julianDate;
+      int counter = 0;
+      do {
+        delta = EclipticLongitude.Moon.ofJulian((numeric + floating)) - EclipticLongitude.Sun.ofJulian(numeric + floating);
+        if (counter == 0 || delta < -15.0) {
+          delta = Astror.circulate(delta);
+        } else if (delta > 345.0) {
+          delta -= 360.0;
+        }
+        counter++;
+        diffOfFloating = delta * (lunisolar.daysOfMonth / 360.0);
+        diffOfNumeric = (long) diffOfFloating;
+        diffOfFloating -= diffOfNumeric;
+        numeric -= diffOfNumeric;
+        floating -= diffOfFloating;
+
+        if (Math.abs(diffOfNumeric + diffOfFloating) <= bestDiff) {
+          bestDiff = Math.abs(diffOfNumeric + diffOfFloating);
+          best = numeric + floating;
+        }
+      } while (Math.abs(diffOfNumeric + diffOfFloating) > lunisolar.precision && counter < lunisolar.loopLimit);
+
+      solved(this, lunisolar, event, LunisolarMetrics.Target.NEW_MOON, julianDate, counter);
+
+      return counter < lunisolar.loopLimit ? (numeric + floating) : best;
+    }
+  },
+
+  /**
+   * takes the first step with an average angular velocity, and then secant steps with the angular velocity measured between the last two steps .
+   * typically converges in 3 - 5 calculations of ecliptic longitude, about half of {@link #FIXED_POINT} .
+   */
+  SECANT {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    double closestTerm(final Lunisolar lunisolar, final double julianDate, final double degree) {
+      final LunisolarEvents.Solution event = LunisolarEvents.Solution.beginIfEnabled();
+      final double expect = Astror.circulate(degree);
+      final double averageVelocity = 360.0 / lunisolar.daysOfYear;
+      double current = julianDate;
+      double delta = closest(EclipticLongitude.Sun.ofJulian(current) - expect);
+      double diff = delta / averageVelocity;
+      double bestDiff = Math.abs(diff);
+      double best = current - diff;
+      int counter = 1;
+      while (Math.abs(diff) > lunisolar.precision && counter < lunisolar.loopLimit) {
+        final double next = current - diff;
+        final double deltaOfNext = closest(EclipticLongitude.Sun.ofJulian(next) - expect);
+        counter++;
+        diff = deltaOfNext / velocity((delta - deltaOfNext) / diff, averageVelocity);
+        current = next;
+        delta = deltaOfNext;
+        if (Math.abs(diff) <= bestDiff) {
+          bestDiff = Math.abs(diff);
+          best = current - diff;
+        }
+      }
+
+      solved(this, lunisolar, event, LunisolarMetrics.Target.SOLAR_TERM, julianDate, counter);
+
+      return counter < lunisolar.loopLimit ? (current - diff) : best;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    double latestNewMoon(final Lunisolar lunisolar, final double julianDate) {
+      final LunisolarEvents.Solution event = LunisolarEvents.Solution.beginIfEnabled();
+      final double averageVelocity = 360.0 / lunisolar.daysOfMonth;
+      double current = julianDate;
+      double delta = Astror.circulate(EclipticLongitude.Moon.ofJulian(current) - EclipticLongitude.Sun.ofJulian(current));
+      double diff = delta / averageVelocity;
+      double bestDiff = Math.abs(diff);
+      double best = current - diff;
+      int counter = 1;
+      while (Math.abs(diff) > lunisolar.precision && counter < lunisolar.loopLimit) {
+        final double next = current - diff;
+        double deltaOfNext = EclipticLongitude.Moon.ofJulian(next) - EclipticLongitude.Sun.ofJulian(next);
+        boolean continuous = true;
+        if (deltaOfNext < -15.0) {
+          deltaOfNext = Astror.circulate(deltaOfNext);
+          continuous = false;
+        } else if (deltaOfNext > 345.0) {
+          deltaOfNext -= 360.0;
+        }
+        counter++;
+        diff = deltaOfNext / (continuous ? velocity((delta - deltaOfNext) / diff, averageVelocity) : averageVelocity);
+        current = next;
+        delta = deltaOfNext;
+        if (Math.abs(diff) <= bestDiff) {
+          bestDiff = Math.abs(diff);
+          best = current - diff;
+        }
+      }
+
+      solved(this, lunisolar, event, LunisolarMetrics.Target.NEW_MOON, julianDate, counter);
+
+      return counter < lunisolar.loopLimit ? (current - diff) : best;
+    }
+  };
+
+  /**
+   * calculate the closest instant in which the ecliptic longitude of the sun places at the specified angle from the specified julian date.
+   *
+   * @param lunisolar {@link Lunisolar} which provides an average of days of year, precision and limitation of calculates
+   * @param julianDate an instant represented by astronomical julian date
+   * @param degree the degree which circlyzed 0 to 360
+   * @return the closest instant in which the ecliptic longitude of the sun places at the specified angle
+   */
+  abstract double closestTerm(Lunisolar lunisolar, double julianDate, double degree);
+
+  /**
+   * calculate the first day of lunar month (typically the day contains an instant of new moon) .
+   *
+   * @param lunisolar {@link Lunisolar} which provides an average of days of month, precision and limitation of calculates
+   * @param julianDate an instant represented by astronomical julian date
+   * @return the first day of lunar month
+   */
+  abstract double latestNewMoon(Lunisolar lunisolar, double julianDate);
+
+  /**
+   * reports the result of a solution to the metrics and the event .
+   *
+   * @param solver {@link Solver}
+   * @param lunisolar {@link Lunisolar} which provides the limitation of calculates
+   * @param event {@link LunisolarEvents.Solution} which began before the solution, or null if not recording
+   * @param target {@link LunisolarMetrics.Target}
+   * @param julianDate the instant which the solution seeded from
+   * @param iterations the number of calculations of ecliptic longitude
+   */
+  private static void solved(final Solver solver, final Lunisolar lunisolar, final LunisolarEvents.Solution event, final LunisolarMetrics.Target target, final double julianDate, final int iterations) {
+    final boolean converged = iterations < lunisolar.loopLimit;
+    lunisolar.metrics.solved(target, iterations, converged);
+    if (event != null) {
+      event.report(solver, target, julianDate, iterations, converged);
+    }
+  }
+
+  /**
+   * returns the angle which normalized in -180&deg; to 180&deg; .
+   *
+   * @param delta an angle
+   * @return the angle in -180&deg; to 180&deg;
+   */
+  private static double closest(final double delta) {
+    return delta + (delta > 180.0 ? -360.0 : delta < -180.0 ? 360.0 : 0);
+  }
+
+  /**
+   * returns the measured angular velocity, or the average one if the measured one seems wrong .
+   *
+   * @param measured the angular velocity measured between the last two steps
+   * @param average an average of angular velocity
+   * @return angular velocity
+   */
+  private static double velocity(final double measured, final double average) {
+    return measured > average * .5 && measured < average * 2.0 ? measured : average;
+  }
+}
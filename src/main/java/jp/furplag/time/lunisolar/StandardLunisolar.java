@@ -17,14 +17,13 @@
 package jp.furplag.time.lunisolar;
 
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
-
-import jp.furplag.misc.Astror;
-import jp.furplag.misc.orrery.EclipticLongitude;
+import java.util.stream.LongStream;
 
 /**
  * current Lunisolar calendar system .
@@ -32,7 +31,13 @@ import jp.furplag.misc.orrery.EclipticLongitude;
  * @author furplag
  *
  */
-public final class StandardLunisolar extends Lunisolar {
+public class StandardLunisolar extends Lunisolar {
+
+  /** the number of solar terms of a calendar, 255&deg; of last year to 315&deg; of next year . */
+  static final int numberOfTerms = 53;
+
+  /** the position of the winter solstice of the year in the terms . */
+  private static final int indexOfWinterSolstice = 25;
 
   /**
    *
@@ -56,55 +61,197 @@ public final class StandardLunisolar extends Lunisolar {
     super(daysOfYear, daysOfMonth, zoneOffset, precision, loopLimit);
   }
 
+  /**
+   *
+   * @param daysOfYear an average of days of year
+   * @param daysOfMonth an average of days of month
+   * @param zoneOffset {@link ZoneOffset}
+   * @param precision a precision for calculates
+   * @param loopLimit limitation of calculates
+   * @param solver {@link Solver}
+   */
+  StandardLunisolar(double daysOfYear, double daysOfMonth, ZoneOffset zoneOffset, double precision, int loopLimit, Solver solver) {
+    super(daysOfYear, daysOfMonth, zoneOffset, precision, loopLimit, solver);
+  }
+
+  /**
+   * a copy of specified calendar system, in specified configuration .
+   *
+   * @param lunisolar {@link StandardLunisolar} to copy
+   * @param lunations instants of new moon keyed by lunation number
+   * @param terms instants of solar terms keyed by the number of 15&deg; from the vernal equinox of J2000.0
+   * @param yearTable precomputed months, or null
+   * @param executor the executor to compute solar terms in parallel, or null
+   * @param metrics {@link LunisolarMetrics}
+   */
+  StandardLunisolar(StandardLunisolar lunisolar, InstantTable lunations, InstantTable terms, YearTable yearTable, Executor executor, LunisolarMetrics metrics) {
+    super(lunisolar, lunations, terms, yearTable, executor, metrics);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  StandardLunisolar configure(final @lombok.NonNull InstantTable lunations, final @lombok.NonNull InstantTable terms, final YearTable yearTable, final Executor executor, final @lombok.NonNull LunisolarMetrics metrics) {
+    return new StandardLunisolar(this, lunations, terms, yearTable, executor, metrics);
+  }
+
+  /**
+   * returns a calendar system same as this, except the strategy to calculate the instant of solar terms and new moons .
+   *
+   * <p>
+   * the configuration such as {@link #tabulate(int, int)} is not taken over .
+   * </p>
+   *
+   * @param solver {@link Solver}
+   * @return {@link StandardLunisolar}, or this if the solver is not changed
+   */
+  public StandardLunisolar withSolver(final @lombok.NonNull Solver solver) {
+    return this.solver == solver ? this : new StandardLunisolar(daysOfYear, daysOfMonth, zoneOffset, precision, loopLimit, solver);
+  }
+
+  /**
+   * returns a calendar system same as this, except the offset which truncates instants to days .
+   *
+   * <p>
+   * the configuration such as {@link #tabulate(int, int)} is not taken over .
+   * </p>
+   *
+   * @param zoneOffset {@link ZoneOffset}
+   * @return {@link StandardLunisolar}, or this if the offset is not changed
+   */
+  StandardLunisolar withZoneOffset(final @lombok.NonNull ZoneOffset zoneOffset) {
+    return this.zoneOffset.equals(zoneOffset) ? this : new StandardLunisolar(daysOfYear, daysOfMonth, zoneOffset, precision, loopLimit, solver);
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   double closestTerm(double julianDate, double degree) {
-    final double expect = Astror.circulate(degree);
-    double numeric = (long) julianDate;
-    double floating = julianDate - numeric;
-    double delta = 0.0;
-    double diff = 0.0;
-    int counter = 0;
-    Map<Double, Double> results = new HashMap<>();
-    do {
-      delta = EclipticLongitude.Sun.ofJulian(numeric + floating) - expect;
-      delta += delta > 180.0 ? -360.0 : delta < -180.0 ? 360.0 : 0;
-      counter++;
-
-      diff = delta * daysOfYear / 360.0;
-      numeric -= (long) diff;
-      floating -= diff - ((long) diff);
-      if (floating < 0) {
-        floating++;
-        numeric--;
-      } else if (floating > 1) {
-        floating--;
-        numeric++;
+    // the mean longitude differs from the actual one up to about 2 degrees .
+    final double meanLongitude = meanLongitude(julianDate);
+    final double longitude = degree + 360.0 * Math.round((meanLongitude - degree) / 360.0);
+    if (degree % 15 != 0 || Math.abs(longitude - meanLongitude) > 170.0) {
+      return solver.closestTerm(this, julianDate, degree);
+    }
+    final long index = Math.round(longitude / 15.0);
+    double closestTerm = terms.get(index);
+    if (Double.isNaN(closestTerm)) {
+      closestTerm = solver.closestTerm(this, julianDate, degree);
+      if (Math.round(meanLongitude(closestTerm) / 15.0) == index) {
+        terms.put(index, closestTerm);
       }
-      results.put(Math.abs(diff), (numeric + floating));
-    } while (Math.abs(diff) > precision && counter < loopLimit);
+    }
 
-    return counter < loopLimit ? (numeric + floating) : (doOurOwnBest(results, (numeric + floating)));
+    return closestTerm;
   }
 
   /**
    * calculate the first day of the month(s) .
    *
+   * <p>
+   * solves each lunation only once, instead of solving the latest new moon of each term .
+   * </p>
+   *
    * @param solarTerms {@link SolarTerm} of the year
    * @return the first days represented by epoch millis
    */
   @Override
   protected List<Long> termsToFirstDays(@lombok.NonNull List<SolarTerm> solarTerms) {
-    // @formatter:off
-    return solarTerms.stream()
-      .mapToDouble(solarTerm -> solarTerm.julianDate)
-      .mapToObj(julianDate -> asStartOfDay(latestNewMoon(julianDate)))
-      .distinct()
-      .sorted()
-      .collect(Collectors.toList());
-    // @formatter:on
+    return LongStream.of(firstDaysOf(solarTerms.stream().mapToDouble(solarTerm -> solarTerm.julianDate).sorted().toArray())).boxed().collect(Collectors.toList());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  long[] firstDaysOf(SolarTerms solarTerms) {
+    return firstDaysOf(solarTerms.julianDates);
+  }
+
+  /**
+   * calculate the first day of the month(s) .
+   *
+   * @param julianDates the instant of solar terms in ascending order
+   * @return the first days represented by epoch millis
+   */
+  private long[] firstDaysOf(final double[] julianDates) {
+    if (julianDates.length < 1) {
+      return new long[0];
+    }
+    final double[] newMoons = lunations(julianDates[0], julianDates[julianDates.length - 1]);
+    final long[] firstDays = new long[newMoons.length];
+    int size = 0;
+    int index = 0;
+    for (int i = 0; i < newMoons.length; i++) {
+      while (index < julianDates.length && julianDates[index] < newMoons[i]) {
+        index++;
+      }
+      // a month which contains no terms is not the latest new moon of any term .
+      if (index < julianDates.length && (i + 1 == newMoons.length || julianDates[index] < newMoons[i + 1])) {
+        firstDays[size++] = asStartOfDay(newMoons[i]);
+      }
+    }
+
+    return size < firstDays.length ? Arrays.copyOf(firstDays, size) : firstDays;
+  }
+
+  /**
+   * calculate the instant of new moons between specified instants, in parallel if an executor specified .
+   *
+   * @param julianDate an instant represented by astronomical julian date
+   * @param endOfTerms an instant represented by astronomical julian date
+   * @return the instant of new moons, from the latest one of the first instant to the latest one of the last instant
+   */
+  private double[] lunations(final double julianDate, final double endOfTerms) {
+    final double first = latestNewMoon(julianDate);
+    final double last = latestNewMoon(endOfTerms);
+    final double[] newMoons = new double[(int) Math.round((last - first) / synodicMonth(first)) + 1];
+    newMoons[0] = first;
+    newMoons[newMoons.length - 1] = last;
+    // seeds a quarter month after each lunation, so that the latest new moon should be that lunation .
+    final IntConsumer lunation = i -> newMoons[i] = latestNewMoon(plusMonth(first, i + .25));
+    final Executor executor = this.executor;
+    if (executor == null) {
+      for (int i = 1; i < newMoons.length - 1; i++) {
+        lunation.accept(i);
+      }
+    } else {
+      inChunks(executor, 1, newMoons.length - 1, lunation);
+    }
+
+    return newMoons;
+  }
+
+  /**
+   * runs the task for each index, divided into a chunk for each processor at most .
+   *
+   * <p>
+   * the first chunk runs in the current thread, while the others run in the executor .
+   * </p>
+   *
+   * @param executor {@link Executor}
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @param task the task for an index
+   */
+  private static void inChunks(final Executor executor, final int from, final int to, final IntConsumer task) {
+    final int chunks = Math.max(1, Math.min(to - from, Runtime.getRuntime().availableProcessors()));
+    final CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks - 1];
+    for (int chunk = 1; chunk < chunks; chunk++) {
+      final int start = from + (to - from) * chunk / chunks;
+      final int end = from + (to - from) * (chunk + 1) / chunks;
+      futures[chunk - 1] = CompletableFuture.runAsync(() -> {
+        for (int i = start; i < end; i++) {
+          task.accept(i);
+        }
+      }, executor);
+    }
+    for (int i = from; i < from + (to - from) / chunks; i++) {
+      task.accept(i);
+    }
+    CompletableFuture.allOf(futures).join();
   }
 
   /**
@@ -112,12 +259,34 @@ public final class StandardLunisolar extends Lunisolar {
    */
   @Override
   List<SolarTerm> termsOfBase(double julianDate) {
-    final List<SolarTerm> solarTerms = new ArrayList<>();
-    solarTerms.add(SolarTerm.ofClosest(plusMonth(winterSolstice(julianDate), -13), 255, this));
-    do {
-      final SolarTerm solarTerm = solarTerms.get(solarTerms.size() - 1);
-      solarTerms.add(SolarTerm.ofClosest(solarTerm.julianDate, solarTerm.longitude + 15, this));
-    } while (solarTerms.stream().filter(e -> e.longitude == 315).count() != 3);
+    return solarTermsOf(julianDate).toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * computes the terms from 255&deg; of last year until the third 315&deg;,
+   * in parallel if an executor specified .
+   * </p>
+   */
+  @Override
+  SolarTerms solarTermsOf(double julianDate) {
+    final SolarTerms solarTerms = new SolarTerms(numberOfTerms);
+    final Executor executor = this.executor;
+    if (executor == null) {
+      // each term seeded from the previous one .
+      double solarTerm = plusMonth(winterSolstice(julianDate), -13);
+      for (int i = 0; i < numberOfTerms; i++) {
+        solarTerm = closestTerm(solarTerm, (255 + i * 15) % 360);
+        solarTerms.set(i, solarTerm, 255 + i * 15);
+      }
+    } else {
+      // each term seeded independently from the winter solstice .
+      final double winterSolstice = winterSolstice(julianDate);
+      final double daysOfTerm = daysOfYear / 24.0;
+      inChunks(executor, 0, numberOfTerms, i -> solarTerms.set(i, closestTerm(winterSolstice + (i - indexOfWinterSolstice) * daysOfTerm, (255 + i * 15) % 360), 255 + i * 15));
+    }
 
     return solarTerms;
   }
@@ -0,0 +1,263 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import jp.furplag.time.Julian;
+
+/**
+ * precomputed months of the calendar system, packed in primitive arrays .
+ *
+ * <p>
+ * each month is packed into an int: <code>firstDay &lt;&lt; 5 | monthOfYear &lt;&lt; 1 | intercalary</code>,
+ * where firstDay is the epoch day of the first day of the month in the zone of the calendar system .
+ * months are sorted by the first day, so that a conversion costs only a binary search .
+ * </p>
+ *
+ * <p>
+ * the days of pre climates are packed in the same way: <code>epochDay &lt;&lt; 6 | cycle</code>,
+ * where cycle is the ordinal in the sexagenary cycle of the month which starts at the day .
+ * </p>
+ *
+ * @author furplag
+ *
+ */
+final class YearTable {
+
+  /** bits of month of year and intercalary flag . */
+  private static final int shift = 5;
+
+  /** mask of the month of year . */
+  private static final int maskOfMonth = 0xF;
+
+  /** bits of the ordinal in the sexagenary cycle . */
+  private static final int shiftOfCycle = 6;
+
+  /** the first year of the table . */
+  final int fromYear;
+
+  /** the last year of the table . */
+  final int toYear;
+
+  /** packed months . */
+  private final int[] months;
+
+  /** index of the first month (1月) of each year . */
+  private final int[] firstMonths;
+
+  /** epoch day of the day after the end of each year . */
+  private final int[] endOfYears;
+
+  /** packed pre climates . */
+  private final int[] preClimates;
+
+  /**
+   *
+   * @param fromYear the first year of the table
+   * @param toYear the last year of the table
+   * @param months packed months
+   * @param firstMonths index of the first month of each year
+   * @param endOfYears epoch day of the day after the end of each year
+   * @param preClimates packed pre climates
+   */
+  private YearTable(int fromYear, int toYear, int[] months, int[] firstMonths, int[] endOfYears, int[] preClimates) {
+    this.fromYear = fromYear;
+    this.toYear = toYear;
+    this.months = months;
+    this.firstMonths = firstMonths;
+    this.endOfYears = endOfYears;
+    this.preClimates = preClimates;
+  }
+
+  /**
+   * computes the months of the years in the specified calendar system .
+   *
+   * @param lunisolar {@link Lunisolar} calendar system
+   * @param fromYear the first year of the table
+   * @param toYear the last year of the table
+   * @return {@link YearTable}
+   */
+  static YearTable of(final @lombok.NonNull Lunisolar lunisolar, final int fromYear, final int toYear) {
+    if (fromYear > toYear) {
+      throw new IllegalArgumentException(String.format("invalid range of year: %d - %d", fromYear, toYear));
+    }
+    // @formatter:off
+    final LunisolarCalendar[] calendars = IntStream.rangeClosed(fromYear, toYear).parallel()
+      .mapToObj(year -> new LunisolarCalendar(lunisolar, Julian.ofEpochMilli(lunisolar.asStartOfDay(year, 7, 1))))
+      .toArray(LunisolarCalendar[]::new);
+    // @formatter:on
+    final int[] months = new int[Arrays.stream(calendars).mapToInt(c -> c.lunarMonths.size()).sum()];
+    final int[] firstMonths = new int[calendars.length];
+    final int[] endOfYears = new int[calendars.length];
+    final int[] preClimates = new int[Arrays.stream(calendars).mapToInt(c -> c.lunarMonths.solarTerms.size()).sum()];
+    final long offsetMillis = lunisolar.offsetMillis();
+    int index = 0;
+    int preClimateIndex = 0;
+    for (int year = 0; year < calendars.length; year++) {
+      final LunarMonths lunarMonths = calendars[year].lunarMonths;
+      firstMonths[year] = index;
+      for (int i = 0; i < lunarMonths.size(); i++) {
+        months[index++] = pack(lunarMonths.firstDays[i], lunarMonths.monthOfYear(i), lunarMonths.is(i, LunarMonths.intercalary));
+      }
+      endOfYears[year] = lunarMonths.lastDays[lunarMonths.size() - 1] + 1;
+      final SolarTerms solarTerms = lunarMonths.solarTerms;
+      for (int term = 0; term < solarTerms.size(); term++) {
+        final long dayOfTerm = EpochDays.ofEpochMilli(solarTerms.epochMillis[term], offsetMillis);
+        if (!solarTerms.isMidClimate(term) && (preClimateIndex < 1 || dayOfTerm > (preClimates[preClimateIndex - 1] >> shiftOfCycle))) {
+          preClimates[preClimateIndex++] = (Math.toIntExact(dayOfTerm) << shiftOfCycle) | Sexagenary.ofPreClimate(dayOfTerm, solarTerms.longitudes[term]);
+        }
+      }
+    }
+
+    return new YearTable(fromYear, toYear, months, firstMonths, endOfYears, Arrays.copyOf(preClimates, preClimateIndex));
+  }
+
+  /**
+   * packs a month into an int .
+   *
+   * @param firstDay epoch day of the first day of the month
+   * @param monthOfYear month of year
+   * @param intercalary true if the month is a leap month
+   * @return the packed month
+   */
+  static int pack(final long firstDay, final int monthOfYear, final boolean intercalary) {
+    return (Math.toIntExact(firstDay) << shift) | (monthOfYear << 1) | (intercalary ? 1 : 0);
+  }
+
+  /**
+   * returns the index of the month which contains specified day .
+   *
+   * @param epochDay epoch day in the zone of the calendar system
+   * @return the index of the month, or -1 if the table does not cover the day
+   */
+  int indexOf(final long epochDay) {
+    if (epochDay < firstDay(0) || epochDay >= endOfYears[endOfYears.length - 1]) {
+      return -1;
+    }
+    final int index = -Arrays.binarySearch(months, (((int) epochDay) << shift) | ((1 << shift) - 1)) - 2;
+
+    return epochDay < endOfYears[yearIndexOf(index)] ? index : -1;
+  }
+
+  /**
+   * returns the index of the month in the year .
+   *
+   * @param year the year
+   * @param monthOfYear month of year
+   * @param intercalary true if the month is a leap month
+   * @return the index of the month, or -1 if the year does not have the month
+   */
+  int indexOf(final int year, final int monthOfYear, final boolean intercalary) {
+    final int yearIndex = year - fromYear;
+    final int endOfYear = yearIndex + 1 < firstMonths.length ? firstMonths[yearIndex + 1] : months.length;
+    for (int i = firstMonths[yearIndex]; i < endOfYear; i++) {
+      if (monthOfYear(i) == monthOfYear && isIntercalary(i) == intercalary) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * returns the year which the month belongs to .
+   *
+   * @param index the index of the month
+   * @return the year
+   */
+  int yearOf(final int index) {
+    return fromYear + yearIndexOf(index);
+  }
+
+  /**
+   * returns the epoch day of the first day of the month .
+   *
+   * @param index the index of the month
+   * @return epoch day of the first day
+   */
+  int firstDay(final int index) {
+    return months[index] >> shift;
+  }
+
+  /**
+   * returns the epoch day of the last day of the month .
+   *
+   * @param index the index of the month
+   * @return epoch day of the last day
+   */
+  int lastDay(final int index) {
+    final int yearIndex = yearIndexOf(index);
+    final int nextYearIndex = yearIndex + 1;
+
+    return index + 1 < months.length && (nextYearIndex >= firstMonths.length || firstMonths[nextYearIndex] > index + 1) ? firstDay(index + 1) - 1 : endOfYears[yearIndex] - 1;
+  }
+
+  /**
+   * returns the number of the month .
+   *
+   * @param index the index of the month
+   * @return month of year
+   */
+  int monthOfYear(final int index) {
+    return (months[index] >> 1) & maskOfMonth;
+  }
+
+  /**
+   * returns true if the month is a leap month .
+   *
+   * @param index the index of the month
+   * @return true if the month is a leap month
+   */
+  boolean isIntercalary(final int index) {
+    return (months[index] & 1) != 0;
+  }
+
+  /**
+   * returns the ordinal in the sexagenary cycle of the month counted from pre climates (&quot;節月&quot;), which contains specified day .
+   *
+   * @param epochDay epoch day in the zone of the calendar system
+   * @return the ordinal in the cycle, 0 to 59
+   */
+  int cycleOfMonth(final long epochDay) {
+    final int index = -Arrays.binarySearch(preClimates, (((int) epochDay) << shiftOfCycle) | ((1 << shiftOfCycle) - 1)) - 2;
+
+    return preClimates[index] & ((1 << shiftOfCycle) - 1);
+  }
+
+  /**
+   * returns the number of months in the table .
+   *
+   * @return the number of months
+   */
+  int size() {
+    return months.length;
+  }
+
+  /**
+   * returns the position of the year which the month belongs to .
+   *
+   * @param index the index of the month
+   * @return the position of the year in the table
+   */
+  private int yearIndexOf(final int index) {
+    final int result = Arrays.binarySearch(firstMonths, index);
+
+    return result < 0 ? -result - 2 : result;
+  }
+}
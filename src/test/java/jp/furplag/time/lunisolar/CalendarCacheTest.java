@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class CalendarCacheTest {
+
+  private static double julianOf(String text) {
+    return Julian.ofEpochMilli(OffsetDateTime.parse(text).toInstant().toEpochMilli());
+  }
+
+  @Test
+  public void test() {
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final CalendarCache cache = lunisolar.getCalendarCache();
+    assertThat(cache.size(), is(0));
+    assertThat(cache.getHitRate(), is(1.0));
+
+    final LunisolarCalendar calendar = lunisolar.calendarOf(julianOf("2033-06-01T00:00+09:00"));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(lunisolar.calendarOf(julianOf("2033-01-01T00:00+09:00")) == calendar, is(true));
+    assertThat(lunisolar.calendarOf(julianOf("2033-12-31T23:59+09:00")) == calendar, is(true));
+    assertThat(cache.getHitCount(), is(2L));
+    assertThat(lunisolar.calendarOf(julianOf("2034-01-01T00:00+09:00")) == calendar, is(false));
+    assertThat(cache.size(), is(2));
+    assertThat(cache.getHitRate(), is(.5));
+    assertThat(cache.getIfPresent(2033) == calendar, is(true));
+    assertThat(cache.getIfPresent(2035), is(nullValue()));
+    assertThat(cache.getHitCount() + cache.getMissCount(), is(4L));
+    assertThat(calendar.toString(), is(new LunisolarCalendar(lunisolar, julianOf("2033-06-01T00:00+09:00")).toString()));
+
+    cache.resetStats();
+    assertThat(cache.getHitCount(), is(0L));
+    assertThat(cache.getMissCount(), is(0L));
+    cache.clear();
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void testEviction() {
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final CalendarCache cache = lunisolar.getCalendarCache().setMaximumSize(2);
+    assertThat(cache.getMaximumSize(), is(2));
+    assertThat(cache.getEviction(), is(CalendarCache.Eviction.LRU));
+
+    final LunisolarCalendar calendar2017 = lunisolar.calendarOf(julianOf("2017-06-01T00:00+09:00"));
+    lunisolar.calendarOf(julianOf("2018-06-01T00:00+09:00"));
+    assertThat(lunisolar.calendarOf(julianOf("2017-07-01T00:00+09:00")) == calendar2017, is(true));
+    lunisolar.calendarOf(julianOf("2019-06-01T00:00+09:00"));
+    assertThat(cache.size(), is(2));
+    assertThat(cache.getEvictionCount(), is(1L));
+    assertThat(lunisolar.calendarOf(julianOf("2017-08-01T00:00+09:00")) == calendar2017, is(true));
+
+    cache.setEviction(CalendarCache.Eviction.FIFO);
+    assertThat(cache.getEviction(), is(CalendarCache.Eviction.FIFO));
+    assertThat(cache.size(), is(2));
+    cache.setMaximumSize(1);
+    assertThat(cache.size(), is(1));
+    assertThat(cache.getEvictionCount(), is(2L));
+
+    cache.setMaximumSize(0);
+    assertThat(cache.size(), is(0));
+    final LunisolarCalendar uncached = lunisolar.calendarOf(julianOf("2017-06-01T00:00+09:00"));
+    assertThat(lunisolar.calendarOf(julianOf("2017-06-01T00:00+09:00")) == uncached, is(false));
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void testConcurrency() {
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final ConcurrentHashMap<Integer, LunisolarCalendar> calendars = new ConcurrentHashMap<>();
+    // @formatter:off
+    final List<Boolean> results = IntStream.range(0, 64).parallel()
+      .mapToObj(i -> {
+        final int year = 2030 + (i % 4);
+        final LunisolarCalendar calendar = lunisolar.calendarOf(julianOf(year + "-06-01T00:00+09:00"));
+
+        return calendars.computeIfAbsent(year, (k) -> calendar) == calendar;
+      }).collect(Collectors.toList());
+    // @formatter:on
+    assertThat(results.contains(false), is(false));
+    assertThat(lunisolar.getCalendarCache().size(), is(4));
+    assertThat(lunisolar.getCalendarCache().getHitCount() + lunisolar.getCalendarCache().getMissCount(), is(64L));
+  }
+
+  @Test
+  public void testColdYear() throws Exception {
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final CountDownLatch ready = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<LunisolarCalendar>> futures = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        futures.add(executor.submit(() -> {
+          ready.await();
+
+          return lunisolar.calendarOf(julianOf("2040-06-01T00:00+09:00"));
+        }));
+      }
+      ready.countDown();
+      final LunisolarCalendar calendar = futures.get(0).get();
+      for (Future<LunisolarCalendar> future : futures) {
+        assertThat(future.get() == calendar, is(true));
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(lunisolar.getCalendarCache().getMissCount(), is(1L));
+    assertThat(lunisolar.getCalendarCache().getHitCount(), is(31L));
+  }
+
+  @Test
+  public void testMXBean() throws Exception {
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final CalendarCache cache = lunisolar.getCalendarCache();
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final ObjectName name = new ObjectName("jp.furplag.time.lunisolar:type=CalendarCache,name=test");
+    server.registerMBean(cache, name);
+    try {
+      lunisolar.calendarOf(julianOf("2033-06-01T00:00+09:00"));
+      lunisolar.calendarOf(julianOf("2033-01-01T00:00+09:00"));
+      assertThat(server.getAttribute(name, "HitCount"), is(1L));
+      assertThat(server.getAttribute(name, "MissCount"), is(1L));
+      assertThat(server.getAttribute(name, "HitRate"), is(.5));
+      assertThat(server.getAttribute(name, "MaximumSize"), is(CalendarCache.maximumSizeDefault));
+      assertThat(server.getAttribute(name, "Eviction"), is("LRU"));
+      assertThat(server.invoke(name, "size", null, null), is(1));
+      server.invoke(name, "resetStats", null, null);
+      assertThat(cache.getMissCount(), is(0L));
+      server.invoke(name, "clear", null, null);
+      assertThat(cache.size(), is(0));
+    } finally {
+      server.unregisterMBean(name);
+    }
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      Lunisolar.Tenpo.getCalendarCache().setMaximumSize(-1);
+      fail("must raise IAE .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex instanceof IllegalArgumentException, is(true));
+    }
+    assertThat(Lunisolar.Tenpo.getCalendarCache().getMaximumSize(), is(CalendarCache.maximumSizeDefault));
+    assertThat(Lunisolar.Tenpo.getCalendarCache().toString().startsWith("CalendarCache{"), is(true));
+  }
+}
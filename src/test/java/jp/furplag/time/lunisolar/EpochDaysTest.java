@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class EpochDaysTest {
+
+  @Test
+  public void test() {
+    for (long epochDay = LocalDate.of(-1000, 1, 1).toEpochDay(); epochDay <= LocalDate.of(3000, 12, 31).toEpochDay(); epochDay++) {
+      final LocalDate date = LocalDate.ofEpochDay(epochDay);
+      assertThat(EpochDays.yearOf(epochDay), is(date.getYear()));
+      assertThat(EpochDays.monthOf(epochDay), is(date.getMonthValue()));
+      assertThat(EpochDays.dayOf(epochDay), is(date.getDayOfMonth()));
+      assertThat(EpochDays.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth()), is(epochDay));
+      assertThat(EpochDays.lengthOfMonth(date.getYear(), date.getMonthValue()), is(date.lengthOfMonth()));
+    }
+  }
+
+  @Test
+  public void testOffset() {
+    final Random random = new Random(20171114L);
+    for (ZoneOffset zoneOffset : new ZoneOffset[] { ZoneOffset.UTC, ZoneOffset.ofHours(7), ZoneOffset.ofHours(9), ZoneOffset.ofHoursMinutes(8, 30), ZoneOffset.ofHours(-5) }) {
+      final long offsetMillis = zoneOffset.getTotalSeconds() * 1000L;
+      for (int i = 0; i < 100000; i++) {
+        final long epochMilli = (long) ((random.nextDouble() - .5) * 2 * 40000000000000L);
+        final OffsetDateTime dateTime = Instant.ofEpochMilli(epochMilli).atOffset(zoneOffset);
+        assertThat(EpochDays.ofEpochMilli(epochMilli, offsetMillis), is(dateTime.toLocalDate().toEpochDay()));
+        assertThat(EpochDays.toEpochMilli(EpochDays.ofEpochMilli(epochMilli, offsetMillis), offsetMillis), is(dateTime.truncatedTo(ChronoUnit.DAYS).toInstant().toEpochMilli()));
+        assertThat(EpochDays.withMonth(epochMilli, offsetMillis, 4), is(dateTime.with(ChronoField.MONTH_OF_YEAR, 4).toInstant().toEpochMilli()));
+        assertThat(EpochDays.withMonth(epochMilli, offsetMillis, 2), is(dateTime.with(ChronoField.MONTH_OF_YEAR, 2).toInstant().toEpochMilli()));
+        assertThat(EpochDays.withMonth(epochMilli, offsetMillis, 12), is(dateTime.with(ChronoField.MONTH_OF_YEAR, 12).toInstant().toEpochMilli()));
+      }
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class InstantTableTest {
+
+  @Test
+  public void test() {
+    final InstantTable table = new InstantTable(2048);
+    assertThat(table.size(), is(0));
+    assertThat(Double.isNaN(table.get(0)), is(true));
+    table.put(0, 0.0);
+    table.put(-2048, Julian.j2000);
+    table.put(2047, -1.5);
+    table.put(2048, 1.0);
+    table.put(-2049, 1.0);
+    table.put(1, Double.NaN);
+    assertThat(table.get(0), is(0.0));
+    assertThat(table.get(-2048), is(Julian.j2000));
+    assertThat(table.get(2047), is(-1.5));
+    assertThat(Double.isNaN(table.get(2048)), is(true));
+    assertThat(Double.isNaN(table.get(-2049)), is(true));
+    assertThat(Double.isNaN(table.get(1)), is(true));
+    assertThat(table.size(), is(3));
+
+    table.put(0, 1.0);
+    assertThat(table.get(0), is(0.0));
+
+    table.clear();
+    assertThat(table.size(), is(0));
+    assertThat(Double.isNaN(table.get(-2048)), is(true));
+    table.put(0, 1.0);
+    assertThat(table.get(0), is(1.0));
+  }
+
+  @Test
+  public void testKey() {
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    assertThat(InstantTable.Key.ofLunations(lunisolar), is(InstantTable.Key.ofLunations(Lunisolar.of(ZoneOffset.ofHours(8)))));
+    assertThat(InstantTable.Key.ofLunations(lunisolar).hashCode(), is(InstantTable.Key.ofLunations(Lunisolar.Kansei).hashCode()));
+    assertThat(InstantTable.Key.ofLunations(lunisolar).equals(InstantTable.Key.ofTerms(lunisolar)), is(false));
+    assertThat(InstantTable.Key.ofTerms(lunisolar).equals(InstantTable.Key.ofTerms(Lunisolar.Kansei)), is(false));
+    assertThat(InstantTable.Key.ofTerms(lunisolar).equals(InstantTable.Key.ofTerms(((StandardLunisolar) lunisolar).withSolver(Solver.SECANT))), is(false));
+    assertThat(InstantTable.Key.ofTerms(lunisolar).equals(null), is(false));
+  }
+
+  @Test
+  public void testIsolate() {
+    final double julianDate = Julian.ofEpochMilli(Instant.parse("2033-12-07T00:00:00.000Z").toEpochMilli());
+    final Lunisolar lunisolar = Lunisolar.of(ZoneOffset.ofHours(9));
+    final Lunisolar unmemoized = lunisolar.isolate(false);
+    final Lunisolar memoized = lunisolar.isolate(true).parallelize();
+    assertThat(unmemoized.lunations == lunisolar.lunations, is(false));
+    assertThat(memoized.terms == lunisolar.terms, is(false));
+    assertThat(memoized.unparallelize().terms == memoized.terms, is(true));
+    assertThat(Math.abs(unmemoized.latestNewMoon(julianDate) - lunisolar.latestNewMoon(julianDate)) < 1.0 / 86400000.0, is(true));
+    assertThat(Math.abs(memoized.closestTerm(julianDate, 270) - lunisolar.closestTerm(julianDate, 270)) < 1.0 / 86400000.0, is(true));
+    assertThat(unmemoized.lunations.size(), is(0));
+    assertThat(memoized.lunations.size(), is(0));
+    assertThat(memoized.terms.size(), is(1));
+    assertThat(unmemoized.calendarOfYear(2033).toString(), is(lunisolar.calendarOfYear(2033).toString()));
+    assertThat(unmemoized.terms.size(), is(0));
+  }
+
+  @Test
+  public void testLatestNewMoon() {
+    // the settings differ from the others, so that the instants are not solved yet .
+    final LunisolarStatistics statistics = new LunisolarStatistics();
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9), 6E-10, 97).measure(statistics);
+    final double newMoon = lunisolar.latestNewMoon(Julian.ofEpochMilli(Instant.parse("2033-12-07T00:00:00.000Z").toEpochMilli()));
+    final long solutions = statistics.getNewMoonSolutions();
+    // the next lunation is not solved yet, though it is a candidate in the last day of the month .
+    for (double d = 0; d < 29; d += .125) {
+      assertThat(lunisolar.latestNewMoon(newMoon + d), is(newMoon));
+    }
+    assertThat(statistics.getNewMoonSolutions(), is(solutions));
+
+    Lunisolar.clearInstantTables();
+    assertThat(lunisolar.lunations.size(), is(0));
+    assertThat(Math.abs(lunisolar.latestNewMoon(newMoon + 1) - newMoon) < 1.0 / 86400000.0, is(true));
+    assertThat(statistics.getNewMoonSolutions(), is(solutions + 1));
+  }
+
+  @Test
+  public void testConcurrency() {
+    final InstantTable table = new InstantTable(1 << 14);
+    IntStream.range(-(1 << 14), 1 << 14).parallel().forEach(i -> table.put(i, i * .5));
+    IntStream.range(-(1 << 14), 1 << 14).parallel().forEach(i -> table.put(i, i * 2.0));
+    assertThat(table.size(), is(1 << 15));
+    assertThat(IntStream.range(-(1 << 14), 1 << 14).filter(i -> table.get(i) != i * .5).count(), is(0L));
+  }
+
+  @Test
+  public void testLunations() {
+    final double julianDate = Julian.ofEpochMilli(Instant.parse("2033-12-07T00:00:00.000Z").toEpochMilli());
+    final StandardLunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final StandardLunisolar another = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(8));
+    final StandardLunisolar fallback = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9), Lunisolar.precisionDefault, 2);
+    assertThat(lunisolar.lunations == another.lunations, is(true));
+    assertThat(lunisolar.lunations == fallback.lunations, is(false));
+    assertThat(lunisolar.lunations == lunisolar.withSolver(Solver.SECANT).lunations, is(false));
+
+    final double newMoon = lunisolar.latestNewMoon(julianDate);
+    assertThat(lunisolar.lunations.get(Math.round((newMoon - Lunisolar.newMoonOfEpoch) / Lunisolar.meanSynodicMonth)), is(newMoon));
+    assertThat(Math.abs(newMoon - lunisolar.solver.latestNewMoon(lunisolar, julianDate)) < 1.0 / 86400000.0, is(true));
+    for (double d = 0; d < 30; d += .25) {
+      final double expect = lunisolar.solver.latestNewMoon(lunisolar, julianDate + d);
+      assertThat(Math.abs(lunisolar.latestNewMoon(julianDate + d) - expect) < 1.0 / 86400000.0, is(true));
+      assertThat(another.latestNewMoon(julianDate + d), is(lunisolar.latestNewMoon(julianDate + d)));
+    }
+  }
+
+  @Test
+  public void testTerms() {
+    final double julianDate = Julian.ofEpochMilli(Instant.parse("2033-12-07T00:00:00.000Z").toEpochMilli());
+    final StandardLunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final StandardLunisolar chinese = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(8));
+    assertThat(lunisolar.terms == chinese.terms, is(true));
+    assertThat(lunisolar.terms == lunisolar.withSolver(Solver.SECANT).terms, is(false));
+
+    final double winterSolstice = lunisolar.closestTerm(julianDate, 270);
+    final long index = Math.round(Lunisolar.meanLongitude(winterSolstice) / 15.0);
+    assertThat(index % 24, is(18L));
+    assertThat(lunisolar.terms.get(index), is(winterSolstice));
+    assertThat(chinese.closestTerm(julianDate + 20, 270), is(winterSolstice));
+    for (int degree = 0; degree < 360; degree += 15) {
+      final double expect = lunisolar.solver.closestTerm(lunisolar, julianDate, degree);
+      assertThat(Math.abs(lunisolar.closestTerm(julianDate, degree) - expect) < 1.0 / 86400000.0, is(true));
+      assertThat(chinese.closestTerm(julianDate, degree), is(lunisolar.closestTerm(julianDate, degree)));
+    }
+    assertThat(lunisolar.closestTerm(julianDate, 270.5), is(lunisolar.solver.closestTerm(lunisolar, julianDate, 270.5)));
+  }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+public class LazyLunisolarDateTest {
+
+  @Test
+  public void test() {
+    final long epochMilli = OffsetDateTime.parse("2017-06-24T12:00+09:00").toInstant().toEpochMilli();
+    final LazyLunisolarDate lazyLunisolarDate = LazyLunisolarDate.ofEpochMilli(epochMilli);
+    assertThat(lazyLunisolarDate.isResolved(), is(false));
+    assertThat(lazyLunisolarDate.getEpochMilli(), is(epochMilli));
+    assertThat(lazyLunisolarDate.getLunisolarSystem(), is(LunisolarSystem.JAPANESE));
+    assertThat(lazyLunisolarDate.isResolved(), is(false));
+    assertThat(lazyLunisolarDate.getMonthOfYear(), is(5));
+    assertThat(lazyLunisolarDate.isResolved(), is(true));
+    assertThat(lazyLunisolarDate.resolve() == lazyLunisolarDate.resolve(), is(true));
+    assertThat(lazyLunisolarDate.getYear(), is(2017L));
+    assertThat(lazyLunisolarDate.isIntercalary(), is(true));
+    assertThat(lazyLunisolarDate.getDayOfMonth(), is(1L));
+    assertThat(lazyLunisolarDate.getHeavenlyStem(), is(3));
+    assertThat(lazyLunisolarDate.getEarthlyBranch(), is(9));
+    assertThat(lazyLunisolarDate.getCycleOfMonth(), is(LunisolarDate.ofEpochMilli(epochMilli).cycleOfMonth));
+    assertThat(lazyLunisolarDate.getCycleOfDay(), is(LunisolarDate.ofEpochMilli(epochMilli).cycleOfDay));
+    assertThat(lazyLunisolarDate.toString(), is(LunisolarDate.ofEpochMilli(epochMilli).toString()));
+    assertThat(LazyLunisolarDate.ofEpochMilli(epochMilli, LunisolarSystem.CHINESE).toString(), is(LunisolarDate.ofEpochMilli(epochMilli, LunisolarSystem.CHINESE).toString()));
+  }
+
+  @Test
+  public void testCompare() {
+    final CalendarCache calendarCache = Lunisolar.Tenpo.getCalendarCache();
+    calendarCache.clear();
+    calendarCache.resetStats();
+    final long from = OffsetDateTime.parse("1900-01-01T00:00+09:00").toInstant().toEpochMilli();
+    final long[] epochMillis = LongStream.range(0, 20000).map(i -> from + ((i * 7919) % 10000) * 86400000L * 5).toArray();
+    final LazyLunisolarDate[] lazyLunisolarDates = LazyLunisolarDate.ofEpochMillis(epochMillis);
+    final LazyLunisolarDate[] sorted = lazyLunisolarDates.clone();
+    Arrays.sort(sorted);
+    final TreeSet<LazyLunisolarDate> distinct = new TreeSet<>(Arrays.asList(lazyLunisolarDates));
+    assertThat(distinct.size(), is(10000));
+    assertThat(Arrays.stream(lazyLunisolarDates).distinct().count(), is(10000L));
+    assertThat(LazyLunisolarDate.ofEpochMilli(from).equals(LazyLunisolarDate.ofEpochMilli(from)), is(true));
+    assertThat(LazyLunisolarDate.ofEpochMilli(from).hashCode(), is(LazyLunisolarDate.ofEpochMilli(from).hashCode()));
+    assertThat(LazyLunisolarDate.ofEpochMilli(from).equals(LazyLunisolarDate.ofEpochMilli(from, LunisolarSystem.KOREAN)), is(false));
+    assertThat(LazyLunisolarDate.ofEpochMilli(from).compareTo(LazyLunisolarDate.ofEpochMilli(from, LunisolarSystem.KOREAN)) < 0, is(true));
+    assertThat(LazyLunisolarDate.ofEpochMilli(from).equals(null), is(false));
+    for (int i = 1; i < sorted.length; i++) {
+      assertThat(sorted[i - 1].getEpochMilli() <= sorted[i].getEpochMilli(), is(true));
+    }
+    assertThat(Arrays.stream(lazyLunisolarDates).anyMatch(LazyLunisolarDate::isResolved), is(false));
+    assertThat(calendarCache.getMissCount() + calendarCache.getHitCount(), is(0L));
+
+    final List<LazyLunisolarDate> list = List.copyOf(distinct);
+    LazyLunisolarDate.resolveAll(list);
+    assertThat(list.stream().allMatch(LazyLunisolarDate::isResolved), is(true));
+    assertThat(list.stream().map(LazyLunisolarDate::toString).collect(Collectors.toList()), is(list.stream().map(d -> LunisolarDate.ofEpochMilli(d.getEpochMilli()).toString()).collect(Collectors.toList())));
+  }
+
+  @Test
+  public void testSerialize() throws Exception {
+    final LazyLunisolarDate lazyLunisolarDate = LazyLunisolarDate.ofEpochMilli(0, LunisolarSystem.VIETNAMESE);
+    lazyLunisolarDate.resolve();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(lazyLunisolarDate);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      final LazyLunisolarDate deserialized = (LazyLunisolarDate) in.readObject();
+      assertThat(deserialized, is(lazyLunisolarDate));
+      assertThat(deserialized.isResolved(), is(false));
+      assertThat(deserialized.toString(), is(lazyLunisolarDate.toString()));
+    }
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      LazyLunisolarDate.ofEpochMilli(0, null);
+      fail("must raise NPE .");
+    } catch (NullPointerException ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+    try {
+      LazyLunisolarDate.resolveAll(null);
+      fail("must raise NPE .");
+    } catch (NullPointerException ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class LunarMonthSpliteratorTest {
+
+  private static String summary(LunarMonth month) {
+    return String.format("%s:%d%s%s%d%d", month.range, month.monthOfYear, month.intercalary, month.november, month.preClimates.size(), month.midClimates.size());
+  }
+
+  @Test
+  public void test() {
+    final StandardLunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    // @formatter:off
+    final List<String> expect = IntStream.rangeClosed(1844, 2300)
+      .mapToObj(year -> new LunisolarCalendar(lunisolar, Julian.ofEpochMilli(OffsetDateTime.of(year, 7, 1, 0, 0, 0, 0, lunisolar.zoneOffset).toInstant().toEpochMilli())))
+      .flatMap(c -> c.monthsOfYear.stream())
+      .map(LunarMonthSpliteratorTest::summary)
+      .collect(Collectors.toList());
+    // @formatter:on
+    assertThat(lunisolar.monthsBetween(1844, 2300).map(LunarMonthSpliteratorTest::summary).collect(Collectors.toList()), is(expect));
+    assertThat(lunisolar.monthsBetween(1844, 2300).parallel().map(LunarMonthSpliteratorTest::summary).collect(Collectors.toList()), is(expect));
+    assertThat(lunisolar.monthsBetween(2017, 2017).count(), is(13L));
+    assertThat(lunisolar.monthsBetween(2017, 2017).filter(e -> e.intercalary).findFirst().get().monthOfYear, is(5));
+  }
+
+  @Test
+  public void testSplit() {
+    final Spliterator<LunarMonth> spliterator = new LunarMonthSpliterator(Lunisolar.Tenpo, 1844, 1907);
+    assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED), is(true));
+    assertThat(spliterator.estimateSize(), is(791L));
+    final Spliterator<LunarMonth> prefix = spliterator.trySplit();
+    assertThat(prefix.estimateSize(), is(395L));
+    assertThat(spliterator.estimateSize(), is(395L));
+    assertThat(prefix.trySplit(), is(notNullValue()));
+    assertThat(prefix.trySplit(), is(nullValue()));
+    assertThat(spliterator.tryAdvance(e -> {}), is(true));
+    assertThat(spliterator.trySplit(), is(nullValue()));
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      Lunisolar.Tenpo.monthsBetween(2001, 2000);
+      fail("must raise IllegalArgumentException .");
+    } catch (Exception ex) {
+      assertThat(ex instanceof IllegalArgumentException, is(true));
+    }
+  }
+}
@@ -19,10 +19,7 @@ package jp.furplag.time.lunisolar;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
-import java.util.Arrays;
+import java.time.OffsetDateTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -66,54 +63,36 @@ public class LunarMonthTest {
   }
 
   @Test
-  public void paintItGreen() throws Throwable {
-    try {
-      LunarMonth.constructs(null, null);
-      fail("must raise NPE .");
-    } catch (NullPointerException ex) {
-      assertThat(ex instanceof NullPointerException, is(true));
-    }
-    try {
-      LunarMonth.constructs(null, Arrays.asList(0L, 1L, 2L));
-      fail("must raise NPE .");
-    } catch (NullPointerException ex) {
-      assertThat(ex instanceof NullPointerException, is(true));
-    }
-    try {
-      SolarTerm.ofClosest(Julian.ofEpochMilli(0), 0, Lunisolar.Tenpo);
-      LunarMonth.constructs(Stream.of(90, 105, 120).map((d) -> SolarTerm.ofClosest(Julian.ofEpochMilli(0), d, Lunisolar.Tenpo)).collect(Collectors.toList()), null);
-      fail("must raise NPE .");
-    } catch (NullPointerException ex) {
-      assertThat(ex instanceof NullPointerException, is(true));
-    }
-    try {
-      MethodHandle intercalaryze = null;
-      intercalaryze = MethodHandles.privateLookupIn(LunarMonth.class, MethodHandles.lookup()).findStatic(LunarMonth.class, "intercalaryze", MethodType.methodType(List.class, List.class));
-      intercalaryze.invoke(null);
-      fail("must raise NPE .");
-    } catch (NullPointerException ex) {
-      assertThat(ex instanceof NullPointerException, is(true));
+  public void testView() {
+    final Lunisolar lunisolar = Lunisolar.Tenpo;
+    final double julianDate = Julian.ofEpochMilli(OffsetDateTime.of(2033, 7, 1, 0, 0, 0, 0, lunisolar.zoneOffset).toInstant().toEpochMilli());
+    final List<SolarTerm> solarTerms = lunisolar.termsOfBase(julianDate);
+    final List<Long> firstDays = lunisolar.termsToFirstDays(solarTerms);
+    for (LunarMonth month : LunarMonths.of(lunisolar, SolarTerms.of(solarTerms), firstDays.stream().mapToLong(Long::longValue).toArray()).toList()) {
+      final LunarMonth expect = new LunarMonth(month.range.getMinimum(), month.range.getMaximum(), solarTerms);
+      assertThat(month.preClimates.stream().map(t -> t.epochMilli).collect(Collectors.toList()), is(expect.preClimates.stream().map(t -> t.epochMilli).collect(Collectors.toList())));
+      assertThat(month.midClimates.stream().map(t -> t.epochMilli).collect(Collectors.toList()), is(expect.midClimates.stream().map(t -> t.epochMilli).collect(Collectors.toList())));
+      assertThat(month.intercalaryable, is(expect.intercalaryable));
+      assertThat(month.november, is(expect.november));
     }
+  }
+
+  @Test
+  public void paintItGreen() throws Throwable {
     try {
-      MethodHandle materialize = null;
-      materialize = MethodHandles.privateLookupIn(LunarMonth.class, MethodHandles.lookup()).findStatic(LunarMonth.class, "materialize", MethodType.methodType(void.class, List.class, LunarMonth.class, LunarMonth.class));
-      materialize.invoke(null, null, null);
+      LunarMonths.of(null, null, null);
       fail("must raise NPE .");
     } catch (NullPointerException ex) {
       assertThat(ex instanceof NullPointerException, is(true));
     }
     try {
-      MethodHandle materialize = null;
-      materialize = MethodHandles.privateLookupIn(LunarMonth.class, MethodHandles.lookup()).findStatic(LunarMonth.class, "materialize", MethodType.methodType(void.class, List.class));
-      materialize.invoke(null);
+      LunarMonths.of(Lunisolar.Tenpo, null, new long[] { 0L, 1L, 2L });
       fail("must raise NPE .");
     } catch (NullPointerException ex) {
       assertThat(ex instanceof NullPointerException, is(true));
     }
     try {
-      MethodHandle monthOfYear = null;
-      monthOfYear = MethodHandles.privateLookupIn(LunarMonth.class, MethodHandles.lookup()).findStatic(LunarMonth.class, "monthOfYear", MethodType.methodType(List.class, List.class));
-      monthOfYear.invoke(null);
+      LunarMonths.of(Lunisolar.Tenpo, SolarTerms.of(Stream.of(90, 105, 120).map((d) -> SolarTerm.ofClosest(Julian.ofEpochMilli(0), d, Lunisolar.Tenpo)).collect(Collectors.toList())), null);
       fail("must raise NPE .");
     } catch (NullPointerException ex) {
       assertThat(ex instanceof NullPointerException, is(true));
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class LunarMonthsTest {
+
+  @Test
+  public void test() {
+    final Lunisolar lunisolar = Lunisolar.Tenpo;
+    for (int year = 1850; year <= 2300; year += 7) {
+      final double julianDate = Julian.ofEpochMilli(OffsetDateTime.of(year, 7, 1, 0, 0, 0, 0, lunisolar.zoneOffset).toInstant().toEpochMilli());
+      final SolarTerms solarTerms = lunisolar.solarTermsOf(julianDate);
+      final LunarMonths lunarMonths = LunarMonths.of(lunisolar, solarTerms, lunisolar.firstDaysOf(solarTerms));
+      assertThat(lunarMonths.monthOfYear(0), is(1));
+      assertThat(lunarMonths.monthOfYear(lunarMonths.size() - 1), is(12));
+      assertThat(lunarMonths.size(), is(lunarMonths.firstDays.length));
+      int intercalaries = 0;
+      for (int i = 0; i < lunarMonths.size(); i++) {
+        assertThat(lunarMonths.lastDays[i] >= lunarMonths.firstDays[i], is(true));
+        assertThat(lunarMonths.minimum(i), is(lunisolar.asStartOfDay(Julian.ofEpochMilli(lunarMonths.minimum(i)))));
+        if (i > 0) {
+          assertThat(lunarMonths.firstDays[i], is(lunarMonths.lastDays[i - 1] + 1));
+          assertThat(lunarMonths.minimum(i), is(lunarMonths.maximum(i - 1) + 1));
+        }
+        assertThat(lunarMonths.is(i, LunarMonths.intercalaryable), is(lunarMonths.climates(i, true).isEmpty()));
+        assertThat(lunarMonths.is(i, LunarMonths.november), is(lunarMonths.climates(i, true).stream().anyMatch(t -> t.longitude == 270)));
+        assertThat(lunarMonths.is(i, LunarMonths.november), is(lunarMonths.monthOfYear(i) == 11 && !lunarMonths.is(i, LunarMonths.intercalary)));
+        intercalaries += lunarMonths.is(i, LunarMonths.intercalary) ? 1 : 0;
+        lunarMonths.climates(i, false).forEach(t -> assertThat(t instanceof SolarTerm.PreClimate, is(true)));
+        lunarMonths.climates(i, true).forEach(t -> assertThat(t instanceof SolarTerm.MidClimate, is(true)));
+      }
+      assertThat(lunarMonths.size(), is(12 + intercalaries));
+    }
+  }
+
+  @Test
+  public void testClimates() {
+    final LunisolarCalendar calendar = Lunisolar.Tenpo.calendarOfYear(2017);
+    for (LunarMonth lunarMonth : calendar.monthsOfYear) {
+      for (List<SolarTerm> climates : List.of(lunarMonth.preClimates, lunarMonth.midClimates)) {
+        for (int i = 0; i < climates.size(); i++) {
+          // the same instance in every read, so that the list works as a list .
+          assertThat(climates.get(i) == climates.get(i), is(true));
+          assertThat(climates.contains(climates.get(i)), is(true));
+          assertThat(climates.indexOf(climates.get(i)), is(i));
+        }
+      }
+    }
+    final List<SolarTerm> solarTerms = calendar.lunarMonths.solarTerms.toList();
+    assertThat(solarTerms.containsAll(calendar.monthsOfYear.get(0).midClimates), is(true));
+  }
+
+  @Test
+  public void paintItGreen() {
+    final Lunisolar lunisolar = Lunisolar.Tenpo;
+    final SolarTerms solarTerms = lunisolar.solarTermsOf(Julian.j2000);
+    final long[] firstDays = lunisolar.firstDaysOf(solarTerms);
+    try {
+      final long[] unsorted = firstDays.clone();
+      unsorted[3] = unsorted[2];
+      LunarMonths.of(lunisolar, solarTerms, unsorted);
+      fail("must raise IllegalArgumentException .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex instanceof IllegalArgumentException, is(true));
+    }
+    try {
+      LunarMonths.of(lunisolar, solarTerms, new long[] { firstDays[0], firstDays[1], firstDays[2] });
+      fail("must raise DateTimeException .");
+    } catch (DateTimeException ex) {
+      assertThat(ex instanceof DateTimeException, is(true));
+    }
+    try {
+      LunarMonths.of(lunisolar, solarTerms, new long[0]);
+      fail("must raise DateTimeException .");
+    } catch (DateTimeException ex) {
+      assertThat(ex instanceof DateTimeException, is(true));
+    }
+  }
+}
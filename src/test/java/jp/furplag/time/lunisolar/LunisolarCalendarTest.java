@@ -19,7 +19,15 @@ package jp.furplag.time.lunisolar;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
@@ -64,6 +72,42 @@ public class LunisolarCalendarTest {
     assertThat(new LunisolarCalendar(Lunisolar.Tenpo, Julian.ofEpochMilli(OffsetDateTime.parse("2033-01-01T00:00:00.000+09:00").toInstant().toEpochMilli())).toString().replaceAll("\"range\"\\:\\{.*\\},", ""), is(expect));
   }
 
+  @Test
+  public void testImmutable() throws Exception {
+    for (Class<?> clazz : new Class<?>[] { LunisolarCalendar.class, LunarMonth.class, LunarMonths.class, SolarTerm.class }) {
+      for (Field field : clazz.getDeclaredFields()) {
+        assertThat(clazz.getSimpleName() + "." + field.getName(), Modifier.isFinal(field.getModifiers()), is(true));
+      }
+    }
+    final LunisolarCalendar lunisolarCalendar = new LunisolarCalendar(Lunisolar.Tenpo, Julian.ofEpochMilli(OffsetDateTime.parse("2033-07-01T00:00:00.000+09:00").toInstant().toEpochMilli()));
+    try {
+      lunisolarCalendar.monthsOfYear.remove(0);
+      fail("must raise UnsupportedOperationException .");
+    } catch (UnsupportedOperationException ex) {
+      assertThat(ex instanceof UnsupportedOperationException, is(true));
+    }
+    try {
+      lunisolarCalendar.monthsOfYear.get(0).midClimates.clear();
+      fail("must raise UnsupportedOperationException .");
+    } catch (UnsupportedOperationException ex) {
+      assertThat(ex instanceof UnsupportedOperationException, is(true));
+    }
+
+    final String expect = lunisolarCalendar.monthsOfYear.stream().map(e -> e.range + ":" + e.monthOfYear + e.intercalary + e.midClimates.size()).collect(Collectors.joining(","));
+    final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        futures.add(executorService.submit(() -> lunisolarCalendar.monthsOfYear.stream().map(e -> e.range + ":" + e.monthOfYear + e.intercalary + e.midClimates.size()).collect(Collectors.joining(","))));
+      }
+      for (Future<String> future : futures) {
+        assertThat(future.get(), is(expect));
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
   @Test
   public void paintItGreen() {
     try {
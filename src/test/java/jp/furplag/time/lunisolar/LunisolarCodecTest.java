@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class LunisolarCodecTest {
+
+  private static String describe(List<SolarTerm> solarTerms) {
+    return solarTerms.stream().map(t -> t.epochMilli + "@" + t.longitude + (t instanceof SolarTerm.PreClimate ? "p" : "m")).collect(Collectors.joining(","));
+  }
+
+  private static String describe(LunarMonth lunarMonth) {
+    return String.format("%s %d %s %s %s [%s] [%s]", lunarMonth.range, lunarMonth.monthOfYear, lunarMonth.intercalary, lunarMonth.intercalaryable, lunarMonth.november, describe(lunarMonth.preClimates), describe(lunarMonth.midClimates));
+  }
+
+  private static List<String> describeMonths(List<LunarMonth> lunarMonths) {
+    return lunarMonths.stream().map(LunisolarCodecTest::describe).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testCalendar() {
+    for (Lunisolar lunisolar : List.of(Lunisolar.Tenpo, Lunisolar.Kansei, Lunisolar.of(ZoneOffset.ofHours(-10)), Lunisolar.of(ZoneOffset.ofHours(14)))) {
+      for (int year = 1790; year <= 2100; year += 31) {
+        final LunisolarCalendar calendar = lunisolar.calendarOfYear(year);
+        final ByteBuffer buffer = LunisolarCodec.writeCalendar(ByteBuffer.allocate(LunisolarCodec.sizeOfCalendar(calendar)), calendar);
+        assertThat(buffer.remaining(), is(0));
+        final LunisolarCalendar decoded = LunisolarCodec.readCalendar(buffer.flip(), lunisolar);
+        assertThat(buffer.remaining(), is(0));
+        assertThat(decoded.year, is(calendar.year));
+        assertThat(decoded.rangeOfYear, is(calendar.rangeOfYear));
+        assertThat(decoded.lunisolar, is(lunisolar));
+        assertThat(describeMonths(decoded.monthsOfYear), is(describeMonths(calendar.monthsOfYear)));
+        assertThat(describe(decoded.lunarMonths.solarTerms.toList()), is(describe(calendar.lunarMonths.solarTerms.toList())));
+        final long epochDay = LocalDate.of(year, 8, 15).toEpochDay();
+        assertThat(decoded.lunarMonths.cycleOfMonth(epochDay), is(calendar.lunarMonths.cycleOfMonth(epochDay)));
+        assertThat(decoded.toEpochDay(7, false, 1), is(calendar.toEpochDay(7, false, 1)));
+      }
+    }
+  }
+
+  @Test
+  public void testMonths() {
+    for (ZoneOffset zoneOffset : List.of(ZoneOffset.ofHours(9), ZoneOffset.ofHours(-10), ZoneOffset.ofHours(14), ZoneOffset.of("+08:27:52"))) {
+      final List<LunarMonth> lunarMonths = Lunisolar.of(zoneOffset).monthsBetween(2015, 2020).collect(Collectors.toList());
+      final ByteBuffer buffer = ByteBuffer.allocate(LunisolarCodec.sizeOfMonths(lunarMonths, zoneOffset) + 3).position(3);
+      LunisolarCodec.writeMonths(buffer, lunarMonths, zoneOffset);
+      assertThat(buffer.remaining(), is(0));
+      // the offset follows the header as is, even if more than 12 hours .
+      assertThat(buffer.getInt(3 + 2), is(zoneOffset.getTotalSeconds()));
+      assertThat(describeMonths(LunisolarCodec.readMonths(buffer.position(3))), is(describeMonths(lunarMonths)));
+      // the months which do not follow each other .
+      final List<LunarMonth> sparse = List.of(lunarMonths.get(0), lunarMonths.get(30));
+      assertThat(describeMonths(LunisolarCodec.readMonths(LunisolarCodec.writeMonths(ByteBuffer.allocate(LunisolarCodec.sizeOfMonths(sparse, zoneOffset)), sparse, zoneOffset).flip())), is(describeMonths(sparse)));
+    }
+    assertThat(LunisolarCodec.readMonths(LunisolarCodec.writeMonths(ByteBuffer.allocate(LunisolarCodec.sizeOfMonths(List.of(), ZoneOffset.UTC)), List.of(), ZoneOffset.UTC).flip()).isEmpty(), is(true));
+  }
+
+  @Test
+  public void testInvalidMonths() {
+    // firstDay, lastDay, and month of year of two months .
+    for (int[] invalid : new int[][] { { 10, 9, 1, 11, 39, 2 }, { 10, 39, 1, 39, 68, 2 }, { 40, 69, 2, 10, 39, 1 }, { 10, 39, 0, 40, 69, 1 }, { 10, 39, 12, 40, 69, 13 } }) {
+      final ByteBuffer buffer = ByteBuffer.allocate(32).put(LunisolarCodec.version).put((byte) 2).putInt(32400).put((byte) 0).put((byte) 2);
+      buffer.putInt(invalid[0]).putInt(invalid[1]).putInt(invalid[3]).putInt(invalid[4]).put((byte) invalid[2]).put((byte) invalid[5]);
+      buffer.put((byte) 0).put((byte) 0).put((byte) 0);
+      try {
+        LunisolarCodec.readMonths(buffer.flip());
+        fail("must raise DateTimeException .");
+      } catch (DateTimeException ex) {
+        assertThat(ex instanceof DateTimeException, is(true));
+      }
+    }
+    try {
+      LunisolarCodec.readMonths(ByteBuffer.allocate(8).put(LunisolarCodec.version).put((byte) 2).putInt(19 * 3600).put((byte) 0).put((byte) 0).flip());
+      fail("must raise DateTimeException .");
+    } catch (DateTimeException ex) {
+      assertThat(ex instanceof DateTimeException, is(true));
+    }
+  }
+
+  @Test
+  public void testTerms() {
+    final List<SolarTerm> solarTerms = Lunisolar.Tenpo.termsOfBase(Julian.ofEpochMilli(Lunisolar.Tenpo.asStartOfDay(2017, 7, 1)));
+    final ByteBuffer buffer = LunisolarCodec.writeTerms(ByteBuffer.allocate(LunisolarCodec.sizeOfTerms(solarTerms)), solarTerms);
+    // 53 terms in about 5 bytes each, instead of 8 bytes of julian date .
+    assertThat(buffer.capacity() < solarTerms.size() * 6 + 12, is(true));
+    final List<SolarTerm> decoded = LunisolarCodec.readTerms(buffer.flip());
+    assertThat(describe(decoded), is(describe(solarTerms)));
+    for (int i = 0; i < solarTerms.size(); i++) {
+      assertThat(Math.abs(decoded.get(i).julianDate - solarTerms.get(i).julianDate) < 1.0 / 86400000.0, is(true));
+    }
+    // the terms which are not sorted, nor follow each other .
+    final List<SolarTerm> unsorted = List.of(solarTerms.get(40), solarTerms.get(0), solarTerms.get(52));
+    assertThat(describe(LunisolarCodec.readTerms(LunisolarCodec.writeTerms(ByteBuffer.allocate(LunisolarCodec.sizeOfTerms(unsorted)), unsorted).flip())), is(describe(unsorted)));
+    assertThat(LunisolarCodec.readTerms(LunisolarCodec.writeTerms(ByteBuffer.allocate(LunisolarCodec.sizeOfTerms(List.of())), List.of()).flip()).isEmpty(), is(true));
+    for (byte invalid : new byte[] { -1, 24, Byte.MAX_VALUE }) {
+      final byte[] bytes = LunisolarCodec.writeTerms(ByteBuffer.allocate(LunisolarCodec.sizeOfTerms(solarTerms)), solarTerms).array();
+      // the header, and the number of terms in a byte .
+      bytes[3] = invalid;
+      try {
+        LunisolarCodec.readTerms(ByteBuffer.wrap(bytes));
+        fail("must raise IllegalArgumentException .");
+      } catch (IllegalArgumentException ex) {
+        assertThat(ex.getMessage().startsWith("invalid longitude of the term"), is(true));
+      }
+    }
+  }
+
+  @Test
+  public void paintItGreen() {
+    final LunisolarCalendar calendar = Lunisolar.Tenpo.calendarOfYear(2017);
+    final byte[] bytes = LunisolarCodec.writeCalendar(ByteBuffer.allocate(LunisolarCodec.sizeOfCalendar(calendar)), calendar).array();
+    try {
+      LunisolarCodec.readCalendar(ByteBuffer.wrap(bytes), Lunisolar.of(ZoneOffset.ofHours(8)));
+      fail("must raise IllegalArgumentException .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex.getMessage().startsWith("the calendar computed in another offset"), is(true));
+    }
+    try {
+      LunisolarCodec.readMonths(ByteBuffer.wrap(bytes));
+      fail("must raise IllegalArgumentException .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex.getMessage().startsWith("unexpected content"), is(true));
+    }
+    final byte[] future = bytes.clone();
+    future[0] = LunisolarCodec.version + 1;
+    try {
+      LunisolarCodec.readCalendar(ByteBuffer.wrap(future), Lunisolar.Tenpo);
+      fail("must raise IllegalArgumentException .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex.getMessage().startsWith("unsupported version"), is(true));
+    }
+    try {
+      LunisolarCodec.readCalendar(ByteBuffer.wrap(bytes, 0, bytes.length - 1), Lunisolar.Tenpo);
+      fail("must raise BufferUnderflowException .");
+    } catch (BufferUnderflowException ex) {
+      assertThat(ex instanceof BufferUnderflowException, is(true));
+    }
+    final List<LunarMonth> lunarMonths = List.of(Lunisolar.Tenpo.calendarOfYear(2017).monthsOfYear.get(0), Lunisolar.of(ZoneOffset.ofHours(8)).calendarOfYear(2017).monthsOfYear.get(1));
+    try {
+      LunisolarCodec.sizeOfMonths(lunarMonths, ZoneOffset.ofHours(9));
+      fail("must raise IllegalArgumentException .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex.getMessage().startsWith("the month does not begin or end at the start of a day"), is(true));
+    }
+    for (long value : new long[] { 0, 1, -1, 127, 128, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE }) {
+      assertThat(LunisolarCodec.unzigzag(LunisolarCodec.zigzag(value)), is(value));
+    }
+    assertThat(LunisolarCodec.sizeOfVarint(0), is(1));
+    assertThat(LunisolarCodec.sizeOfVarint(127), is(1));
+    assertThat(LunisolarCodec.sizeOfVarint(128), is(2));
+    assertThat(LunisolarCodec.sizeOfVarint(-1L), is(10));
+  }
+}
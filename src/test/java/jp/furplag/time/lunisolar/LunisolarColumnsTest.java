@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.OffsetDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+public class LunisolarColumnsTest {
+
+  @Test
+  public void test() {
+    final OffsetDateTime t = OffsetDateTime.parse("2017-01-01T00:00+09:00");
+    final long[] epochMillis = LongStream.range(0, 366 * 2).mapToObj(t::plusDays).mapToLong(d -> d.toInstant().toEpochMilli()).toArray();
+    final LunisolarColumns columns = LunisolarColumns.ofEpochMillis(epochMillis);
+    assertThat(columns.size(), is(epochMillis.length));
+    assertThat(columns.getEpochMillis() == epochMillis, is(true));
+    // @formatter:off
+    assertThat(
+      IntStream.range(0, columns.size())
+        .mapToObj(i -> columns.getYears()[i] + "年" + (columns.getIntercalaries()[i] ? "閏" : "") + columns.getMonthsOfYear()[i] + "月" + columns.getDaysOfMonth()[i] + "日")
+        .collect(Collectors.joining(","))
+    , is(LongStream.of(epochMillis).mapToObj(LunisolarDate::ofEpochMilli).map(LunisolarDate::toString).collect(Collectors.joining(","))));
+    // @formatter:on
+    final int index = (int) (OffsetDateTime.parse("2017-06-24T00:00+09:00").toLocalDate().toEpochDay() - t.toLocalDate().toEpochDay());
+    assertThat(columns.getYears()[index], is(2017));
+    assertThat(columns.getMonthsOfYear()[index], is(5));
+    assertThat(columns.getDaysOfMonth()[index], is(1));
+    assertThat(columns.getIntercalaries()[index], is(true));
+
+    assertThat(LunisolarColumns.ofEpochMillis().size(), is(0));
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      LunisolarColumns.ofEpochMillis((long[]) null);
+      fail("must raise NPE .");
+    } catch (NullPointerException ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+  }
+}
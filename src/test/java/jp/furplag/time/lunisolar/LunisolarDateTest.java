@@ -20,6 +20,9 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
 import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.junit.Test;
 
@@ -38,4 +41,76 @@ public class LunisolarDateTest {
     assertThat(LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2034-01-19T00:00+09:00").toInstant().toEpochMilli()).toString(), is("2033年閏11月29日"));
   }
 
+  @Test
+  public void testOfEpochMillis() {
+    final OffsetDateTime t = OffsetDateTime.parse("2032-12-01T12:00+09:00");
+    final long[] epochMillis = LongStream.range(0, 366 * 3).mapToObj(t::plusDays).mapToLong(d -> d.toInstant().toEpochMilli()).toArray();
+    final String expect = Arrays.stream(epochMillis).mapToObj(LunisolarDate::ofEpochMilli).map(LunisolarDate::toString).collect(Collectors.joining(","));
+
+    assertThat(Arrays.stream(LunisolarDate.ofEpochMillis(epochMillis)).map(LunisolarDate::toString).collect(Collectors.joining(",")), is(expect));
+    assertThat(LunisolarDate.ofEpochMillis(Arrays.stream(epochMillis)).map(LunisolarDate::toString).collect(Collectors.joining(",")), is(expect));
+    assertThat(LunisolarDate.ofEpochMillis(Arrays.stream(epochMillis).parallel()).map(LunisolarDate::toString).collect(Collectors.joining(",")), is(expect));
+
+    final long[] unsorted = LongStream.range(0, epochMillis.length).map(i -> epochMillis[(int) ((i * 7919) % epochMillis.length)]).toArray();
+    assertThat(Arrays.stream(LunisolarDate.ofEpochMillis(unsorted)).map(LunisolarDate::toString).collect(Collectors.joining(",")), is(Arrays.stream(unsorted).mapToObj(LunisolarDate::ofEpochMilli).map(LunisolarDate::toString).collect(Collectors.joining(","))));
+    assertThat(LunisolarDate.ofEpochMillis().length, is(0));
+  }
+
+  @Test
+  public void testSexagenary() {
+    final LunisolarDate lunisolarDate = LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2017-06-24T00:00+09:00").toInstant().toEpochMilli());
+    assertThat(Sexagenary.nameOf(lunisolarDate.cycleOfYear), is("丁酉"));
+    assertThat(Sexagenary.nameOf(lunisolarDate.cycleOfMonth), is("丙午"));
+    assertThat(Sexagenary.nameOf(lunisolarDate.cycleOfDay), is("壬午"));
+    assertThat(lunisolarDate.heavenlyStem, is(3));
+    assertThat(lunisolarDate.earthlyBranch, is(9));
+    assertThat(Sexagenary.nameOf(LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2017-01-27T23:59+09:00").toInstant().toEpochMilli()).cycleOfYear), is("丙申"));
+    assertThat(Sexagenary.nameOf(LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2017-01-28T00:00+09:00").toInstant().toEpochMilli()).cycleOfYear), is("丁酉"));
+    assertThat(Sexagenary.nameOf(LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2017-02-03T23:59+09:00").toInstant().toEpochMilli()).cycleOfMonth), is("辛丑"));
+    assertThat(Sexagenary.nameOf(LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2017-02-04T00:00+09:00").toInstant().toEpochMilli()).cycleOfMonth), is("壬寅"));
+    assertThat(Sexagenary.nameOf(LunisolarDate.ofEpochMilli(OffsetDateTime.parse("1949-10-01T00:00+09:00").toInstant().toEpochMilli()).cycleOfDay), is("甲子"));
+
+    final Lunisolar lunisolar = Lunisolar.ofJulian(Julian.j2000);
+    final OffsetDateTime t = OffsetDateTime.parse("1899-11-01T12:00+09:00");
+    final int days = 366 * 5;
+    final int[][] expect = new int[3][days];
+    for (int i = 0; i < days; i++) {
+      final LunisolarDate date = LunisolarDate.ofEpochMilli(t.plusDays(i).toInstant().toEpochMilli());
+      expect[0][i] = date.cycleOfYear;
+      expect[1][i] = date.cycleOfMonth;
+      expect[2][i] = date.cycleOfDay;
+      if (i > 0) {
+        assertThat(expect[2][i], is((expect[2][i - 1] + 1) % 60));
+        assertThat(expect[1][i] == expect[1][i - 1] || expect[1][i] == (expect[1][i - 1] + 1) % 60, is(true));
+      }
+    }
+    final int[][] actual = new int[3][days];
+    LunisolarDate.sexagenaryCyclesOf(t.toInstant().toEpochMilli(), actual[0], actual[1], actual[2]);
+    assertThat(Arrays.deepEquals(actual, expect), is(true));
+    final int[][] tabulated = new int[3][days];
+    LunisolarDate.sexagenaryCyclesOf(new MonthCursor(lunisolar.tabulate(1899, 1905)), t.toInstant().toEpochMilli(), tabulated[0], tabulated[1], tabulated[2]);
+    assertThat(Arrays.deepEquals(tabulated, expect), is(true));
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      LunisolarDate.ofEpochMillis((long[]) null);
+      fail("must raise NPE .");
+    } catch (NullPointerException ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+    try {
+      LunisolarDate.ofEpochMillis((LongStream) null);
+      fail("must raise NPE .");
+    } catch (NullPointerException ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+    try {
+      LunisolarDate.sexagenaryCyclesOf(0, new int[1], new int[1], new int[2]);
+      fail("must raise IllegalArgumentException .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex instanceof IllegalArgumentException, is(true));
+    }
+  }
 }
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jp.furplag.time.Julian;
+
+public class LunisolarEventsTest {
+
+  private static double julianOf(String text) {
+    return Julian.ofEpochMilli(OffsetDateTime.parse(text).toInstant().toEpochMilli());
+  }
+
+  private static List<RecordedEvent> eventsOf(List<RecordedEvent> events, String name) {
+    return events.stream().filter(e -> e.getEventType().getName().equals("jp.furplag.time.lunisolar." + name)).collect(Collectors.toList());
+  }
+
+  @Test
+  public void test() throws Exception {
+    // the settings differ from the others, so that the instants are not solved yet .
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9), 3E-10, 98);
+    final Path path = Files.createTempFile(getClass().getSimpleName(), ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("jp.furplag.time.lunisolar.Solution");
+      recording.enable("jp.furplag.time.lunisolar.Calendar");
+      recording.enable("jp.furplag.time.lunisolar.CalendarLookup");
+      recording.enable("jp.furplag.time.lunisolar.Date").withoutThreshold();
+      recording.start();
+      lunisolar.calendarOf(julianOf("2033-06-01T00:00+09:00"));
+      lunisolar.calendarOf(julianOf("2033-01-01T00:00+09:00"));
+      final LunisolarDate lunisolarDate = LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2017-06-24T00:00+09:00").toInstant().toEpochMilli(), LunisolarSystem.KOREAN);
+      recording.stop();
+      recording.dump(path);
+
+      final List<RecordedEvent> events = RecordingFile.readAllEvents(path);
+      final List<RecordedEvent> solutions = eventsOf(events, "Solution");
+      assertThat(solutions.isEmpty(), is(false));
+      assertThat(solutions.stream().map(e -> e.getString("target")).distinct().sorted().collect(Collectors.toList()), is(List.of("NEW_MOON", "SOLAR_TERM")));
+      assertThat(solutions.stream().allMatch(e -> e.getInt("iterations") > 0 && e.getBoolean("converged") && e.getString("solver").equals(lunisolar.solver.name())), is(true));
+
+      final List<RecordedEvent> constructions = eventsOf(events, "Calendar").stream().filter(e -> e.getString("zoneOffset").equals("+09:00") && e.getInt("year") == 2033).collect(Collectors.toList());
+      assertThat(constructions.size(), is(1));
+      assertThat(constructions.get(0).getInt("months") > 12, is(true));
+      assertThat(constructions.get(0).getDuration().isNegative(), is(false));
+
+      final List<RecordedEvent> lookups = eventsOf(events, "CalendarLookup").stream().filter(e -> e.getInt("yearOfSolstice") == 2033 && e.getString("zoneOffset").equals("+09:00")).collect(Collectors.toList());
+      assertThat(lookups.stream().map(e -> e.getBoolean("hit")).collect(Collectors.toList()), is(List.of(false, true)));
+
+      final List<RecordedEvent> resolutions = eventsOf(events, "Date");
+      assertThat(resolutions.size(), is(1));
+      assertThat(resolutions.get(0).getString("lunisolarSystem"), is("KOREAN"));
+      assertThat(resolutions.get(0).getString("date"), is(lunisolarDate.toString()));
+      assertThat(resolutions.get(0).getDouble("julianDate"), is(lunisolarDate.julianDate));
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  @Test
+  public void paintItGreen() {
+    // not recording .
+    assertThat(LunisolarEvents.Solution.beginIfEnabled(), is(nullValue()));
+    assertThat(LunisolarEvents.Construction.beginIfEnabled(), is(nullValue()));
+    assertThat(LunisolarEvents.Lookup.beginIfEnabled(), is(nullValue()));
+    assertThat(LunisolarEvents.Resolution.beginIfEnabled(), is(nullValue()));
+    final LunisolarEvents.Solution event = new LunisolarEvents.Solution();
+    event.begin();
+    event.report(Solver.SECANT, LunisolarMetrics.Target.NEW_MOON, 0, 1, true);
+    assertThat(event.solver, is(nullValue()));
+    assertThat(LunisolarDate.ofEpochMilli(0L).toString(), is("1969年11月24日"));
+  }
+}
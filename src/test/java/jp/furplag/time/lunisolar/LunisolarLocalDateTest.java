@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.chrono.Chronology;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.UnsupportedTemporalTypeException;
+
+import org.junit.Test;
+
+public class LunisolarLocalDateTest {
+
+  @Test
+  public void test() {
+    final Lunisolar lunisolar = Lunisolar.Tenpo;
+    for (long epochDay = LocalDate.of(1850, 1, 1).toEpochDay(); epochDay <= LocalDate.of(2100, 12, 31).toEpochDay(); epochDay += 3) {
+      final LunisolarLocalDate date = LunisolarLocalDate.ofEpochDay(epochDay);
+      final LunisolarDate expect = LunisolarDate.ofEpochMilli(EpochDays.toEpochMilli(epochDay, lunisolar.offsetMillis()));
+      assertThat(date.toEpochDay(), is(epochDay));
+      assertThat(date.getLong(ChronoField.YEAR), is(expect.year));
+      assertThat(date.getMonthOfYear(), is(expect.monthOfYear));
+      assertThat(date.isIntercalary(), is(expect.intercalary));
+      assertThat(date.getLong(ChronoField.DAY_OF_MONTH), is(expect.dayOfMonth));
+      assertThat(date.get(ChronoField.DAY_OF_WEEK), is(LocalDate.ofEpochDay(epochDay).getDayOfWeek().getValue()));
+      assertThat(LocalDate.from(date).toEpochDay(), is(epochDay));
+      assertThat(LunisolarLocalDate.of((int) expect.year, expect.monthOfYear, expect.intercalary, (int) expect.dayOfMonth), is(date));
+      assertThat(date.getChronology().date(date.get(ChronoField.YEAR), date.get(ChronoField.MONTH_OF_YEAR), date.get(ChronoField.DAY_OF_MONTH)), is(date));
+      assertThat(date.getChronology().dateYearDay(date.get(ChronoField.YEAR), date.get(ChronoField.DAY_OF_YEAR)), is(date));
+      assertThat(date.range(ChronoField.DAY_OF_MONTH).getMaximum(), is((long) date.lengthOfMonth()));
+      assertThat(date.range(ChronoField.MONTH_OF_YEAR).getMaximum(), is(date.isLeapYear() ? 13L : 12L));
+    }
+  }
+
+  @Test
+  public void testYearBoundary() {
+    final LunisolarChronology chronology = LunisolarChronology.INSTANCE;
+    for (int year = 1850; year <= 2100; year++) {
+      final long firstDay = chronology.date(year, 1, 1).toEpochDay();
+      for (long epochDay : new long[] { firstDay - 1, firstDay, firstDay + 1, LocalDate.of(year, 1, 1).toEpochDay(), LocalDate.of(year, 12, 31).toEpochDay() }) {
+        final LunisolarLocalDate date = chronology.dateEpochDay(epochDay);
+        assertThat(date.toEpochDay(), is(epochDay));
+        assertThat(chronology.date(date.get(ChronoField.YEAR), date.get(ChronoField.MONTH_OF_YEAR), date.get(ChronoField.DAY_OF_MONTH)), is(date));
+      }
+      assertThat(chronology.dateEpochDay(firstDay).get(ChronoField.YEAR), is(year));
+      assertThat(chronology.dateEpochDay(firstDay).get(ChronoField.DAY_OF_YEAR), is(1));
+      assertThat(chronology.dateEpochDay(firstDay - 1).get(ChronoField.YEAR), is(year - 1));
+      assertThat(chronology.dateEpochDay(firstDay - 1).get(ChronoField.DAY_OF_MONTH), is(chronology.dateEpochDay(firstDay - 1).lengthOfMonth()));
+    }
+  }
+
+  @Test
+  public void testLeapYear() {
+    final LunisolarLocalDate date = LunisolarLocalDate.of(2017, 5, true, 1);
+    assertThat(date.isLeapYear(), is(true));
+    assertThat(date.get(ChronoField.MONTH_OF_YEAR), is(6));
+    assertThat(date.toString(), is("Lunisolar 2017年閏5月1日"));
+    assertThat(date.minus(1, ChronoUnit.DAYS).getMonthOfYear(), is(5));
+    assertThat(date.minus(1, ChronoUnit.DAYS).isIntercalary(), is(false));
+    assertThat(date.plus(1, ChronoUnit.YEARS).isLeapYear(), is(false));
+    assertThat(date.plus(1, ChronoUnit.YEARS).getMonthOfYear(), is(5));
+    assertThat(date.plus(1, ChronoUnit.YEARS).isIntercalary(), is(false));
+    assertThat(LunisolarChronology.INSTANCE.isLeapYear(2017), is(true));
+    assertThat(LunisolarChronology.INSTANCE.isLeapYear(2018), is(false));
+    assertThat(LocalDate.from(date), is(LocalDate.of(2017, 6, 24)));
+    assertThat(DateTimeFormatter.ofPattern("uuuu-M-d").format(date), is("2017-6-1"));
+    assertThat(date.with(TemporalAdjusters.lastDayOfMonth()).get(ChronoField.DAY_OF_MONTH), is(date.lengthOfMonth()));
+  }
+
+  @Test
+  public void testArithmetic() {
+    final LunisolarLocalDate start = LunisolarLocalDate.of(2016, 12, false, 30);
+    for (int months = -40; months <= 40; months++) {
+      final LunisolarLocalDate date = start.plus(months, ChronoUnit.MONTHS);
+      assertThat(date.get(ChronoField.DAY_OF_MONTH) <= 30, is(true));
+      assertThat(date.minus(months, ChronoUnit.MONTHS).getMonthOfYear(), is(12));
+      final LunisolarLocalDate firstDay = start.with(ChronoField.DAY_OF_MONTH, 1);
+      assertThat(firstDay.until(firstDay.plus(months, ChronoUnit.MONTHS), ChronoUnit.MONTHS), is((long) months));
+      assertThat(firstDay.until(firstDay.plus(months, ChronoUnit.MONTHS).minus(1, ChronoUnit.DAYS), ChronoUnit.MONTHS), is((long) (months > 0 ? months - 1 : months)));
+    }
+    for (int years = -30; years <= 30; years++) {
+      final LunisolarLocalDate date = LunisolarLocalDate.of(2000, 3, false, 15).plus(years, ChronoUnit.YEARS);
+      assertThat(date.get(ChronoField.YEAR), is(2000 + years));
+      assertThat(date.getMonthOfYear(), is(3));
+      assertThat(date.get(ChronoField.DAY_OF_MONTH), is(15));
+      assertThat(LunisolarLocalDate.of(2000, 3, false, 15).until(date, ChronoUnit.YEARS), is((long) years));
+      assertThat(LunisolarLocalDate.of(2000, 3, false, 15).until(date.minus(1, ChronoUnit.DAYS), ChronoUnit.YEARS), is((long) (years > 0 ? years - 1 : years)));
+    }
+    // across centuries, without any calendar between .
+    for (int months = -2500; months <= 2500; months += 97) {
+      final LunisolarLocalDate firstDay = start.with(ChronoField.DAY_OF_MONTH, 1);
+      assertThat(firstDay.until(firstDay.plus(months, ChronoUnit.MONTHS), ChronoUnit.MONTHS), is((long) months));
+    }
+    final LunisolarLocalDate from = LunisolarLocalDate.of(2001, 1, false, 1);
+    final LunisolarLocalDate to = LunisolarLocalDate.of(2017, 5, true, 20);
+    assertThat(from.until(to, ChronoUnit.DAYS), is(to.toEpochDay() - from.toEpochDay()));
+    assertThat(from.until(to, ChronoUnit.WEEKS), is((to.toEpochDay() - from.toEpochDay()) / 7));
+    assertThat(from.plus(from.until(to)), is(to));
+    assertThat(from.with(ChronoField.DAY_OF_MONTH, 29).get(ChronoField.DAY_OF_MONTH), is(29));
+    assertThat(from.with(ChronoField.EPOCH_DAY, to.toEpochDay()), is(to));
+    assertThat(from.with(ChronoField.YEAR, 2017).with(ChronoField.MONTH_OF_YEAR, 6).with(ChronoField.DAY_OF_MONTH, 20), is(to));
+  }
+
+  @Test
+  public void testServiceLoader() {
+    assertThat(Chronology.of("Lunisolar"), is(LunisolarChronology.INSTANCE));
+    assertThat(Chronology.getAvailableChronologies().contains(LunisolarChronology.INSTANCE), is(true));
+    final LunisolarLocalDate date = LunisolarLocalDate.of(2017, 5, true, 1);
+    assertThat(DateTimeFormatter.ofPattern("uuuu-M-d").withChronology(Chronology.of("Lunisolar")).format(LocalDate.of(2017, 6, 24)), is("2017-6-1"));
+    assertThat(Chronology.of("Lunisolar").date(LocalDate.of(2017, 6, 24)), is(date));
+  }
+
+  @Test
+  public void paintItGreen() {
+    final LunisolarLocalDate date = LunisolarLocalDate.of(2017, 1, false, 1);
+    assertThat(date.isSupported(ChronoField.PROLEPTIC_MONTH), is(false));
+    assertThat(date.isSupported(ChronoField.HOUR_OF_DAY), is(false));
+    assertThat(date.isSupported(ChronoUnit.ERAS), is(false));
+    assertThat(date.isSupported(ChronoUnit.MONTHS), is(true));
+    for (int[] invalid : new int[][] { { 2018, 5, 1, 1 }, { 2017, 13, 0, 1 }, { 2017, 1, 0, 31 } }) {
+      try {
+        LunisolarLocalDate.of(invalid[0], invalid[1], invalid[2] > 0, invalid[3]);
+        fail("must raise DateTimeException .");
+      } catch (DateTimeException ex) {
+        assertThat(ex instanceof DateTimeException, is(true));
+      }
+    }
+    try {
+      LunisolarChronology.INSTANCE.date(2018, 13, 1);
+      fail("must raise DateTimeException .");
+    } catch (DateTimeException ex) {
+      assertThat(ex instanceof DateTimeException, is(true));
+    }
+    try {
+      date.getLong(ChronoField.PROLEPTIC_MONTH);
+      fail("must raise UnsupportedTemporalTypeException .");
+    } catch (UnsupportedTemporalTypeException ex) {
+      assertThat(ex instanceof UnsupportedTemporalTypeException, is(true));
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class LunisolarStatisticsTest {
+
+  private static double julianOf(String text) {
+    return Julian.ofEpochMilli(OffsetDateTime.parse(text).toInstant().toEpochMilli());
+  }
+
+  @Test
+  public void test() {
+    // the settings differ from the others, so that the instants are not solved yet .
+    final Lunisolar unmeasured = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9), 4E-10, 99);
+    final LunisolarStatistics statistics = new LunisolarStatistics();
+    final Lunisolar lunisolar = unmeasured.measure(statistics);
+    assertThat(unmeasured.getMetrics(), is(LunisolarMetrics.NOOP));
+    assertThat(lunisolar.getMetrics(), is(statistics));
+    assertThat(lunisolar.measure(statistics) == lunisolar, is(true));
+    assertThat(unmeasured.unmeasure() == unmeasured, is(true));
+
+    final LunisolarCalendar calendar = lunisolar.calendarOf(julianOf("2033-06-01T00:00+09:00"));
+    assertThat(statistics.getSolarTermSolutions() > 0, is(true));
+    assertThat(statistics.getNewMoonSolutions() > 0, is(true));
+    assertThat(statistics.getSolarTermFallbacks(), is(0L));
+    assertThat(statistics.getNewMoonFallbacks(), is(0L));
+    assertThat(statistics.getSolarTermAverageIterations() >= 1.0, is(true));
+    assertThat(statistics.getNewMoonAverageIterations() >= 1.0, is(true));
+    assertThat(Arrays.stream(statistics.getSolarTermIterationHistogram()).sum(), is(statistics.getSolarTermSolutions()));
+    assertThat(Arrays.stream(statistics.getNewMoonIterationHistogram()).sum(), is(statistics.getNewMoonSolutions()));
+    for (LunisolarMetrics.Stage stage : LunisolarMetrics.Stage.values()) {
+      assertThat(statistics.getCount(stage), is(1L));
+      assertThat(statistics.getAverageNanos(stage) >= 0.0, is(true));
+      assertThat(Arrays.stream(statistics.getLatencyHistogram(stage)).sum(), is(1L));
+    }
+    assertThat(lunisolar.getCalendarCache().getMissCount(), is(1L));
+    assertThat(unmeasured.getCalendarCache().getMissCount(), is(0L));
+
+    // the instants are solved only once .
+    final long solutions = statistics.getSolarTermSolutions() + statistics.getNewMoonSolutions();
+    lunisolar.getCalendarCache().clear();
+    assertThat(lunisolar.calendarOf(julianOf("2033-06-01T00:00+09:00")).toString(), is(calendar.toString()));
+    assertThat(statistics.getSolarTermSolutions() + statistics.getNewMoonSolutions(), is(solutions));
+    assertThat(statistics.getCount(LunisolarMetrics.Stage.MONTHS), is(2L));
+
+    statistics.reset();
+    assertThat(statistics.getSolarTermSolutions(), is(0L));
+    assertThat(statistics.getMonthsAverageNanos(), is(0.0));
+    assertThat(Arrays.stream(statistics.getSolarTermIterationHistogram()).sum(), is(0L));
+
+    assertThat(lunisolar.unmeasure().getMetrics(), is(LunisolarMetrics.NOOP));
+    lunisolar.unmeasure().calendarOf(julianOf("2034-06-01T00:00+09:00"));
+    unmeasured.calendarOf(julianOf("2035-06-01T00:00+09:00"));
+    assertThat(statistics.getSolarTermsAverageNanos(), is(0.0));
+    assertThat(statistics.getSolarTermSolutions(), is(0L));
+  }
+
+  @Test
+  public void testFallback() {
+    final LunisolarStatistics statistics = new LunisolarStatistics();
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9), 1E-12, 2).measure(statistics);
+    Solver.FIXED_POINT.closestTerm(lunisolar, julianOf("2017-03-01T00:00+09:00"), 0);
+    Solver.FIXED_POINT.latestNewMoon(lunisolar, julianOf("2017-03-01T00:00+09:00"));
+    assertThat(statistics.getSolarTermSolutions(), is(1L));
+    assertThat(statistics.getSolarTermFallbacks(), is(1L));
+    assertThat(statistics.getNewMoonFallbacks(), is(1L));
+    assertThat(statistics.getNewMoonAverageIterations(), is(2.0));
+    assertThat(statistics.getNewMoonIterationHistogram()[2], is(1L));
+  }
+
+  @Test
+  public void testMXBean() throws Exception {
+    final LunisolarStatistics statistics = new LunisolarStatistics();
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final ObjectName name = new ObjectName("jp.furplag.time.lunisolar:type=LunisolarStatistics,name=test");
+    server.registerMBean(statistics, name);
+    try {
+      statistics.solved(LunisolarMetrics.Target.SOLAR_TERM, 3, true);
+      assertThat(server.getAttribute(name, "SolarTermSolutions"), is(1L));
+      assertThat(server.getAttribute(name, "SolarTermAverageIterations"), is(3.0));
+      assertThat(((long[]) server.getAttribute(name, "SolarTermIterationHistogram")).length, is(LunisolarStatistics.bucketsOfIterations));
+      server.invoke(name, "reset", null, null);
+      assertThat(statistics.getSolarTermSolutions(), is(0L));
+    } finally {
+      server.unregisterMBean(name);
+    }
+  }
+
+  @Test
+  public void paintItGreen() {
+    assertThat(LunisolarMetrics.NOOP.isEnabled(), is(false));
+    LunisolarMetrics.NOOP.solved(LunisolarMetrics.Target.SOLAR_TERM, 1, true);
+    LunisolarMetrics.NOOP.staged(LunisolarMetrics.Stage.MONTHS, 1L);
+    assertThat(LunisolarStatistics.bucketOf(0, 9), is(0));
+    assertThat(LunisolarStatistics.bucketOf(1, 9), is(1));
+    assertThat(LunisolarStatistics.bucketOf(3, 9), is(2));
+    assertThat(LunisolarStatistics.bucketOf(4, 9), is(3));
+    assertThat(LunisolarStatistics.bucketOf(Long.MAX_VALUE, 9), is(8));
+    assertThat(LunisolarStatistics.bucketOf(-1, 9), is(0));
+    assertThat(new LunisolarStatistics().toString().startsWith("LunisolarStatistics{"), is(true));
+  }
+}
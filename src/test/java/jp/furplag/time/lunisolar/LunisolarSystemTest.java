@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class LunisolarSystemTest {
+
+  @Test
+  public void test() {
+    assertThat(LunisolarSystem.JAPANESE.ofEpochMilli(0).getZoneOffset(), is(ZoneOffset.ofHours(9)));
+    assertThat(LunisolarSystem.CHINESE.ofEpochMilli(0).getZoneOffset(), is(ZoneOffset.ofHours(8)));
+    assertThat(LunisolarSystem.KOREAN.ofEpochMilli(epochMilliOf("1900-01-01T00:00+09:00")).getZoneOffset(), is(ZoneOffset.ofHoursMinutesSeconds(8, 27, 52)));
+    assertThat(LunisolarSystem.KOREAN.ofEpochMilli(epochMilliOf("1910-01-01T00:00+09:00")).getZoneOffset(), is(ZoneOffset.ofHoursMinutes(8, 30)));
+    assertThat(LunisolarSystem.KOREAN.ofEpochMilli(epochMilliOf("1945-01-01T00:00+09:00")).getZoneOffset(), is(ZoneOffset.ofHours(9)));
+    assertThat(LunisolarSystem.KOREAN.ofEpochMilli(epochMilliOf("1961-08-09T23:59+08:30")).getZoneOffset(), is(ZoneOffset.ofHoursMinutes(8, 30)));
+    assertThat(LunisolarSystem.KOREAN.ofEpochMilli(epochMilliOf("1961-08-10T00:30+09:00")).getZoneOffset(), is(ZoneOffset.ofHours(9)));
+    assertThat(LunisolarSystem.VIETNAMESE.ofEpochMilli(epochMilliOf("1967-08-07T23:59+08:00")).getZoneOffset(), is(ZoneOffset.ofHours(8)));
+    assertThat(LunisolarSystem.VIETNAMESE.ofEpochMilli(epochMilliOf("1967-08-08T00:00+07:00")).getZoneOffset(), is(ZoneOffset.ofHours(7)));
+    assertThat(LunisolarSystem.KOREAN.ofEpochMilli(epochMilliOf("1908-04-01T00:00+08:27:52")).getZoneOffset(), is(ZoneOffset.ofHoursMinutes(8, 30)));
+    assertThat(LunisolarSystem.KOREAN.ofEpochMilli(epochMilliOf("1908-04-01T00:00+08:27:52") - 1).getZoneOffset(), is(ZoneOffset.ofHoursMinutesSeconds(8, 27, 52)));
+    assertThat(LunisolarSystem.KOREAN.lunisolars().size(), is(5));
+    assertThat(LunisolarSystem.KOREAN.lunisolars().get(2) == LunisolarSystem.KOREAN.lunisolars().get(4), is(true));
+  }
+
+  @Test
+  public void testJapanese() {
+    assertThat(Lunisolar.ofJulian(Julian.ofEpochMilli(epochMilliOf("1685-02-03T23:59+09:00"))) == Lunisolar.Senmyo, is(true));
+    assertThat(Lunisolar.ofJulian(Julian.ofEpochMilli(epochMilliOf("1685-02-04T00:00+09:00"))) == Lunisolar.Jokyo, is(true));
+    assertThat(Lunisolar.ofJulian(Julian.ofEpochMilli(epochMilliOf("1755-02-11T00:00+09:00"))) == Lunisolar.Horeki, is(true));
+    assertThat(Lunisolar.ofJulian(Julian.ofEpochMilli(epochMilliOf("1798-02-16T00:00+09:00"))) == Lunisolar.Kansei, is(true));
+    assertThat(Lunisolar.ofJulian(Julian.ofEpochMilli(epochMilliOf("1844-02-17T23:59+09:00"))) == Lunisolar.Kansei, is(true));
+    assertThat(Lunisolar.ofJulian(Julian.ofEpochMilli(epochMilliOf("1844-02-18T00:00+09:00"))) == Lunisolar.Tenpo, is(true));
+    assertThat(Lunisolar.ofJulian(Julian.j2000) == Lunisolar.Tenpo, is(true));
+    assertThat(LunisolarSystem.JAPANESE.lunisolars(), is(List.of(Lunisolar.Senmyo, Lunisolar.Jokyo, Lunisolar.Horeki, Lunisolar.Kansei, Lunisolar.Tenpo)));
+    // @formatter:off
+    for (String[] expect : new String[][] {
+        { "1582-07-01", "1582年6月2日" }
+      , { "1600-10-21", "1600年9月15日" }
+      , { "1685-02-04", "1685年1月1日" }
+      , { "1703-01-30", "1702年12月14日" }
+      , { "1755-02-11", "1755年1月1日" }
+      , { "1798-02-16", "1798年1月1日" }
+      , { "1844-02-18", "1844年1月1日" }
+      , { "1860-03-24", "1860年3月3日" }
+      , { "1872-12-31", "1872年12月2日" }
+    }) {
+    // @formatter:on
+      assertThat(LunisolarDate.ofEpochMilli(epochMilliOf(expect[0] + "T12:00+09:00")).toString(), is(expect[1]));
+    }
+  }
+
+  @Test
+  public void testShared() {
+    assertThat(Lunisolar.of(ZoneOffset.ofHours(9)) == Lunisolar.Tenpo, is(true));
+    assertThat(Lunisolar.of(ZoneOffset.ofHours(8)) == Lunisolar.of(ZoneOffset.ofHours(8)), is(true));
+    assertThat(LunisolarSystem.JAPANESE.ofEpochMilli(0) == Lunisolar.Tenpo, is(true));
+    assertThat(LunisolarSystem.KOREAN.ofEpochMilli(0) == Lunisolar.Tenpo, is(true));
+    for (LunisolarSystem lunisolarSystem : LunisolarSystem.values()) {
+      for (Lunisolar lunisolar : lunisolarSystem.lunisolars()) {
+        assertThat(lunisolar.terms == Lunisolar.Tenpo.terms, is(!(lunisolar instanceof MeanLunisolar)));
+        assertThat(lunisolar.lunations == Lunisolar.Tenpo.lunations, is(true));
+        assertThat(lunisolar.getSolver(), is(Lunisolar.Tenpo.getSolver()));
+        assertThat(lunisolar.calendarCache == Lunisolar.Tenpo.calendarCache, is(lunisolar == Lunisolar.Tenpo));
+      }
+    }
+  }
+
+  @Test
+  public void testUnconfigured() {
+    // configures the system of +09:00, which KOREAN and JAPANESE share .
+    final Lunisolar shared = Lunisolar.of(ZoneOffset.ofHours(9));
+    final Lunisolar configured = shared.tabulate(2016, 2018).parallelize().measure(new LunisolarStatistics());
+    assertThat(configured == shared, is(false));
+    assertThat(configured.getZoneOffset(), is(shared.getZoneOffset()));
+    assertThat(configured.lunations == shared.lunations, is(true));
+    for (LunisolarSystem lunisolarSystem : LunisolarSystem.values()) {
+      for (Lunisolar lunisolar : lunisolarSystem.lunisolars()) {
+        assertNull(lunisolar.yearTable);
+        assertNull(lunisolar.executor);
+        assertThat(lunisolar.getMetrics(), is(LunisolarMetrics.NOOP));
+      }
+    }
+    assertThat(Lunisolar.of(ZoneOffset.ofHours(9)) == shared, is(true));
+    assertThat(LunisolarDate.ofEpochMilli(epochMilliOf("2017-06-24T12:00+09:00"), configured).toString(), is(LunisolarDate.ofEpochMilli(epochMilliOf("2017-06-24T12:00+09:00"), LunisolarSystem.KOREAN).toString()));
+  }
+
+  @Test
+  public void testOffset() {
+    // the new year of 1985 in vietnam was a month earlier than in china .
+    assertThat(LunisolarDate.ofEpochMilli(epochMilliOf("1985-01-21T12:00+07:00"), LunisolarSystem.VIETNAMESE).toString(), is("1985年1月1日"));
+    assertThat(LunisolarDate.ofEpochMilli(epochMilliOf("1985-01-21T12:00+08:00"), LunisolarSystem.CHINESE).toString(), is("1984年12月1日"));
+    assertThat(LunisolarDate.ofEpochMilli(epochMilliOf("1985-02-20T12:00+08:00"), LunisolarSystem.CHINESE).toString(), is("1985年1月1日"));
+    // and in 1968, a day earlier .
+    assertThat(LunisolarDate.ofEpochMilli(epochMilliOf("1968-01-29T12:00+07:00"), LunisolarSystem.VIETNAMESE).toString(), is("1968年1月1日"));
+    assertThat(LunisolarDate.ofEpochMilli(epochMilliOf("1968-01-29T12:00+08:00"), LunisolarSystem.CHINESE).toString(), is("1967年12月30日"));
+    assertThat(LunisolarDate.ofEpochMillis(LunisolarSystem.CHINESE, epochMilliOf("1968-01-29T12:00+08:00"), epochMilliOf("1968-01-30T12:00+08:00"))[1].toString(), is("1968年1月1日"));
+    assertThat(LunisolarDate.ofEpochMilli(epochMilliOf("2017-06-24T12:00+09:00"), LunisolarSystem.KOREAN).toString(), is(LunisolarDate.ofEpochMilli(epochMilliOf("2017-06-24T12:00+09:00")).toString()));
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      Lunisolar.of(null);
+      fail("must raise NPE .");
+    } catch (NullPointerException ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+    try {
+      LunisolarDate.ofEpochMilli(0, (LunisolarSystem) null);
+      fail("must raise NPE .");
+    } catch (NullPointerException ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+  }
+
+  private static long epochMilliOf(final String text) {
+    return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+  }
+}
@@ -19,15 +19,15 @@ package jp.furplag.time.lunisolar;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoField;
 import java.time.temporal.ValueRange;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import org.junit.Test;
@@ -36,13 +36,6 @@ import jp.furplag.time.Julian;
 
 public class LunisolarTest {
 
-  @Test
-  public void test() {
-    assertThat(Lunisolar.doOurOwnBest(null, 1), is(1.0));
-    assertThat(Lunisolar.doOurOwnBest(new HashMap<>(), 2), is(2.0));
-    assertThat(Lunisolar.doOurOwnBest(IntStream.range(0, 10).mapToObj(Integer::valueOf).collect(Collectors.toMap(k -> Double.valueOf(10.0 - k), v -> (v * 1.0), (v1, v2) -> v1)), 2), is(9.0));
-  }
-
   @Test
   public void testOf2017() {
     final OffsetDateTime t = Instant.parse("1844-12-01T12:00:00.000Z").atOffset(ZoneOffset.ofHours(9));
@@ -141,6 +134,95 @@ public class LunisolarTest {
     // @formatter:on
   }
 
+  @Test
+  public void testYearOfCalendar() {
+    final Lunisolar lunisolar = Lunisolar.Tenpo;
+    LunisolarCalendar lastYear = lunisolar.calendarOfYear(1843);
+    for (int year = 1844; year <= 2300; year++) {
+      final LunisolarCalendar calendar = lunisolar.calendarOfYear(year);
+      final long firstDay = calendar.lunarMonths.firstDays[0];
+      assertThat(lunisolar.firstDayOfYear(year), is(firstDay));
+      assertThat(lastYear.lunarMonths.lastDays[lastYear.lunarMonths.size() - 1] + 1L, is(firstDay));
+      assertThat(lunisolar.yearOfCalendar(Julian.ofEpochMilli(lunisolar.asStartOfDay(year, 1, 1))), is(year - 1));
+      assertThat(lunisolar.yearOfCalendar(Julian.ofEpochMilli(calendar.lunarMonths.minimum(0) - 1)), is(year - 1));
+      assertThat(lunisolar.yearOfCalendar(Julian.ofEpochMilli(calendar.lunarMonths.minimum(0))), is(year));
+      assertThat(lunisolar.yearOfCalendar(Julian.ofEpochMilli(lunisolar.asStartOfDay(year, 12, 31))), is(year));
+      lastYear = calendar;
+    }
+  }
+
+  @Test
+  public void testYearOfCalendarAfterLeapDecember() {
+    // the year 2003 ends with a leap month after the twelfth month (&quot;閏十二月&quot;) in Kansei calendar .
+    for (Lunisolar lunisolar : List.of(Lunisolar.Kansei.isolate(true), Lunisolar.Kansei.tabulate(2000, 2010))) {
+      // computed without any calendar, unless tabulated .
+      final long firstDay = lunisolar.firstDayOfYear(2004);
+      final LunarMonths lunarMonths = lunisolar.calendarOfYear(2003).lunarMonths;
+      final int last = lunarMonths.size() - 1;
+      assertThat(lunarMonths.monthOfYear(last), is(12));
+      assertThat(lunarMonths.is(last, LunarMonths.intercalary), is(true));
+      assertThat(firstDay, is(lunarMonths.lastDays[last] + 1L));
+      assertThat(lunisolar.calendarOfYear(2004).lunarMonths.firstDays[0], is((int) firstDay));
+      assertThat(lunisolar.firstDayOfYear(2004), is(firstDay));
+      assertThat(lunisolar.yearOfEpochDay(lunarMonths.firstDays[last]), is(2003));
+      assertThat(lunisolar.yearOfEpochDay(lunarMonths.lastDays[last]), is(2003));
+      assertThat(lunisolar.yearOfEpochDay(lunarMonths.lastDays[last] + 1L), is(2004));
+    }
+  }
+
+  @Test
+  public void testToEpochDay() {
+    final Lunisolar lunisolar = Lunisolar.ofJulian(Julian.j2000);
+    final long[] epochMillis = LongStream.iterate(OffsetDateTime.parse("1850-01-01T00:00+09:00").toInstant().toEpochMilli(), ms -> ms + 86400000L * 3).limit(365 * 150 / 3).toArray();
+    final LunisolarDate[] lunisolarDates = LunisolarDate.ofEpochMillis(epochMillis);
+    final int[] years = new int[epochMillis.length];
+    final int[] monthsOfYear = new int[epochMillis.length];
+    final boolean[] intercalaries = new boolean[epochMillis.length];
+    final int[] daysOfMonth = new int[epochMillis.length];
+    for (int i = 0; i < epochMillis.length; i++) {
+      years[i] = (int) lunisolarDates[i].year;
+      monthsOfYear[i] = lunisolarDates[i].monthOfYear;
+      intercalaries[i] = lunisolarDates[i].intercalary;
+      daysOfMonth[i] = (int) lunisolarDates[i].dayOfMonth;
+      assertThat(lunisolar.toEpochMilli(years[i], monthsOfYear[i], intercalaries[i], daysOfMonth[i]), is(epochMillis[i]));
+      assertThat(lunisolar.toLocalDate(years[i], monthsOfYear[i], intercalaries[i], daysOfMonth[i]), is(Instant.ofEpochMilli(epochMillis[i]).atOffset(lunisolar.zoneOffset).toLocalDate()));
+    }
+    final long[] expect = LongStream.of(epochMillis).map(lunisolar::asEpochDay).toArray();
+    assertThat(LongStream.of(lunisolar.toEpochDays(years, monthsOfYear, intercalaries, daysOfMonth)).boxed().collect(Collectors.toList()), is(LongStream.of(expect).boxed().collect(Collectors.toList())));
+    assertThat(LongStream.of(lunisolar.tabulate(1900, 1950).toEpochDays(years, monthsOfYear, intercalaries, daysOfMonth)).boxed().collect(Collectors.toList()), is(LongStream.of(expect).boxed().collect(Collectors.toList())));
+  }
+
+  @Test
+  public void testToEpochDayInvalid() {
+    final Lunisolar untabulated = Lunisolar.ofJulian(Julian.j2000);
+    final LunisolarCalendar calendar = untabulated.calendarOfYear(2017);
+    final int leapMonth = calendar.monthsOfYear.stream().filter(e -> e.intercalary).mapToInt(e -> e.monthOfYear).findAny().orElse(5);
+    final int shortMonth = calendar.monthsOfYear.stream().filter(e -> e.range.getMaximum() - e.range.getMinimum() < 86400000L * 29).mapToInt(e -> e.monthOfYear).findFirst().orElse(1);
+    for (Lunisolar lunisolar : new Lunisolar[] { untabulated, untabulated.tabulate(2016, 2018) }) {
+      assertThat(lunisolar.toEpochDay(2017, leapMonth, true, 1), is(calendar.toEpochDay(leapMonth, true, 1)));
+      for (int[] invalid : new int[][] { { 2018, leapMonth, 1, 1 }, { 2017, shortMonth, 0, 30 }, { 2017, 1, 0, 0 }, { 2017, 0, 0, 1 }, { 2017, 13, 0, 1 } }) {
+        try {
+          lunisolar.toEpochDay(invalid[0], invalid[1], invalid[2] > 0, invalid[3]);
+          fail("must raise DateTimeException .");
+        } catch (DateTimeException ex) {
+          assertThat(ex instanceof DateTimeException, is(true));
+        }
+        try {
+          lunisolar.toEpochDays(new int[] { 2017, invalid[0] }, new int[] { 1, invalid[1] }, new boolean[] { false, invalid[2] > 0 }, new int[] { 1, invalid[3] });
+          fail("must raise DateTimeException .");
+        } catch (DateTimeException ex) {
+          assertThat(ex instanceof DateTimeException, is(true));
+        }
+      }
+    }
+    try {
+      untabulated.toEpochDays(new int[1], new int[1], new boolean[0], new int[1]);
+      fail("must raise IllegalArgumentException .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex instanceof IllegalArgumentException, is(true));
+    }
+  }
+
   @Test
   public void paintItGreen() throws ReflectiveOperationException {
     Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
@@ -179,6 +261,11 @@ public class LunisolarTest {
         // TODO 自動生成されたメソッド・スタブ
         return lunisolar.closestTerm(julianDate, degree);
       }
+
+      @Override
+      Lunisolar configure(InstantTable lunations, InstantTable terms, YearTable yearTable, Executor executor, LunisolarMetrics metrics) {
+        throw new UnsupportedOperationException();
+      }
     };
     paintItGreen.latestNewMoon(Julian.ofEpochMilli(Instant.parse("2034-01-20T00:00:00.000Z").toEpochMilli()));
     paintItGreen.closestTerm(Julian.ofEpochMilli(Instant.parse("2034-01-20T00:00:00.000Z").toEpochMilli()), 270);
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class MeanLunisolarTest {
+
+  @Test
+  public void test() {
+    final MeanLunisolar senmyo = (MeanLunisolar) Lunisolar.Senmyo;
+    final double julianDate = Julian.ofEpochMilli(OffsetDateTime.parse("1600-07-01T00:00+09:00").toInstant().toEpochMilli());
+    final SolarTerms solarTerms = senmyo.solarTermsOf(julianDate);
+    assertThat(solarTerms.size(), is(StandardLunisolar.numberOfTerms));
+    for (int i = 0; i < solarTerms.size(); i++) {
+      assertThat(solarTerms.longitudes[i], is((255 + i * 15) % 360));
+      if (i > 0) {
+        assertThat(Math.abs(solarTerms.julianDates[i] - solarTerms.julianDates[i - 1] - senmyo.daysOfYear / 24.0) < 1E-6, is(true));
+      }
+      assertThat(senmyo.closestTerm(solarTerms.julianDates[i] + 5, solarTerms.longitudes[i]), is(solarTerms.julianDates[i]));
+    }
+    // the mean solar terms of senmyo delayed about two days from the true ones, by the end of the system .
+    final double delay = senmyo.winterSolstice(julianDate) - Lunisolar.Tenpo.winterSolstice(julianDate);
+    assertThat(delay > 1 && delay < 3, is(true));
+    assertThat(Math.abs(((MeanLunisolar) Lunisolar.Kansei).winterSolstice(julianDate + 200 * 365.25) - Lunisolar.Tenpo.winterSolstice(julianDate + 200 * 365.25)) < 3, is(true));
+  }
+
+  @Test
+  public void testCalendar() {
+    final LunisolarCalendar calendar = Lunisolar.Jokyo.calendarOfYear(1702);
+    assertThat(calendar.year, is(1702));
+    assertThat(calendar.lunarMonths.size() >= 12, is(true));
+    assertThat(calendar.toEpochDay(12, false, 14), is(OffsetDateTime.parse("1703-01-30T00:00+09:00").toLocalDate().toEpochDay()));
+  }
+
+  @Test
+  public void testWith() {
+    final MeanLunisolar senmyo = (MeanLunisolar) Lunisolar.Senmyo;
+    assertThat(senmyo.withSolver(senmyo.solver) == senmyo, is(true));
+    assertThat(senmyo.withSolver(Solver.SECANT).yearOfEpoch, is(senmyo.yearOfEpoch));
+    assertThat(senmyo.withSolver(Solver.SECANT).getSolver(), is(Solver.SECANT));
+    assertThat(senmyo.withZoneOffset(ZoneOffset.ofHours(9)) == senmyo, is(true));
+    assertThat(senmyo.withZoneOffset(ZoneOffset.ofHours(8)).closestTerm(Julian.j2000, 0), is(senmyo.closestTerm(Julian.j2000, 0)));
+    assertThat(senmyo.lunations == Lunisolar.Tenpo.lunations, is(true));
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.OffsetDateTime;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class MonthCursorTest {
+
+  private static double julianOf(String text) {
+    return Julian.ofEpochMilli(OffsetDateTime.parse(text).toInstant().toEpochMilli());
+  }
+
+  private static String seek(MonthCursor cursor, String text) {
+    final long dayOfMonth = cursor.seek(julianOf(text));
+
+    return cursor.year + "年" + (cursor.intercalary ? "閏" : "") + cursor.monthOfYear + "月" + dayOfMonth + "日";
+  }
+
+  @Test
+  public void test() {
+    final MonthCursor cursor = new MonthCursor();
+    assertThat(seek(cursor, "2017-06-23T23:59+09:00"), is("2017年5月29日"));
+    assertThat(seek(cursor, "2017-06-24T00:00+09:00"), is("2017年閏5月1日"));
+    assertThat(seek(cursor, "2017-06-24T12:00+09:00"), is("2017年閏5月1日"));
+    assertThat(seek(cursor, "2017-09-20T00:00+09:00"), is("2017年8月1日"));
+    assertThat(seek(cursor, "2017-06-24T00:00+09:00"), is("2017年閏5月1日"));
+    assertThat(seek(cursor, "2034-01-19T00:00+09:00"), is("2033年閏11月29日"));
+    assertThat(seek(cursor, "2033-12-31T00:00+09:00"), is("2033年閏11月10日"));
+  }
+
+  @Test
+  public void testTabulated() {
+    final Lunisolar lunisolar = Lunisolar.ofJulian(Julian.j2000);
+    final Lunisolar tabulated = lunisolar.tabulate(2016, 2018);
+    assertNull(lunisolar.yearTable);
+    final MonthCursor cursor = new MonthCursor(tabulated);
+    assertNull(cursor.lunisolarSystem());
+    assertThat(seek(cursor, "2017-06-23T23:59+09:00"), is("2017年5月29日"));
+    assertThat(seek(cursor, "2017-06-24T00:00+09:00"), is("2017年閏5月1日"));
+    assertThat(seek(cursor, "2018-02-16T00:00+09:00"), is("2018年1月1日"));
+    assertThat(seek(cursor, "2034-01-19T00:00+09:00"), is("2033年閏11月29日"));
+    assertThat(seek(cursor, "2034-01-20T00:00+09:00"), is("2033年12月1日"));
+    assertThat(seek(cursor, "2017-06-24T00:00+09:00"), is("2017年閏5月1日"));
+  }
+
+  @Test
+  public void testSingleCalendar() {
+    final Lunisolar lunisolar = Lunisolar.ofJulian(Julian.j2000);
+    final CalendarCache calendarCache = lunisolar.getCalendarCache();
+    final int maximumSize = calendarCache.getMaximumSize();
+    try {
+      calendarCache.setMaximumSize(0);
+      for (String text : new String[] { "2017-01-01T00:00+09:00", "2017-01-27T23:59+09:00", "2017-01-28T00:00+09:00", "2034-01-19T00:00+09:00", "2017-06-24T00:00+09:00" }) {
+        calendarCache.resetStats();
+        new MonthCursor().seek(julianOf(text));
+        assertThat(text, calendarCache.getMissCount(), is(1L));
+      }
+    } finally {
+      calendarCache.setMaximumSize(maximumSize);
+      calendarCache.resetStats();
+    }
+  }
+}
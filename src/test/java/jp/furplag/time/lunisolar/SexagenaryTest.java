@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.temporal.JulianFields;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class SexagenaryTest {
+
+  @Test
+  public void test() {
+    assertThat(Sexagenary.nameOf(0), is("甲子"));
+    assertThat(Sexagenary.nameOf(59), is("癸亥"));
+    assertThat(IntStream.range(0, 60).mapToObj(Sexagenary::nameOf).distinct().count(), is(60L));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofYear(1984)), is("甲子"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofYear(2017)), is("丁酉"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofYear(-56)), is("甲子"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofMonth(1984, 1)), is("丙寅"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofMonth(2017, 5)), is("丙午"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofMonth(2016, 12)), is("辛丑"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofDay(LocalDate.of(1949, 10, 1).getLong(JulianFields.JULIAN_DAY))), is("甲子"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofDay(LocalDate.of(2000, 1, 1).getLong(JulianFields.JULIAN_DAY))), is("戊午"));
+  }
+
+  @Test
+  public void testPreClimate() {
+    assertThat(Sexagenary.nameOf(Sexagenary.ofPreClimate(LocalDate.of(2017, 2, 4).toEpochDay(), 315)), is("壬寅"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofPreClimate(LocalDate.of(2017, 1, 5).toEpochDay(), 285)), is("辛丑"));
+    assertThat(Sexagenary.nameOf(Sexagenary.ofPreClimate(LocalDate.of(2016, 12, 7).toEpochDay(), 255)), is("庚子"));
+  }
+
+  @Test
+  public void testOfDays() {
+    final long julianDayNumber = LocalDate.of(1899, 12, 31).getLong(JulianFields.JULIAN_DAY);
+    final int[] cycles = Sexagenary.ofDays(julianDayNumber, new int[365 * 4]);
+    for (int i = 0; i < cycles.length; i++) {
+      assertThat(cycles[i], is(Sexagenary.ofDay(julianDayNumber + i)));
+    }
+    for (int ordinal = 0; ordinal < 60; ordinal++) {
+      assertThat(Sexagenary.heavenlyStemOf(ordinal), is(ordinal % 10));
+      assertThat(Sexagenary.earthlyBranchOf(ordinal), is(ordinal % 12));
+    }
+    assertThat(Sexagenary.ofDays(julianDayNumber, new int[0]).length, is(0));
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      Sexagenary.ofDays(0, null);
+      fail("must raise NPE .");
+    } catch (NullPointerException ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+  }
+}
@@ -29,6 +29,8 @@ import java.util.stream.IntStream;
 
 import org.junit.Test;
 
+import jp.furplag.misc.Astror;
+import jp.furplag.misc.orrery.EclipticLongitude;
 import jp.furplag.time.Julian;
 import jp.furplag.time.Millis;
 
@@ -78,4 +80,24 @@ public class SolarTermTest {
     assertNotNull(terms.get(OffsetDateTime.parse("2034-02-18T00:00+09:00")));
     assertNotNull(terms.get(OffsetDateTime.parse("2034-03-05T00:00+09:00")));
   }
+
+  @Test
+  public void testLongitude() {
+    final double julianDate = Julian.ofEpochMilli(Instant.parse("2033-01-01T00:00:00.000Z").toEpochMilli());
+    IntStream.range(-24, 48).map(i -> i * 15).mapToObj(d -> SolarTerm.ofClosest(julianDate, d, Lunisolar.Tenpo)).forEach(solarTerm -> {
+      assertThat(Math.abs(Math.IEEEremainder(EclipticLongitude.Sun.ofJulian(solarTerm.julianDate) - solarTerm.actualLongitude(), 360)) < 1E-6, is(true));
+      assertThat(solarTerm.longitude, is((int) Astror.circulate(Math.round(solarTerm.actualLongitude()))));
+      assertThat(solarTerm.epochMilli, is(Julian.toInstant(solarTerm.julianDate).toEpochMilli()));
+      assertThat(solarTerm instanceof SolarTerm.MidClimate, is(solarTerm.longitude % 30 == 0));
+    });
+    // mean terms (平気) differ from the longitude of the sun .
+    final double julianDateOfMean = Julian.ofEpochMilli(Instant.parse("1000-01-01T00:00:00.000Z").toEpochMilli());
+    IntStream.range(0, 24).map(i -> i * 15).forEach(d -> {
+      final SolarTerm solarTerm = SolarTerm.ofClosest(julianDateOfMean, d, Lunisolar.Senmyo);
+      assertThat(solarTerm.longitude, is(d));
+      assertThat(solarTerm.actualLongitude(), is(EclipticLongitude.Sun.ofJulian(solarTerm.julianDate)));
+      assertThat(Math.abs(Math.IEEEremainder(solarTerm.actualLongitude() - d, 360)) < 3, is(true));
+    });
+    assertThat(IntStream.range(0, 24).map(i -> i * 15).mapToObj(d -> SolarTerm.ofClosest(julianDateOfMean, d, Lunisolar.Senmyo)).anyMatch(t -> Math.abs(Math.IEEEremainder(t.actualLongitude() - t.longitude, 360)) > .5), is(true));
+  }
 }
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class SolarTermsTest {
+
+  @Test
+  public void test() {
+    final SolarTerms solarTerms = new SolarTerms(3);
+    solarTerms.set(0, Julian.j2000, 255);
+    solarTerms.set(1, Julian.j2000 + 15, 375);
+    solarTerms.set(2, Julian.j2000 + 30, -30);
+    assertThat(solarTerms.size(), is(3));
+    assertThat(solarTerms.longitudes[1], is(15));
+    assertThat(solarTerms.longitudes[2], is(330));
+    assertThat(solarTerms.epochMillis[0], is(Julian.toInstant(Julian.j2000).toEpochMilli()));
+    assertThat(solarTerms.isMidClimate(0), is(false));
+    assertThat(solarTerms.isMidClimate(2), is(true));
+
+    final List<SolarTerm> list = solarTerms.toList();
+    assertThat(list.stream().map(e -> e.longitude).collect(Collectors.toList()).toString(), is("[255, 15, 330]"));
+    assertThat(list.get(2) instanceof SolarTerm.MidClimate, is(true));
+    final SolarTerms actual = SolarTerms.of(list);
+    for (int i = 0; i < 3; i++) {
+      assertThat(actual.julianDates[i], is(solarTerms.julianDates[i]));
+      assertThat(actual.epochMillis[i], is(solarTerms.epochMillis[i]));
+      assertThat(actual.longitudes[i], is(solarTerms.longitudes[i]));
+    }
+    assertThat(SolarTerms.of(new ArrayList<>()).size(), is(0));
+  }
+
+  @Test
+  public void testOfBase() {
+    final StandardLunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final Lunisolar delegate = new Lunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9)) {
+
+      @Override
+      double closestTerm(double julianDate, double degree) {
+        return lunisolar.closestTerm(julianDate, degree);
+      }
+
+      @Override
+      List<Long> termsToFirstDays(List<SolarTerm> solarTerms) {
+        return lunisolar.termsToFirstDays(solarTerms);
+      }
+
+      @Override
+      List<SolarTerm> termsOfBase(double julianDate) {
+        return lunisolar.termsOfBase(julianDate);
+      }
+
+      @Override
+      Lunisolar configure(InstantTable lunations, InstantTable terms, YearTable yearTable, Executor executor, LunisolarMetrics metrics) {
+        throw new UnsupportedOperationException();
+      }
+    };
+    for (int year = 1844; year <= 2300; year += 11) {
+      final double julianDate = Julian.ofEpochMilli(OffsetDateTime.of(year, 7, 1, 0, 0, 0, 0, lunisolar.zoneOffset).toInstant().toEpochMilli());
+      final List<SolarTerm> expect = lunisolar.termsOfBase(julianDate);
+      final SolarTerms solarTerms = lunisolar.solarTermsOf(julianDate);
+      final SolarTerms delegated = delegate.solarTermsOf(julianDate);
+      assertThat(solarTerms.size(), is(53));
+      assertThat(delegated.size(), is(53));
+      for (int i = 0; i < expect.size(); i++) {
+        assertThat(solarTerms.julianDates[i], is(expect.get(i).julianDate));
+        assertThat(solarTerms.longitudes[i], is(expect.get(i).longitude));
+        assertThat(delegated.epochMillis[i], is(expect.get(i).epochMilli));
+      }
+      final List<Long> firstDays = lunisolar.termsToFirstDays(expect);
+      assertThat(lunisolar.firstDaysOf(solarTerms).length, is(firstDays.size()));
+      for (int i = 0; i < firstDays.size(); i++) {
+        assertThat(lunisolar.firstDaysOf(solarTerms)[i], is(firstDays.get(i).longValue()));
+        assertThat(delegate.firstDaysOf(delegated)[i], is(firstDays.get(i).longValue()));
+      }
+    }
+  }
+}
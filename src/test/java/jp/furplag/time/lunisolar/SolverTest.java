@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoField;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class SolverTest {
+
+  /** a millisecond in days . */
+  private static final double millisecond = 1.0 / 86400000.0;
+
+  @Test
+  public void test() {
+    final StandardLunisolar fixedPoint = (StandardLunisolar) Lunisolar.Tenpo;
+    final StandardLunisolar secant = fixedPoint.withSolver(Solver.SECANT);
+    assertThat(fixedPoint.getSolver(), is(Solver.FIXED_POINT));
+    assertThat(secant.getSolver(), is(Solver.SECANT));
+    assertThat(fixedPoint.withSolver(Solver.FIXED_POINT) == fixedPoint, is(true));
+    assertThat(secant.zoneOffset, is(fixedPoint.zoneOffset));
+    assertThat(secant.getCalendarCache() == fixedPoint.getCalendarCache(), is(false));
+
+    final OffsetDateTime t = Instant.parse("1844-01-01T00:00:00.000Z").atOffset(ZoneOffset.ofHours(9));
+    // @formatter:off
+    assertThat(IntStream.rangeClosed(1844, 2300).mapToDouble(y -> Julian.ofEpochMilli(t.with(ChronoField.YEAR, y).toInstant().toEpochMilli()))
+      .flatMap(julianDate -> IntStream.range(0, 24).mapToDouble(i -> fixedPoint.plusMonth(julianDate, i * .5)))
+      .filter(julianDate -> !(Math.abs(fixedPoint.closestTerm(julianDate, 270) - secant.closestTerm(julianDate, 270)) < millisecond))
+      .count(), is(0L));
+    // the seed and the degree, a multiple of 15 which the calendar systems memoize .
+    final List<double[]> seeds = IntStream.rangeClosed(1844, 2300).boxed()
+      .flatMap(y -> IntStream.range(0, 24).mapToObj(i -> new double[] { Julian.ofEpochMilli(t.with(ChronoField.YEAR, y).toInstant().toEpochMilli()) + i * 15.2, ((y + i * 7) % 24) * 15 }))
+      .collect(Collectors.toList());
+    assertThat(seeds.stream()
+      .filter(seed -> !(Math.abs(fixedPoint.closestTerm(seed[0], seed[1]) - secant.closestTerm(seed[0], seed[1])) < millisecond))
+      .count(), is(0L));
+    // the solvers themselves, bypassing the memo .
+    assertThat(seeds.stream()
+      .filter(seed -> !(Math.abs(Solver.FIXED_POINT.closestTerm(fixedPoint, seed[0], seed[1]) - Solver.SECANT.closestTerm(secant, seed[0], seed[1])) < millisecond))
+      .count(), is(0L));
+    assertThat(IntStream.rangeClosed(1844, 2300).mapToDouble(y -> Julian.ofEpochMilli(t.with(ChronoField.YEAR, y).toInstant().toEpochMilli()))
+      .flatMap(julianDate -> IntStream.range(0, 24).mapToDouble(i -> julianDate + i * 15.2))
+      .filter(julianDate -> !(Math.abs(fixedPoint.latestNewMoon(julianDate) - secant.latestNewMoon(julianDate)) < millisecond))
+      .count(), is(0L));
+    // @formatter:on
+  }
+
+  @Test
+  public void testCalendar() {
+    final StandardLunisolar secant = ((StandardLunisolar) Lunisolar.Tenpo).withSolver(Solver.SECANT);
+    IntStream.of(1844, 1900, 2017, 2033, 2100, 2300).forEach(year -> {
+      final double julianDate = Julian.ofEpochMilli(OffsetDateTime.of(year, 7, 1, 0, 0, 0, 0, ZoneOffset.ofHours(9)).toInstant().toEpochMilli());
+      assertThat(new LunisolarCalendar(secant, julianDate).toString(), is(new LunisolarCalendar(Lunisolar.Tenpo, julianDate).toString()));
+    });
+  }
+
+  @Test
+  public void testFallback() {
+    final double julianDate = Julian.ofEpochMilli(Instant.parse("2033-12-07T00:00:00.000Z").toEpochMilli());
+    final double converged = Lunisolar.Tenpo.closestTerm(julianDate, 270);
+    final double newMoon = Lunisolar.Tenpo.latestNewMoon(julianDate);
+    for (Solver solver : Solver.values()) {
+      for (int loopLimit = 1; loopLimit < 5; loopLimit++) {
+        final StandardLunisolar lunisolar = new StandardLunisolar(Lunisolar.Tenpo.daysOfYear, Lunisolar.Tenpo.daysOfMonth, Lunisolar.Tenpo.zoneOffset, Lunisolar.precisionDefault, loopLimit, solver);
+        assertThat(solver + ", " + loopLimit, Math.abs(lunisolar.closestTerm(julianDate, 270) - converged) < 1.0, is(true));
+        assertThat(solver + ", " + loopLimit, Math.abs(lunisolar.latestNewMoon(julianDate) - newMoon) < 1.0, is(true));
+      }
+    }
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      ((StandardLunisolar) Lunisolar.Tenpo).withSolver(null);
+      fail("must raise NPE .");
+    } catch (Exception ex) {
+      assertThat(ex instanceof NullPointerException, is(true));
+    }
+    new StandardLunisolar(Lunisolar.Tenpo.daysOfYear, Lunisolar.Tenpo.daysOfMonth, Lunisolar.Tenpo.zoneOffset, 1E-20, Lunisolar.loopLimitDefault, Solver.SECANT)
+      .closestTerm(0, 270);
+    new StandardLunisolar(Lunisolar.Tenpo.daysOfYear, Lunisolar.Tenpo.daysOfMonth, Lunisolar.Tenpo.zoneOffset, 1E-20, Lunisolar.loopLimitDefault, Solver.SECANT)
+      .latestNewMoon(0);
+  }
+}
@@ -25,6 +25,12 @@ import java.time.ZoneOffset;
 import java.time.temporal.ChronoField;
 import java.time.temporal.ValueRange;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
@@ -154,6 +160,56 @@ public class StandardLunisolarTest {
     // @formatter:on
   }
 
+  @Test
+  public void testTermsToFirstDays() {
+    final OffsetDateTime t = Instant.parse("1844-12-01T12:00:00.000Z").atOffset(ZoneOffset.ofHours(9));
+    final StandardLunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final Lunisolar parallelized = lunisolar.parallelize();
+    assertThat(lunisolar.termsToFirstDays(new ArrayList<>()), is(new ArrayList<>()));
+    for (int year = 1844; year <= 2300; year += 3) {
+      final List<SolarTerm> solarTerms = lunisolar.termsOfBase(Julian.ofEpochMilli(t.with(ChronoField.YEAR, year).toInstant().toEpochMilli()));
+      // @formatter:off
+      final List<SolarTerm> midClimates = solarTerms.stream().filter(e -> e instanceof SolarTerm.MidClimate).collect(Collectors.toList());
+      assertThat(lunisolar.termsToFirstDays(solarTerms), is(solarTerms.stream().map(e -> lunisolar.asStartOfDay(lunisolar.latestNewMoon(e.julianDate))).distinct().sorted().collect(Collectors.toList())));
+      assertThat(lunisolar.termsToFirstDays(midClimates), is(midClimates.stream().map(e -> lunisolar.asStartOfDay(lunisolar.latestNewMoon(e.julianDate))).distinct().sorted().collect(Collectors.toList())));
+      assertThat(parallelized.termsToFirstDays(solarTerms), is(lunisolar.termsToFirstDays(solarTerms)));
+      assertThat(lunisolar.termsToFirstDays(solarTerms.subList(3, 4)), is(Arrays.asList(lunisolar.asStartOfDay(lunisolar.latestNewMoon(solarTerms.get(3).julianDate)))));
+      // @formatter:on
+    }
+  }
+
+  @Test
+  public void testParallelize() {
+    final OffsetDateTime t = Instant.parse("1844-12-01T12:00:00.000Z").atOffset(ZoneOffset.ofHours(9));
+    final StandardLunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final Lunisolar parallelized = lunisolar.parallelize();
+    assertThat(parallelized == lunisolar, is(false));
+    assertThat(lunisolar.executor, is((Executor) null));
+    assertThat(parallelized.parallelize() == parallelized, is(true));
+    assertThat(parallelized instanceof StandardLunisolar, is(true));
+    assertThat(Lunisolar.Kansei.parallelize() instanceof MeanLunisolar, is(true));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int year = 1844; year <= 2300; year += 7) {
+        final double julianDate = Julian.ofEpochMilli(t.with(ChronoField.YEAR, year).toInstant().toEpochMilli());
+        final List<SolarTerm> expect = lunisolar.termsOfBase(julianDate);
+        final List<SolarTerm> actual = parallelized.parallelize(year % 2 == 0 ? executor : ForkJoinPool.commonPool()).termsOfBase(julianDate);
+        assertThat(actual.size(), is(expect.size()));
+        for (int i = 0; i < expect.size(); i++) {
+          assertThat(actual.get(i).longitude, is(expect.get(i).longitude));
+          assertThat(Math.abs(actual.get(i).epochMilli - expect.get(i).epochMilli) <= 1, is(true));
+        }
+        assertThat(new LunisolarCalendar(parallelized, julianDate).toString(), is(new LunisolarCalendar(lunisolar, julianDate).toString()));
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(parallelized.unparallelize().executor, is((Executor) null));
+    assertThat(parallelized.executor, is((Executor) ForkJoinPool.commonPool()));
+    assertThat(lunisolar.unparallelize() == lunisolar, is(true));
+    assertThat(parallelized.termsOfBase(Julian.j2000).size(), is(53));
+  }
+
   @Test
   public void paintItGreen() {
     try {
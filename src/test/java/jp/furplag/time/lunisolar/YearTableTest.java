@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2017+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.time.lunisolar;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+import jp.furplag.time.Julian;
+
+public class YearTableTest {
+
+  @Test
+  public void test() {
+    final Lunisolar lunisolar = new StandardLunisolar(365.242234, 29.530588, ZoneOffset.ofHours(9));
+    final YearTable yearTable = YearTable.of(lunisolar, 2016, 2035);
+    assertThat(yearTable.fromYear, is(2016));
+    assertThat(yearTable.toYear, is(2035));
+    assertThat(yearTable.size(), is(countOfMonths(lunisolar, 2016, 2035)));
+
+    final OffsetDateTime t = OffsetDateTime.parse("2017-06-24T00:00+09:00");
+    final int index = yearTable.indexOf(t.toLocalDate().toEpochDay());
+    assertThat(yearTable.yearOf(index), is(2017));
+    assertThat(yearTable.monthOfYear(index), is(5));
+    assertThat(yearTable.isIntercalary(index), is(true));
+    assertThat((long) yearTable.firstDay(index), is(t.toLocalDate().toEpochDay()));
+
+    assertThat(yearTable.indexOf(OffsetDateTime.parse("2016-01-01T00:00+09:00").toLocalDate().toEpochDay()), is(-1));
+    assertThat(yearTable.indexOf(OffsetDateTime.parse("2036-12-31T00:00+09:00").toLocalDate().toEpochDay()), is(-1));
+  }
+
+  @Test
+  public void testConversion() {
+    final Lunisolar lunisolar = Lunisolar.ofJulian(Julian.j2000);
+    final OffsetDateTime t = OffsetDateTime.parse("2017-01-01T00:00+09:00");
+    // @formatter:off
+    final String expect = LongStream.range(0, 366 * 3).mapToObj(t::plusDays)
+      .map(d -> LunisolarDate.ofEpochMilli(d.toInstant().toEpochMilli()).toString()).collect(Collectors.joining(","));
+    // @formatter:on
+    final Lunisolar tabulated = lunisolar.tabulate(2016, 2020);
+    assertThat(tabulated == lunisolar, is(false));
+    assertNotNull(tabulated.yearTable);
+    assertNull(lunisolar.yearTable);
+    assertThat(tabulated.getCalendarCache() == lunisolar.getCalendarCache(), is(false));
+    // @formatter:off
+    assertThat(LongStream.range(0, 366 * 3).mapToObj(t::plusDays)
+      .map(d -> LunisolarDate.ofEpochMilli(d.toInstant().toEpochMilli(), tabulated).toString()).collect(Collectors.joining(",")), is(expect));
+    // @formatter:on
+    assertThat(LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2017-06-24T00:00+09:00").toInstant().toEpochMilli(), tabulated).toString(), is("2017年閏5月1日"));
+    assertThat(LunisolarDate.ofEpochMilli(OffsetDateTime.parse("2034-01-19T00:00+09:00").toInstant().toEpochMilli(), tabulated).toString(), is("2033年閏11月29日"));
+    assertNull(tabulated.untabulate().yearTable);
+    assertThat(lunisolar.untabulate() == lunisolar, is(true));
+  }
+
+  @Test
+  public void paintItGreen() {
+    try {
+      YearTable.of(Lunisolar.Tenpo, 2001, 2000);
+      fail("must raise IAE .");
+    } catch (IllegalArgumentException ex) {
+      assertThat(ex instanceof IllegalArgumentException, is(true));
+    }
+  }
+
+  private static int countOfMonths(Lunisolar lunisolar, int fromYear, int toYear) {
+    // @formatter:off
+    return LongStream.rangeClosed(fromYear, toYear)
+      .mapToInt(y -> new LunisolarCalendar(lunisolar, Julian.ofEpochMilli(OffsetDateTime.of((int) y, 7, 1, 0, 0, 0, 0, lunisolar.zoneOffset).toInstant().toEpochMilli())).monthsOfYear.size())
+      .sum();
+    // @formatter:on
+  }
+}